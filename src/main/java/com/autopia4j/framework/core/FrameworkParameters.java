@@ -13,6 +13,7 @@ public class FrameworkParameters {
 	private long objectSyncTimeout;
 	private long pageLoadTimeout;
 	private boolean stopExecution = false;
+	private boolean datatableSnapshotMode = false;
 	private String dateFormatString = "dd-MMM-yyyy hh:mm:ss a";
 	
 	private static final FrameworkParameters FRAMEWORK_PARAMETERS =
@@ -136,6 +137,22 @@ public class FrameworkParameters {
 		this.stopExecution = stopExecution;
 	}
 	
+	/**
+	 * Function to get a boolean value indicating whether the datatables are to be served from an in-memory snapshot
+	 * @return The datatableSnapshotMode boolean value
+	 */
+	public boolean getDatatableSnapshotMode() {
+		return datatableSnapshotMode;
+	}
+	/**
+	 * Function to set a boolean value indicating whether the datatables are to be served from an in-memory snapshot
+	 * (loaded once per process, when the datatables are first initialized)
+	 * @param datatableSnapshotMode Boolean value indicating whether the datatables are to be served from an in-memory snapshot
+	 */
+	public void setDatatableSnapshotMode(boolean datatableSnapshotMode) {
+		this.datatableSnapshotMode = datatableSnapshotMode;
+	}
+	
 	/**
 	 * Function to get the name of the base package containing all the test artifacts
 	 * @return The base package name
@@ -1,9 +1,13 @@
 package com.autopia4j.framework.datatable;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.core.FrameworkParameters;
 import com.autopia4j.framework.utils.ExcelDataAccess;
 import com.autopia4j.framework.utils.Util;
 
@@ -13,12 +17,17 @@ import com.autopia4j.framework.utils.Util;
  */
 public abstract class BaseDatatable {
 	private final Logger logger = LoggerFactory.getLogger(BaseDatatable.class);
+	protected static final String PARAMETRIZED_CHECKPOINTS = "Parametrized_Checkpoints";
+	
 	protected final String datatablePath;
 	protected final String datatableName;
 	protected String dataReferenceIdentifier = "#";
 	
 	protected String currentTestcase;
 	
+	private final DatatableJournal journal;
+	private DatatableSnapshot snapshot;
+	
 	
 	/**
 	 * Constructor to initialize the {@link BaseDatatable} object
@@ -28,9 +37,14 @@ public abstract class BaseDatatable {
 	public BaseDatatable(String datatablePath, String datatableName) {
 		this.datatablePath = datatablePath;
 		this.datatableName = datatableName;
+		this.journal = DatatableJournal.getInstance(datatablePath, datatableName);
 		
 		logger.info("Initializing datatable @ " + datatablePath +
 						Util.getFileSeparator() + datatableName + ".xls");
+		
+		if (FrameworkParameters.getInstance().getDatatableSnapshotMode()) {
+			setSnapshotMode(true);
+		}
 	}
 	
 	/**
@@ -95,25 +109,145 @@ public abstract class BaseDatatable {
 	 */
 	public abstract String getData(String datasheetName, String fieldName);
 	
-	protected String getCommonData(String fieldName, String dataValue) {
-		ExcelDataAccess commonDataAccess = new ExcelDataAccess(datatablePath, "Common Testdata");
-		commonDataAccess.setDatasheetName("Common_Testdata");
+	/**
+	 * Function to return all the test data values within the current row of the specified sheet, in a single lookup
+	 * @param datasheetName The name of the sheet in which the data is present
+	 * @return The {@link DatatableRow} representing the current row
+	 * (common test data references are resolved when the corresponding field is accessed)
+	 * @see #getData(String, String)
+	 */
+	public abstract DatatableRow getRow(String datasheetName);
+	
+	/**
+	 * Function to enable or disable the snapshot mode of the datatable<br>
+	 * In snapshot mode, all the sheets of the datatable are loaded into an immutable in-memory
+	 * {@link DatatableSnapshot} (only once per process), and all subsequent lookups are served from memory
+	 * without accessing the workbook. The snapshot mode is enabled for all datatables at framework startup
+	 * if {@link FrameworkParameters#setDatatableSnapshotMode(boolean)} is set.
+	 * Values written using {@link #putData(String, String, String)} are still persisted into the datatable
+	 * through the {@link DatatableJournal}, which also serves them to subsequent reads
+	 * @param snapshotMode Boolean value indicating whether the snapshot mode should be enabled
+	 */
+	public void setSnapshotMode(boolean snapshotMode) {
+		if (snapshotMode) {
+			snapshot = DatatableSnapshot.getInstance(datatablePath, datatableName);
+		} else {
+			snapshot = null;
+		}
+	}
+	
+	/**
+	 * Function to check whether the snapshot mode of the datatable is enabled
+	 * @return Boolean value indicating whether the snapshot mode is enabled
+	 * @see #setSnapshotMode(boolean)
+	 */
+	public boolean isSnapshotMode() {
+		return snapshot != null;
+	}
+	
+	/**
+	 * Function to search for the row identified by the specified composite key within the specified sheet
+	 * (the header row is excluded from the search)
+	 * @param datasheetName The name of the sheet
+	 * @param keys The key values (test case, iteration and sub-iteration, as applicable)
+	 * @return The row number in which the specified key is found (-1 if the key is not found)
+	 */
+	protected int getRowNum(String datasheetName, String[] keys) {
+		if (snapshot != null) {
+			return snapshot.getRowNum(datasheetName, keys);
+		}
 		
-		String dataReferenceId = dataValue.split(dataReferenceIdentifier)[1];
+		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
+		testDataAccess.setDatasheetName(datasheetName);
+		return testDataAccess.getRowNum(keys, 1);	// Start at row 1, skipping the header row
+	}
+	
+	/**
+	 * Function to get the value of the specified field within the specified row of the sheet
+	 * @param datasheetName The name of the sheet
+	 * @param rowNum The row number
+	 * @param fieldName The name of the field
+	 * @return The value present in the field, or the latest value written into it through the journal
+	 * (common test data references are not resolved)
+	 */
+	protected String getValue(String datasheetName, int rowNum, String fieldName) {
+		String writtenValue = journal.getValue(datasheetName, rowNum, fieldName);
+		if (writtenValue != null) {
+			return writtenValue;
+		}
 		
-		int rowNum = commonDataAccess.getRowNum(dataReferenceId, 0, 1);	// Start at row 1, skipping the header row
-		if (rowNum == -1) {
-			String errorMessage = "The common test data row identified by \"" + dataReferenceId + "\"" +
-										"is not found in the common test data sheet!";
-			logger.error(errorMessage);
-			throw new AutopiaException(errorMessage);
+		if (snapshot != null) {
+			return snapshot.getValue(datasheetName, rowNum, fieldName);
 		}
 		
-		return commonDataAccess.getValue(rowNum, fieldName);
+		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
+		testDataAccess.setDatasheetName(datasheetName);
+		return testDataAccess.getValue(rowNum, fieldName);
+	}
+	
+	/**
+	 * Function to create a {@link DatatableRow} from the specified row of the sheet
+	 * @param datasheetName The name of the sheet
+	 * @param rowNum The row number
+	 * @return The {@link DatatableRow} representing the specified row
+	 */
+	protected DatatableRow createDatatableRow(String datasheetName, int rowNum) {
+		// Cells containing errors are reported only when the corresponding field is accessed
+		Map<String, String> cellErrors = new HashMap<>();
+		String[] fieldNames;
+		String[] values;
+		if (snapshot != null) {
+			fieldNames = snapshot.getRowValues(datasheetName, 0, cellErrors);	//0 because header is always in the first row
+			values = snapshot.getRowValues(datasheetName, rowNum, cellErrors);
+		} else {
+			ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
+			testDataAccess.setDatasheetName(datasheetName);
+			fieldNames = testDataAccess.getRowValues(0, cellErrors);	//0 because header is always in the first row
+			values = testDataAccess.getRowValues(rowNum, cellErrors);
+		}
+		
+		for (int columnNum = 0; columnNum < values.length && columnNum < fieldNames.length; columnNum++) {
+			String writtenValue = journal.getValue(datasheetName, rowNum, fieldNames[columnNum]);
+			if (writtenValue != null) {
+				values[columnNum] = writtenValue;
+			}
+		}
+		
+		return new DatatableRow(this, datasheetName, rowNum, fieldNames, values, cellErrors);
+	}
+	
+	/**
+	 * Function to resolve the specified common test data reference, using the process-wide {@link CommonDataCache}
+	 * @param fieldName The name of the field whose value is required
+	 * @param dataValue The data value containing the data reference ID (prefixed with the data reference identifier)
+	 * @return The value of the field within the referenced common test data row
+	 */
+	protected String getCommonData(String fieldName, String dataValue) {
+		String dataReferenceId = dataValue.split(dataReferenceIdentifier)[1];
+		return CommonDataCache.getInstance(datatablePath).getValue(dataReferenceId, fieldName);
+	}
+	
+	/**
+	 * Function to append the specified value to the {@link DatatableJournal} of the datatable
+	 * (the value is visible to subsequent reads through the datatable immediately, and is written into
+	 * the workbook when the journal is compacted)
+	 * @param datasheetName The name of the sheet
+	 * @param rowNum The row number
+	 * @param fieldName The name of the field
+	 * @param dataValue The value to be written
+	 */
+	protected void writeValue(String datasheetName, int rowNum, String fieldName, String dataValue) {
+		getValue(datasheetName, rowNum, fieldName);	// Fail fast if the field does not exist, rather than during compaction
+		journal.append(datasheetName, rowNum, fieldName, dataValue);
 	}
 	
 	/**
-	 * Function to output intermediate data (output values) into the specified sheet
+	 * Function to output intermediate data (output values) into the specified sheet<br>
+	 * The values are recorded in the {@link DatatableJournal} of the datatable, and written into the workbook
+	 * in batches. A value written is visible immediately to {@link #getData(String, String)} and
+	 * {@link #getRow(String)} (on any datatable instance for the same workbook, from any thread), but is visible
+	 * to direct readers of the workbook (such as {@link ExcelDataAccess}) only after the journal is compacted,
+	 * which can be forced using {@link DatatableJournal#compactAll()}
 	 * @param datasheetName The name of the sheet into which the data is to be written
 	 * @param fieldName The name of the field into which the data is to be written
 	 * @param dataValue The value to be written into the field specified
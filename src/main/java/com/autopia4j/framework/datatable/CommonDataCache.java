@@ -0,0 +1,245 @@
+package com.autopia4j.framework.datatable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.utils.ExcelDataAccess;
+import com.autopia4j.framework.utils.Util;
+
+/**
+ * Class to cache the rows of the common test data sheet, keyed by their data reference ID<br>
+ * The cache is shared across all threads and datatables which use the same common test data workbook.
+ * The sheet is read only once per process, and is read again only if the workbook is modified on disk
+ * (the workbook is checked for modifications at most once per second).
+ * Cells containing errors are reported only when their values are looked up
+ * @author vj
+ */
+public final class CommonDataCache {
+	private static final Logger logger = LoggerFactory.getLogger(CommonDataCache.class);
+	private static final String COMMON_TESTDATA = "Common Testdata";
+	private static final String COMMON_TESTDATA_SHEET = "Common_Testdata";
+	
+	/**
+	 * The minimum interval between successive checks for modifications to the common test data workbook,
+	 * so that the lookups are served from memory without accessing the file system
+	 */
+	private static final long MODIFICATION_CHECK_INTERVAL_MILLIS = 1000;
+	
+	private static final ConcurrentMap<String, CommonDataCache> caches =
+														new ConcurrentHashMap<>();
+	
+	private final String datatablePath;
+	private volatile CommonData commonData;
+	private volatile long lastCheckTime;
+	
+	
+	private CommonDataCache(String datatablePath) {
+		this.datatablePath = datatablePath;
+	}
+	
+	/**
+	 * Function to return the common test data cache corresponding to the specified datatable path
+	 * @param datatablePath The path where the common test data workbook is stored
+	 * @return The {@link CommonDataCache} for the specified path
+	 */
+	public static CommonDataCache getInstance(String datatablePath) {
+		CommonDataCache cache = caches.get(datatablePath);
+		if (cache == null) {
+			CommonDataCache newCache = new CommonDataCache(datatablePath);
+			cache = caches.putIfAbsent(datatablePath, newCache);
+			if (cache == null) {
+				cache = newCache;
+			}
+		}
+		
+		return cache;
+	}
+	
+	/**
+	 * Function to discard all the cached common test data
+	 * (the common test data will be read again when it is next accessed)
+	 */
+	public static void clear() {
+		caches.clear();
+	}
+	
+	/**
+	 * Function to get the value of the specified field within the common test data row
+	 * identified by the specified data reference ID
+	 * @param dataReferenceId The data reference ID (i.e., the value in the first column of the row)
+	 * @param fieldName The name of the field whose value is required
+	 * @return The value present in the field
+	 */
+	public String getValue(String dataReferenceId, String fieldName) {
+		CommonData currentCommonData = getCommonData();
+		
+		Integer rowNum = currentCommonData.rowNums.get(dataReferenceId);
+		if (rowNum == null) {
+			String errorMessage = "The common test data row identified by \"" + dataReferenceId + "\"" +
+										"is not found in the common test data sheet!";
+			logger.error(errorMessage);
+			throw new AutopiaException(errorMessage);
+		}
+		
+		Integer columnNum = currentCommonData.columnNums.get(fieldName);
+		if (columnNum == null) {
+			String errorMessage = "The specified column header \"" + fieldName + "\"" +
+										" is not found in the sheet \"" + COMMON_TESTDATA_SHEET + "\"!";
+			logger.error(errorMessage);
+			throw new AutopiaException(errorMessage);
+		}
+		
+		String value = currentCommonData.sheetValues[rowNum][columnNum];
+		if (value == null) {	// Cells containing errors are null
+			String errorMessage =
+					currentCommonData.cellErrors.get(ExcelDataAccess.getCellReference(rowNum, columnNum));
+			logger.error(errorMessage);
+			throw new AutopiaException(errorMessage);
+		}
+		return value;
+	}
+	
+	private CommonData getCommonData() {
+		CommonData currentCommonData = commonData;
+		long currentTime = System.nanoTime();
+		if (currentCommonData != null &&
+				currentTime - lastCheckTime < MODIFICATION_CHECK_INTERVAL_MILLIS * 1000000L) {
+			return currentCommonData;
+		}
+		
+		FileStamp fileStamp = FileStamp.of(datatablePath);
+		if (currentCommonData != null && currentCommonData.fileStamp.equals(fileStamp)) {
+			lastCheckTime = currentTime;
+			return currentCommonData;
+		}
+		
+		synchronized (this) {
+			currentCommonData = commonData;
+			if (currentCommonData == null || !currentCommonData.fileStamp.equals(fileStamp)) {
+				currentCommonData = load(fileStamp);
+				commonData = currentCommonData;
+			}
+			lastCheckTime = currentTime;
+		}
+		
+		return currentCommonData;
+	}
+	
+	private CommonData load(FileStamp fileStamp) {
+		logger.info("Loading common test data @ " + datatablePath +
+						Util.getFileSeparator() + COMMON_TESTDATA);
+		
+		ExcelDataAccess commonDataAccess = new ExcelDataAccess(datatablePath, COMMON_TESTDATA);
+		commonDataAccess.setReadOnly(true);
+		commonDataAccess.setDatasheetName(COMMON_TESTDATA_SHEET);
+		Map<String, String> cellErrors = new HashMap<>();
+		String[][] sheetValues = commonDataAccess.getSheetValues(cellErrors);
+		
+		Map<String, Integer> columnNums = new HashMap<>();
+		if (sheetValues.length > 0) {
+			String[] fieldNames = sheetValues[0];	//0 because header is always in the first row
+			for (int columnNum = 0; columnNum < fieldNames.length; columnNum++) {
+				if (fieldNames[columnNum] != null && !columnNums.containsKey(fieldNames[columnNum])) {
+					columnNums.put(fieldNames[columnNum], columnNum);
+				}
+			}
+		}
+		
+		Map<String, Integer> rowNums = new HashMap<>();
+		for (int rowNum = 1; rowNum < sheetValues.length; rowNum++) {	// Start at row 1, skipping the header row
+			String[] rowValues = sheetValues[rowNum];
+			if (rowValues.length > 0 && rowValues[0] != null && !rowNums.containsKey(rowValues[0])) {
+				rowNums.put(rowValues[0], rowNum);	// The first occurrence of a data reference ID takes precedence
+			}
+		}
+		
+		return new CommonData(fileStamp, sheetValues, cellErrors, columnNums, rowNums);
+	}
+	
+	
+	/**
+	 * Class to capture the modification time and size of the common test data workbook
+	 * (in either the .xls or the .xlsx format)
+	 */
+	private static final class FileStamp {
+		private final long xlsLastModified;
+		private final long xlsFileSize;
+		private final long xlsxLastModified;
+		private final long xlsxFileSize;
+		
+		private FileStamp(BasicFileAttributes xlsAttributes, BasicFileAttributes xlsxAttributes) {
+			xlsLastModified = (xlsAttributes == null)? 0 : xlsAttributes.lastModifiedTime().toMillis();
+			xlsFileSize = (xlsAttributes == null)? 0 : xlsAttributes.size();
+			xlsxLastModified = (xlsxAttributes == null)? 0 : xlsxAttributes.lastModifiedTime().toMillis();
+			xlsxFileSize = (xlsxAttributes == null)? 0 : xlsxAttributes.size();
+		}
+		
+		private static FileStamp of(String datatablePath) {
+			return new FileStamp(readAttributes(Paths.get(datatablePath, COMMON_TESTDATA + ".xls")),
+									readAttributes(Paths.get(datatablePath, COMMON_TESTDATA + ".xlsx")));
+		}
+		
+		private static BasicFileAttributes readAttributes(Path path) {
+			// A single call per file, rather than one each for the modification time and the size
+			try {
+				return Files.readAttributes(path, BasicFileAttributes.class);
+			} catch (IOException e) {
+				return null;	// The file does not exist (in this format), or cannot be accessed
+			}
+		}
+		
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof FileStamp)) {
+				return false;
+			}
+			
+			FileStamp otherFileStamp = (FileStamp) other;
+			return xlsLastModified == otherFileStamp.xlsLastModified &&
+					xlsFileSize == otherFileStamp.xlsFileSize &&
+					xlsxLastModified == otherFileStamp.xlsxLastModified &&
+					xlsxFileSize == otherFileStamp.xlsxFileSize;
+		}
+		
+		@Override
+		public int hashCode() {
+			int hashCode = Long.valueOf(xlsLastModified).hashCode();
+			hashCode = 31 * hashCode + Long.valueOf(xlsFileSize).hashCode();
+			hashCode = 31 * hashCode + Long.valueOf(xlsxLastModified).hashCode();
+			hashCode = 31 * hashCode + Long.valueOf(xlsxFileSize).hashCode();
+			return hashCode;
+		}
+	}
+	
+	/**
+	 * Class to represent the immutable contents of the common test data sheet, as read at a given point in time
+	 */
+	private static final class CommonData {
+		private final FileStamp fileStamp;
+		private final String[][] sheetValues;
+		private final Map<String, String> cellErrors;
+		private final Map<String, Integer> columnNums;
+		private final Map<String, Integer> rowNums;
+		
+		private CommonData(FileStamp fileStamp, String[][] sheetValues, Map<String, String> cellErrors,
+							Map<String, Integer> columnNums, Map<String, Integer> rowNums) {
+			this.fileStamp = fileStamp;
+			this.sheetValues = sheetValues;
+			this.cellErrors = Collections.unmodifiableMap(cellErrors);
+			this.columnNums = Collections.unmodifiableMap(columnNums);
+			this.rowNums = Collections.unmodifiableMap(rowNums);
+		}
+	}
+}
\ No newline at end of file
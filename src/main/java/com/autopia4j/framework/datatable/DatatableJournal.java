@@ -0,0 +1,251 @@
+package com.autopia4j.framework.datatable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.utils.ExcelDataAccess;
+import com.autopia4j.framework.utils.Util;
+
+/**
+ * Class to implement an append-only, write-behind journal for the values written into a datatable<br>
+ * Values written using {@link BaseDatatable#putData(String, String, String)} are appended to the journal,
+ * and are immediately visible to subsequent reads through the datatables (from any thread). Direct readers of
+ * the workbook (such as {@link ExcelDataAccess}) see the values only after compaction. The journal is compacted into the
+ * datatable workbook (with only the latest value of each cell being written, and each sheet being written
+ * only once) whenever the number of pending entries reaches the compaction threshold,
+ * and at the end of the run (when the JVM shuts down), unless {@link #compactAll()} is called earlier
+ * @author vj
+ */
+public final class DatatableJournal {
+	private static final Logger logger = LoggerFactory.getLogger(DatatableJournal.class);
+	private static final char KEY_SEPARATOR = '\u0000';
+	private static final ConcurrentMap<String, DatatableJournal> journals =
+														new ConcurrentHashMap<>();
+	private static volatile int compactionThreshold = 100;
+	
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread("DatatableJournal-compaction") {
+			@Override
+			public void run() {
+				// Each journal is compacted independently, and no exception is allowed to escape the shutdown hook
+				for (DatatableJournal journal : journals.values()) {
+					try {
+						journal.compact();
+					} catch (RuntimeException e) {
+						logger.error("Values written into the datatable " + journal.datatablePath +
+									Util.getFileSeparator() + journal.datatableName +
+									" could not be written into the workbook at shutdown", e);
+					}
+				}
+			}
+		});
+	}
+	
+	private final String datatablePath;
+	private final String datatableName;
+	private final ConcurrentMap<String, String> writtenValues = new ConcurrentHashMap<>();
+	private final Object compactionLock = new Object();
+	private List<JournalEntry> pendingEntries = new ArrayList<>();
+	
+	
+	private DatatableJournal(String datatablePath, String datatableName) {
+		this.datatablePath = datatablePath;
+		this.datatableName = datatableName;
+	}
+	
+	/**
+	 * Function to return the journal of the specified datatable workbook, creating it if required
+	 * (each workbook has only one journal per process)
+	 * @param datatablePath The path where the datatable is stored
+	 * @param datatableName The name of the datatable file (without the extension)
+	 * @return The {@link DatatableJournal} of the datatable workbook
+	 */
+	public static DatatableJournal getInstance(String datatablePath, String datatableName) {
+		String journalKey = datatablePath + Util.getFileSeparator() + datatableName;
+		
+		DatatableJournal journal = journals.get(journalKey);
+		if (journal == null) {
+			DatatableJournal newJournal = new DatatableJournal(datatablePath, datatableName);
+			journal = journals.putIfAbsent(journalKey, newJournal);
+			if (journal == null) {
+				journal = newJournal;
+			}
+		}
+		
+		return journal;
+	}
+	
+	/**
+	 * Function to get the number of pending entries after which a journal is compacted
+	 * @return The compaction threshold
+	 */
+	public static int getCompactionThreshold() {
+		return compactionThreshold;
+	}
+	
+	/**
+	 * Function to set the number of pending entries after which a journal is compacted
+	 * (set to 1 to write every value into the workbook immediately)
+	 * @param compactionThreshold The compaction threshold
+	 */
+	public static void setCompactionThreshold(int compactionThreshold) {
+		DatatableJournal.compactionThreshold = Math.max(compactionThreshold, 1);
+	}
+	
+	/**
+	 * Function to compact the pending entries of all the journals into the corresponding workbooks
+	 * (to be called at the end of the run)
+	 * @throws AutopiaException If any of the journals could not be compacted
+	 * (after attempting to compact all the other journals)
+	 */
+	public static void compactAll() {
+		AutopiaException compactionFailure = null;
+		for (DatatableJournal journal : journals.values()) {
+			try {
+				journal.compact();
+			} catch (AutopiaException e) {
+				if (compactionFailure == null) {
+					compactionFailure = e;
+				}
+			}
+		}
+		
+		if (compactionFailure != null) {
+			throw compactionFailure;
+		}
+	}
+	
+	private static String getCellKey(String datasheetName, int rowNum, String fieldName) {
+		return datasheetName + KEY_SEPARATOR + rowNum + KEY_SEPARATOR + fieldName;
+	}
+	
+	/**
+	 * Function to append the specified value to the journal<br>
+	 * If the compaction triggered by the append fails (for instance, because the workbook is locked),
+	 * the value remains in the journal, and the compaction is attempted again once the number of
+	 * pending entries reaches the next multiple of the compaction threshold
+	 * @param datasheetName The name of the sheet
+	 * @param rowNum The row number
+	 * @param fieldName The name of the field
+	 * @param dataValue The value to be written
+	 */
+	public void append(String datasheetName, int rowNum, String fieldName, String dataValue) {
+		int pendingEntryCount;
+		synchronized (this) {
+			writtenValues.put(getCellKey(datasheetName, rowNum, fieldName), dataValue);
+			pendingEntries.add(new JournalEntry(datasheetName, rowNum, fieldName, dataValue));
+			pendingEntryCount = pendingEntries.size();
+		}
+		
+		if (pendingEntryCount % compactionThreshold == 0) {
+			try {
+				compact();
+			} catch (AutopiaException e) {
+				// The value has been journalled, so the write itself has succeeded (the failure is logged by compact())
+			}
+		}
+	}
+	
+	/**
+	 * Function to get the latest value written into the specified field through the journal
+	 * @param datasheetName The name of the sheet
+	 * @param rowNum The row number
+	 * @param fieldName The name of the field
+	 * @return The latest value written (null if no value has been written into the field)
+	 */
+	public String getValue(String datasheetName, int rowNum, String fieldName) {
+		if (writtenValues.isEmpty()) {
+			return null;
+		}
+		return writtenValues.get(getCellKey(datasheetName, rowNum, fieldName));
+	}
+	
+	/**
+	 * Function to compact the pending entries of the journal into the workbook
+	 * (if the workbook cannot be written, the entries remain pending, so that no value is lost)
+	 * @throws AutopiaException If the pending entries could not be written into the workbook
+	 */
+	public void compact() {
+		synchronized (compactionLock) {
+			List<JournalEntry> entries;
+			synchronized (this) {
+				if (pendingEntries.isEmpty()) {
+					return;
+				}
+				entries = new ArrayList<>(pendingEntries);
+			}
+			
+			// Only the latest value of each cell needs to be written, and each sheet is written only once
+			Map<String, Map<String, JournalEntry>> latestEntries = new LinkedHashMap<>();
+			for (JournalEntry entry : entries) {
+				Map<String, JournalEntry> sheetEntries = latestEntries.get(entry.datasheetName);
+				if (sheetEntries == null) {
+					sheetEntries = new LinkedHashMap<>();
+					latestEntries.put(entry.datasheetName, sheetEntries);
+				}
+				sheetEntries.put(getCellKey(entry.datasheetName, entry.rowNum, entry.fieldName), entry);
+			}
+			
+			logger.debug("Compacting " + entries.size() + " journal entries into the datatable " + datatableName);
+			
+			try {
+				writeEntries(latestEntries);
+			} catch (AutopiaException e) {
+				String errorDescription = "Error while compacting " + entries.size() +
+											" journal entries into the datatable " + datatableName +
+											" (the entries remain pending): " + e.getMessage();
+				logger.error(errorDescription, e);
+				throw new AutopiaException(errorDescription);
+			}
+			
+			// Only the entries which have been written are removed, since further entries may have been appended
+			synchronized (this) {
+				pendingEntries.subList(0, entries.size()).clear();
+			}
+		}
+	}
+	
+	private void writeEntries(Map<String, Map<String, JournalEntry>> latestEntries) {
+		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
+		for (Map.Entry<String, Map<String, JournalEntry>> sheetEntries : latestEntries.entrySet()) {
+			int entryCount = sheetEntries.getValue().size();
+			int[] rowNums = new int[entryCount];
+			String[] fieldNames = new String[entryCount];
+			String[] dataValues = new String[entryCount];
+			
+			int i = 0;
+			for (JournalEntry entry : sheetEntries.getValue().values()) {
+				rowNums[i] = entry.rowNum;
+				fieldNames[i] = entry.fieldName;
+				dataValues[i] = entry.dataValue;
+				i++;
+			}
+			
+			testDataAccess.setDatasheetName(sheetEntries.getKey());
+			testDataAccess.setValues(rowNums, fieldNames, dataValues);
+		}
+	}
+	
+	
+	private static final class JournalEntry {
+		private final String datasheetName;
+		private final int rowNum;
+		private final String fieldName;
+		private final String dataValue;
+		
+		private JournalEntry(String datasheetName, int rowNum, String fieldName, String dataValue) {
+			this.datasheetName = datasheetName;
+			this.rowNum = rowNum;
+			this.fieldName = fieldName;
+			this.dataValue = dataValue;
+		}
+	}
+}
\ No newline at end of file
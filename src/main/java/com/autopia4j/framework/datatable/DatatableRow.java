@@ -0,0 +1,121 @@
+package com.autopia4j.framework.datatable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.utils.ExcelDataAccess;
+
+/**
+ * Class to represent an immutable view of all the fields within the current row of a datatable sheet<br>
+ * Common test data references within the row are resolved lazily, when the corresponding field is accessed.
+ * Likewise, a cell containing an error is reported only when the corresponding field is accessed
+ * @author vj
+ */
+public class DatatableRow {
+	private final Logger logger = LoggerFactory.getLogger(DatatableRow.class);
+	private final BaseDatatable datatable;
+	private final String datasheetName;
+	private final int rowNum;
+	private final List<String> fieldNames;
+	private final String[] values;
+	private final String[] resolvedValues;
+	private final Map<String, String> cellErrors;
+	private final Map<String, Integer> fieldIndex;
+	
+	
+	DatatableRow(BaseDatatable datatable, String datasheetName, int rowNum,
+					String[] fieldNames, String[] values, Map<String, String> cellErrors) {
+		this.datatable = datatable;
+		this.datasheetName = datasheetName;
+		this.rowNum = rowNum;
+		this.cellErrors = cellErrors;
+		this.fieldNames = Collections.unmodifiableList(Arrays.asList(fieldNames.clone()));
+		this.values = values.clone();
+		this.resolvedValues = new String[values.length];
+		
+		fieldIndex = new HashMap<>();
+		for (int columnNum = 0; columnNum < fieldNames.length; columnNum++) {
+			if (!fieldIndex.containsKey(fieldNames[columnNum])) {
+				fieldIndex.put(fieldNames[columnNum], columnNum);
+			}
+		}
+	}
+	
+	/**
+	 * Function to get the name of the sheet from which the row was read
+	 * @return The name of the sheet
+	 */
+	public String getDatasheetName() {
+		return datasheetName;
+	}
+	
+	/**
+	 * Function to get the names of all the fields within the row, in column order
+	 * @return The (unmodifiable) list of field names
+	 */
+	public List<String> getFieldNames() {
+		return fieldNames;
+	}
+	
+	/**
+	 * Function to get the number of fields within the row
+	 * @return The number of fields
+	 */
+	public int getFieldCount() {
+		return values.length;
+	}
+	
+	/**
+	 * Function to return the test data value present in the specified column of the row
+	 * @param columnNum The column number of the field (0-based)
+	 * @return The test data present in the specified column
+	 */
+	public String getData(int columnNum) {
+		if (columnNum < 0 || columnNum >= values.length) {
+			String errorMessage = "The column number " + columnNum +
+									" is out of range for the test data sheet \"" + datasheetName + "\"!";
+			logger.error(errorMessage);
+			throw new AutopiaException(errorMessage);
+		}
+		
+		String resolvedValue = resolvedValues[columnNum];
+		if (resolvedValue == null) {
+			resolvedValue = values[columnNum];
+			if (resolvedValue == null) {	// Cells containing errors are null
+				String errorMessage = cellErrors.get(ExcelDataAccess.getCellReference(rowNum, columnNum));
+				logger.error(errorMessage);
+				throw new AutopiaException(errorMessage);
+			}
+			if (resolvedValue.startsWith(datatable.dataReferenceIdentifier)) {
+				resolvedValue = datatable.getCommonData(fieldNames.get(columnNum), resolvedValue);
+			}
+			resolvedValues[columnNum] = resolvedValue;
+		}
+		
+		return resolvedValue;
+	}
+	
+	/**
+	 * Function to return the test data value corresponding to the field name passed
+	 * @param fieldName The name of the field whose value is required
+	 * @return The test data present in the field name specified
+	 */
+	public String getData(String fieldName) {
+		Integer columnNum = fieldIndex.get(fieldName);
+		if (columnNum == null) {
+			String errorMessage = "The specified column header \"" + fieldName + "\"" +
+									" is not found in the sheet \"" + datasheetName + "\"!";
+			logger.error(errorMessage);
+			throw new AutopiaException(errorMessage);
+		}
+		
+		return getData(columnNum);
+	}
+}
\ No newline at end of file
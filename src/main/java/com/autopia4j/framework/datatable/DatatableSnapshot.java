@@ -0,0 +1,339 @@
+package com.autopia4j.framework.datatable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.utils.ExcelDataAccess;
+import com.autopia4j.framework.utils.Util;
+
+/**
+ * Class to represent an immutable, in-memory snapshot of all the sheets within a datatable workbook<br>
+ * Snapshots are loaded once per process (typically at framework startup), and shared across all threads.
+ * Cell values are interned while loading, and the rows of each sheet are indexed by their leading key columns
+ * (test case, iteration and sub-iteration), so that lookups do not need to access the workbook at all.
+ * Cells containing errors do not prevent the snapshot from being loaded: the error is reported
+ * only when the value of such a cell is looked up
+ * @author vj
+ */
+public final class DatatableSnapshot {
+	private static final Logger logger = LoggerFactory.getLogger(DatatableSnapshot.class);
+	private static final int MAX_KEY_COLUMNS = 3;
+	private static final ConcurrentMap<String, DatatableSnapshot> snapshots =
+														new ConcurrentHashMap<>();
+	
+	private final String workbookName;
+	private final Map<String, SheetSnapshot> sheets;
+	
+	
+	private DatatableSnapshot(String workbookName, Map<String, SheetSnapshot> sheets) {
+		this.workbookName = workbookName;
+		this.sheets = Collections.unmodifiableMap(sheets);
+	}
+	
+	/**
+	 * Function to return the snapshot of the specified datatable workbook, loading it if required
+	 * (each workbook is loaded only once per process)
+	 * @param datatablePath The path where the datatable is stored
+	 * @param datatableName The name of the datatable file (without the extension)
+	 * @return The {@link DatatableSnapshot} of the datatable workbook
+	 */
+	public static DatatableSnapshot getInstance(String datatablePath, String datatableName) {
+		String snapshotKey = datatablePath + Util.getFileSeparator() + datatableName;
+		
+		DatatableSnapshot snapshot = snapshots.get(snapshotKey);
+		if (snapshot == null) {
+			synchronized (DatatableSnapshot.class) {
+				snapshot = snapshots.get(snapshotKey);
+				if (snapshot == null) {	// Double-checked locking
+					snapshot = load(datatablePath, datatableName, new HashMap<String, String>());
+					snapshots.put(snapshotKey, snapshot);
+				}
+			}
+		}
+		
+		return snapshot;
+	}
+	
+	/**
+	 * Function to discard all the snapshots loaded so far
+	 * (subsequent calls to {@link #getInstance(String, String)} will reload the workbooks)
+	 */
+	public static void clear() {
+		snapshots.clear();
+	}
+	
+	private static DatatableSnapshot load(String datatablePath, String datatableName,
+											Map<String, String> internedValues) {
+		logger.info("Loading datatable snapshot @ " + datatablePath +
+						Util.getFileSeparator() + datatableName + ".xls");
+		
+		ExcelDataAccess dataAccess = new ExcelDataAccess(datatablePath, datatableName);
+		Map<String, SheetSnapshot> sheets = new HashMap<>();
+		for (String sheetName : dataAccess.getSheetNames()) {
+			dataAccess.setDatasheetName(sheetName);
+			Map<String, String> cellErrors = new HashMap<>();
+			String[][] sheetValues = dataAccess.getSheetValues(cellErrors);
+			
+			for (String[] rowValues : sheetValues) {
+				for (int columnNum = 0; columnNum < rowValues.length; columnNum++) {
+					if (rowValues[columnNum] != null) {	// Cells containing errors are null
+						rowValues[columnNum] = intern(rowValues[columnNum], internedValues);
+					}
+				}
+			}
+			
+			sheets.put(sheetName, new SheetSnapshot(sheetName, sheetValues, cellErrors));
+		}
+		
+		return new DatatableSnapshot(datatableName, sheets);
+	}
+	
+	private static String intern(String value, Map<String, String> internedValues) {
+		String internedValue = internedValues.get(value);
+		if (internedValue == null) {
+			internedValues.put(value, value);
+			internedValue = value;
+		}
+		return internedValue;
+	}
+	
+	/**
+	 * Function to check whether the snapshot contains the specified sheet
+	 * @param datasheetName The name of the sheet
+	 * @return Boolean value indicating whether the snapshot contains the specified sheet
+	 */
+	public boolean hasSheet(String datasheetName) {
+		return sheets.containsKey(datasheetName);
+	}
+	
+	/**
+	 * Function to search for a specified composite key within the leading columns of the sheet,
+	 * and return the corresponding row number (the header row is excluded from the search)
+	 * @param datasheetName The name of the sheet
+	 * @param keys The key values being searched for (at most 3)
+	 * @return The row number in which the specified key is found (-1 if the key is not found)
+	 */
+	public int getRowNum(String datasheetName, String[] keys) {
+		return getSheet(datasheetName).getRowNum(keys);
+	}
+	
+	/**
+	 * Function to get the value in the cell identified by the specified row number and column header
+	 * @param datasheetName The name of the sheet
+	 * @param rowNum The row number of the cell
+	 * @param columnHeader The column header of the cell
+	 * @return The value present in the cell
+	 */
+	public String getValue(String datasheetName, int rowNum, String columnHeader) {
+		SheetSnapshot sheet = getSheet(datasheetName);
+		return sheet.getValue(rowNum, sheet.getColumnNum(columnHeader));
+	}
+	
+	/**
+	 * Function to get the values of all the cells within the specified row
+	 * @param datasheetName The name of the sheet
+	 * @param rowNum The row number (0 for the column headers)
+	 * @return A copy of the values present in the cells of the row
+	 */
+	public String[] getRowValues(String datasheetName, int rowNum) {
+		return getRowValues(datasheetName, rowNum, null);
+	}
+	
+	/**
+	 * Function to get the values of all the cells within the specified row,
+	 * without failing on the cells which contain errors
+	 * @param datasheetName The name of the sheet
+	 * @param rowNum The row number (0 for the column headers)
+	 * @param cellErrors The map into which the descriptions of the errors within the cells are put,
+	 * keyed by cell reference (as returned by {@link ExcelDataAccess#getCellReference(int, int)}), while the values
+	 * of such cells are returned as null. If null, the first cell containing an error causes an {@link AutopiaException}
+	 * @return A copy of the values present in the cells of the row
+	 */
+	public String[] getRowValues(String datasheetName, int rowNum, Map<String, String> cellErrors) {
+		SheetSnapshot sheet = getSheet(datasheetName);
+		String[] rowValues = sheet.values[rowNum].clone();
+		for (int columnNum = 0; columnNum < rowValues.length; columnNum++) {
+			if (rowValues[columnNum] != null) {
+				continue;
+			}
+			
+			if (cellErrors == null) {
+				throw sheet.getCellErrorException(rowNum, columnNum);
+			}
+			String cellReference = ExcelDataAccess.getCellReference(rowNum, columnNum);
+			cellErrors.put(cellReference, sheet.cellErrors.get(cellReference));
+		}
+		return rowValues;
+	}
+	
+	private SheetSnapshot getSheet(String datasheetName) {
+		SheetSnapshot sheet = sheets.get(datasheetName);
+		if (sheet == null) {
+			String errorDescription = "The specified sheet \"" + datasheetName + "\"" +
+										" does not exist within the workbook \"" + workbookName + ".xls\"";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		return sheet;
+	}
+	
+	
+	private static final class SheetSnapshot {
+		private final String sheetName;
+		private final String[][] values;
+		private final Map<String, String> cellErrors;
+		private final Map<String, Integer> headerIndex = new HashMap<>();
+		private final KeyIndex[] keyIndexes;
+		
+		private SheetSnapshot(String sheetName, String[][] values, Map<String, String> cellErrors) {
+			this.sheetName = sheetName;
+			this.values = values;
+			this.cellErrors = cellErrors;
+			
+			String[] headers = (values.length == 0)? new String[0] : values[0];
+			for (int columnNum = 0; columnNum < headers.length; columnNum++) {
+				if (headers[columnNum] != null && !headerIndex.containsKey(headers[columnNum])) {
+					headerIndex.put(headers[columnNum], columnNum);
+				}
+			}
+			
+			int keyColumnCount = Math.min(MAX_KEY_COLUMNS, headers.length);
+			keyIndexes = new KeyIndex[keyColumnCount];
+			for (int i = 0; i < keyColumnCount; i++) {
+				keyIndexes[i] = new KeyIndex(values, i + 1);
+			}
+		}
+		
+		private int getRowNum(String[] keys) {
+			if (keys.length == 0 || keys.length > keyIndexes.length) {
+				return -1;
+			}
+			
+			KeyIndex keyIndex = keyIndexes[keys.length - 1];
+			int rowNum = keyIndex.getRowNum(keys);
+			if (rowNum == -1 && keyIndex.errorRowNum != -1) {
+				// The key may have been present within the row whose key columns contain an error
+				throw getCellErrorException(keyIndex.errorRowNum, keyIndex.errorColumnNum);
+			}
+			return rowNum;
+		}
+		
+		private String getValue(int rowNum, int columnNum) {
+			String value = values[rowNum][columnNum];
+			if (value == null) {
+				throw getCellErrorException(rowNum, columnNum);
+			}
+			return value;
+		}
+		
+		private AutopiaException getCellErrorException(int rowNum, int columnNum) {
+			String errorDescription = cellErrors.get(ExcelDataAccess.getCellReference(rowNum, columnNum));
+			logger.error(errorDescription);
+			return new AutopiaException(errorDescription);
+		}
+		
+		private int getColumnNum(String columnHeader) {
+			Integer columnNum = headerIndex.get(columnHeader);
+			if (columnNum == null) {
+				String errorDescription = "The specified column header \"" + columnHeader + "\"" +
+											" is not found in the sheet \"" + sheetName + "\"!";
+				logger.error(errorDescription);
+				throw new AutopiaException(errorDescription);
+			}
+			return columnNum;
+		}
+	}
+	
+	/**
+	 * Sorted index over the leading key columns of a sheet, using primitive row numbers
+	 * (only the first row for each distinct composite key is retained, and rows whose key columns
+	 * contain errors are excluded, with the first such cell being recorded)
+	 */
+	private static final class KeyIndex {
+		private final int keyColumnCount;
+		private final String[][] values;
+		private final int[] sortedRowNums;
+		private int errorRowNum = -1;
+		private int errorColumnNum = -1;
+		
+		private KeyIndex(final String[][] values, final int keyColumnCount) {
+			this.keyColumnCount = keyColumnCount;
+			this.values = values;
+			
+			int rowCount = 0;
+			Integer[] rowNums = new Integer[Math.max(values.length - 1, 0)];
+			for (int rowNum = 1; rowNum < values.length; rowNum++) {	// Start at row 1, skipping the header row
+				if (hasKeyErrors(rowNum)) {
+					continue;
+				}
+				rowNums[rowCount++] = rowNum;
+			}
+			rowNums = Arrays.copyOf(rowNums, rowCount);
+			Arrays.sort(rowNums, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer rowNum1, Integer rowNum2) {
+					int comparison = compareKeys(values[rowNum1], values[rowNum2]);
+					return (comparison != 0)? comparison : rowNum1.compareTo(rowNum2);
+				}
+			});
+			
+			int distinctKeyCount = 0;
+			int[] distinctRowNums = new int[rowNums.length];
+			for (int i = 0; i < rowNums.length; i++) {
+				if (i == 0 || compareKeys(values[rowNums[i]], values[rowNums[i - 1]]) != 0) {
+					distinctRowNums[distinctKeyCount++] = rowNums[i];
+				}
+			}
+			sortedRowNums = Arrays.copyOf(distinctRowNums, distinctKeyCount);
+		}
+		
+		private boolean hasKeyErrors(int rowNum) {
+			for (int columnNum = 0; columnNum < keyColumnCount; columnNum++) {
+				if (values[rowNum][columnNum] == null) {	// Cells containing errors are null
+					if (errorRowNum == -1) {
+						errorRowNum = rowNum;
+						errorColumnNum = columnNum;
+					}
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		private int compareKeys(String[] keys1, String[] keys2) {
+			for (int columnNum = 0; columnNum < keyColumnCount; columnNum++) {
+				int comparison = keys1[columnNum].compareTo(keys2[columnNum]);
+				if (comparison != 0) {
+					return comparison;
+				}
+			}
+			return 0;
+		}
+		
+		private int getRowNum(String[] keys) {
+			int low = 0;
+			int high = sortedRowNums.length - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int comparison = compareKeys(values[sortedRowNums[mid]], keys);
+				if (comparison < 0) {
+					low = mid + 1;
+				} else if (comparison > 0) {
+					high = mid - 1;
+				} else {
+					return sortedRowNums[mid];
+				}
+			}
+			return -1;
+		}
+	}
+}
\ No newline at end of file
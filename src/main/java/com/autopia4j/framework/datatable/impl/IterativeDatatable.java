@@ -5,7 +5,7 @@ import org.slf4j.LoggerFactory;
 
 import com.autopia4j.framework.core.AutopiaException;
 import com.autopia4j.framework.datatable.BaseDatatable;
-import com.autopia4j.framework.utils.ExcelDataAccess;
+import com.autopia4j.framework.datatable.DatatableRow;
 
 /**
  * Class that implements an iterative datatable, enabling multiple rows of data to be mapped to each test case
@@ -60,26 +60,9 @@ public class IterativeDatatable extends BaseDatatable {
 	public String getData(String datasheetName, String fieldName) {
 		checkPreRequisites();
 		
-		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
-		testDataAccess.setDatasheetName(datasheetName);
+		int rowNum = getCurrentRowNum(datasheetName, "test data sheet \"" + datasheetName + "\"");
 		
-		int rowNum = testDataAccess.getRowNum(currentTestcase, 0, 1);	// Start at row 1, skipping the header row
-		if (rowNum == -1) {
-			String errorMessage = "The test case \"" + currentTestcase + "\"" +
-										"is not found in the test data sheet \"" + datasheetName + "\"!";
-			logger.error(errorMessage);
-			throw new AutopiaException(errorMessage);
-		}
-		rowNum = testDataAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
-		if (rowNum == -1) {
-			String errorMessage = "The iteration number \"" + currentIteration + "\"" +
-										"of the test case \"" + currentTestcase + "\"" +
-										"is not found in the test data sheet \"" + datasheetName + "\"!";
-			logger.error(errorMessage);
-			throw new AutopiaException(errorMessage);
-		}
-		
-		String dataValue = testDataAccess.getValue(rowNum, fieldName);
+		String dataValue = getValue(datasheetName, rowNum, fieldName);
 		
 		if(dataValue.startsWith(dataReferenceIdentifier)) {
 			dataValue = getCommonData(fieldName, dataValue);
@@ -88,6 +71,15 @@ public class IterativeDatatable extends BaseDatatable {
 		return dataValue;
 	}
 	
+	@Override
+	public DatatableRow getRow(String datasheetName) {
+		checkPreRequisites();
+		
+		int rowNum = getCurrentRowNum(datasheetName, "test data sheet \"" + datasheetName + "\"");
+		
+		return createDatatableRow(datasheetName, rowNum);
+	}
+	
 	private void checkPreRequisites() {
 		if(currentTestcase == null) {
 			String errorMessage = "The currentTestCase is not set!";
@@ -101,57 +93,41 @@ public class IterativeDatatable extends BaseDatatable {
 		}
 	}
 	
-	@Override
-	public void putData(String datasheetName, String fieldName, String dataValue) {
-		checkPreRequisites();
-		
-		ExcelDataAccess testDataAccess = new ExcelDataAccess(datatablePath, datatableName);
-		testDataAccess.setDatasheetName(datasheetName);
-		
-		int rowNum = testDataAccess.getRowNum(currentTestcase, 0, 1);	// Start at row 1, skipping the header row
+	private int getCurrentRowNum(String datasheetName, String sheetDescription) {
+		String[] keys = {currentTestcase, Integer.toString(currentIteration)};
+		int rowNum = getRowNum(datasheetName, keys);
 		if (rowNum == -1) {
-			String errorMessage = "The test case \"" + currentTestcase + "\"" +
-										"is not found in the test data sheet \"" + datasheetName + "\"!";
-			logger.error(errorMessage);
-			throw new AutopiaException(errorMessage);
-		}
-		rowNum = testDataAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
-		if (rowNum == -1) {
-			String errorMessage = "The iteration number \"" + currentIteration + "\"" +
+			String errorMessage;
+			if (getRowNum(datasheetName, new String[] {currentTestcase}) == -1) {
+				errorMessage = "The test case \"" + currentTestcase + "\"" +
+										"is not found in the " + sheetDescription + "!";
+			} else {
+				errorMessage = "The iteration number \"" + currentIteration + "\"" +
 										"of the test case \"" + currentTestcase + "\"" +
-										"is not found in the test data sheet \"" + datasheetName + "\"!";
+										"is not found in the " + sheetDescription + "!";
+			}
 			logger.error(errorMessage);
 			throw new AutopiaException(errorMessage);
 		}
 		
-		synchronized(IterativeDatatable.class) {
-			testDataAccess.setValue(rowNum, fieldName, dataValue);
-		}
+		return rowNum;
 	}
 	
 	@Override
-	public String getExpectedResult(String fieldName) {
+	public void putData(String datasheetName, String fieldName, String dataValue) {
 		checkPreRequisites();
 		
-		ExcelDataAccess expectedResultsAccess = new ExcelDataAccess(datatablePath, datatableName);
-		expectedResultsAccess.setDatasheetName("Parametrized_Checkpoints");
+		int rowNum = getCurrentRowNum(datasheetName, "test data sheet \"" + datasheetName + "\"");
 		
-		int rowNum = expectedResultsAccess.getRowNum(currentTestcase, 0, 1);	// Start at row 1, skipping the header row
-		if (rowNum == -1) {
-			String errorMessage = "The test case \"" + currentTestcase + "\"" +
-										"is not found in the parametrized checkpoints sheet!";
-			logger.error(errorMessage);
-			throw new AutopiaException(errorMessage);
-		}
-		rowNum = expectedResultsAccess.getRowNum(Integer.toString(currentIteration), 1, rowNum);
-		if (rowNum == -1) {
-			String errorMessage = "The iteration number \"" + currentIteration + "\"" +
-										"of the test case \"" + currentTestcase + "\"" +
-										"is not found in the parametrized checkpoints sheet!";
-			logger.error(errorMessage);
-			throw new AutopiaException(errorMessage);
-		}
+		writeValue(datasheetName, rowNum, fieldName, dataValue);
+	}
+	
+	@Override
+	public String getExpectedResult(String fieldName) {
+		checkPreRequisites();
+		
+		int rowNum = getCurrentRowNum(PARAMETRIZED_CHECKPOINTS, "parametrized checkpoints sheet");
 		
-		return expectedResultsAccess.getValue(rowNum, fieldName);
+		return getValue(PARAMETRIZED_CHECKPOINTS, rowNum, fieldName);
 	}
 }
\ No newline at end of file
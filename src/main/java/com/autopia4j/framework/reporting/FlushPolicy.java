@@ -0,0 +1,23 @@
+package com.autopia4j.framework.reporting;
+
+
+/**
+ * Enumeration to represent the policy for flushing the buffered report contents into the report files
+ * @author vj
+ */
+public enum FlushPolicy {
+	/**
+	 * Indicates that the report contents are flushed after every update (i.e., after every test step)
+	 */
+	PER_STEP,
+	/**
+	 * Indicates that the report contents are flushed whenever a heading, section or sub-section is added,
+	 * and when the report is completed
+	 */
+	PER_SECTION,
+	/**
+	 * Indicates that the report contents are flushed on the first update after the flush interval has elapsed,
+	 * and when the report is completed
+	 */
+	TIME_BASED;
+}
\ No newline at end of file
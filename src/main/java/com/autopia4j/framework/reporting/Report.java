@@ -1,10 +1,5 @@
 package com.autopia4j.framework.reporting;
 
-import java.awt.AWTException;
-import java.awt.Dimension;
-import java.awt.Rectangle;
-import java.awt.Robot;
-import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FilenameFilter;
@@ -14,9 +9,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-
-import javax.imageio.ImageIO;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,8 +21,24 @@ import org.slf4j.LoggerFactory;
 import com.autopia4j.framework.core.AutopiaException;
 import com.autopia4j.framework.core.FrameworkParameters;
 import com.autopia4j.framework.core.TestParameters;
+import com.autopia4j.framework.reporting.event.FooterEvent;
+import com.autopia4j.framework.reporting.event.HeadingEvent;
+import com.autopia4j.framework.reporting.event.InitializationEvent;
+import com.autopia4j.framework.reporting.event.PerformanceSummaryEvent;
+import com.autopia4j.framework.reporting.event.ReportEvent;
+import com.autopia4j.framework.reporting.event.ReportLog;
+import com.autopia4j.framework.reporting.event.SectionEvent;
+import com.autopia4j.framework.reporting.event.StepEvent;
+import com.autopia4j.framework.reporting.event.SubHeadingEvent;
+import com.autopia4j.framework.reporting.event.SummaryRowEvent;
+import com.autopia4j.framework.reporting.event.TableHeadingsEvent;
+import com.autopia4j.framework.reporting.impl.AsyncReportSink;
 import com.autopia4j.framework.reporting.impl.ExcelReport;
 import com.autopia4j.framework.reporting.impl.HtmlReport;
+import com.autopia4j.framework.reporting.impl.ReportJournal;
+import com.autopia4j.framework.reporting.impl.ScreenshotService;
+import com.autopia4j.framework.reporting.impl.StepLatencyRecorder;
+import com.autopia4j.framework.reporting.impl.XlsxReport;
 import com.autopia4j.framework.utils.Util;
 import com.autopia4j.framework.utils.WordDocumentManager;
 
@@ -39,6 +52,7 @@ public class Report {
 	private static final String EXCEL_RESULTS = "Excel Results";
 	private static final String HTML_RESULTS = "HTML Results";
 	private static final String SCREENSHOTS = "Screenshots";
+	private static final int MAX_PENDING_EVENTS = 64;
 	
 	private ReportSettings reportSettings;
 	private ReportTheme reportTheme;
@@ -49,7 +63,15 @@ public class Report {
 	private int nTestsPassed;
 	private int nTestsFailed;
 	
-	private List<ReportType> reportTypes = new ArrayList<>();
+	private long testStartTime;
+	private long previousStepTime;
+	
+	private List<ReportSink> reportSinks = new ArrayList<>();
+	private List<ReportEvent> pendingEvents = new ArrayList<>();
+	private StepLatencyRecorder stepLatencyRecorder;
+	private final List<Future<?>> pendingScreenshots = new ArrayList<>();
+	private final Map<String, String> savedScreenshotNames = new HashMap<>();
+	private String duplicateScreenshotName;
 	
 	private String testStatus;
 	private String failureDescription;
@@ -104,7 +126,15 @@ public class Report {
 						Util.getFileSeparator() + EXCEL_RESULTS).mkdir();
 			
 			ExcelReport excelReport = new ExcelReport(reportSettings, reportTheme);
-			reportTypes.add(excelReport);
+			addReportSink(excelReport);
+		}
+		
+		if(reportSettings.shouldGenerateXlsxReports()) {
+			new File(reportSettings.getReportPath() +
+						Util.getFileSeparator() + EXCEL_RESULTS).mkdir();
+			
+			XlsxReport xlsxReport = new XlsxReport(reportSettings, reportTheme);
+			addReportSink(xlsxReport);
 		}
 		
 		if(reportSettings.shouldGenerateHtmlReports()) {
@@ -112,13 +142,58 @@ public class Report {
 						Util.getFileSeparator() + HTML_RESULTS).mkdir();
 			
 			HtmlReport htmlReport = new HtmlReport(reportSettings, reportTheme);
-			reportTypes.add(htmlReport);
+			addReportSink(htmlReport);
+		}
+		
+		if(reportSettings.shouldGenerateReportJournal()) {
+			ReportJournal reportJournal = new ReportJournal(reportSettings);
+			addReportSink(reportJournal);
+		}
+		
+		if(reportSettings.shouldGeneratePerformanceSummary()) {
+			stepLatencyRecorder = StepLatencyRecorder.getInstance(reportSettings.getReportPath());
 		}
 		
 		new File(reportSettings.getReportPath() + Util.getFileSeparator() +
 															SCREENSHOTS).mkdir();
 	}
 	
+	/**
+	 * Function to add a {@link ReportSink}, which consumes all the report events raised subsequently
+	 * (should be called before initializing the test log or the result summary)
+	 * @param reportSink The {@link ReportSink} to be added
+	 */
+	public void addReportSink(ReportSink reportSink) {
+		if(reportSettings.shouldUpdateReportsAsynchronously()) {
+			reportSinks.add(new AsyncReportSink(reportSink,
+										reportSettings.getAsyncReportQueueCapacity()));
+		} else {
+			reportSinks.add(reportSink);
+		}
+	}
+	
+	private synchronized void publish(ReportEvent event) {
+		pendingEvents.add(event);
+		
+		// The events are delivered as a batch once a section, a test instance or a report log is completed
+		if(event instanceof SectionEvent || event instanceof SummaryRowEvent ||
+				event instanceof FooterEvent || pendingEvents.size() >= MAX_PENDING_EVENTS) {
+			deliverPendingEvents();
+		}
+	}
+	
+	private synchronized void deliverPendingEvents() {
+		if(pendingEvents.isEmpty()) {
+			return;
+		}
+		
+		List<ReportEvent> events = pendingEvents;
+		pendingEvents = new ArrayList<>();	// The delivered batch is handed over to the sinks
+		for(int i=0; i < reportSinks.size(); i++) {
+			reportSinks.get(i).consume(events);
+		}
+	}
+	
 	/**
 	 * Function to create a sub-folder within the Results folder
 	 * @param subFolderName The name of the sub-folder to be created
@@ -144,9 +219,19 @@ public class Report {
 			throw new AutopiaException(errorDescription);
 		}
 		
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).initializeTestLog();
-		}
+		testStartTime = System.nanoTime();
+		previousStepTime = testStartTime;
+		savedScreenshotNames.clear();
+		
+		publish(new InitializationEvent(ReportLog.TEST_LOG));
+	}
+	
+	/**
+	 * Function to get the time elapsed since the test log was initialized
+	 * @return The test duration in nanoseconds
+	 */
+	public long getTestDuration() {
+		return System.nanoTime() - testStartTime;
 	}
 	
 	/**
@@ -154,9 +239,7 @@ public class Report {
 	 * @param heading The heading to be added
 	 */
 	public void addTestLogHeading(String heading) {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogHeading(heading);
-		}
+		publish(new HeadingEvent(ReportLog.TEST_LOG, heading));
 	}
 	
 	/**
@@ -169,10 +252,8 @@ public class Report {
 	 */
 	public void addTestLogSubHeading(String subHeading1, String subHeading2,
 										String subHeading3, String subHeading4) {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogSubHeading(subHeading1, subHeading2,
-														subHeading3, subHeading4);
-		}
+		publish(new SubHeadingEvent(ReportLog.TEST_LOG, subHeading1, subHeading2,
+										subHeading3, subHeading4));
 	}
 	
 	/**
@@ -181,9 +262,7 @@ public class Report {
 	 * headings and sub-heading should be added before this)
 	 */
 	public void addTestLogTableHeadings() {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogTableHeadings();
-		}
+		publish(new TableHeadingsEvent(ReportLog.TEST_LOG));
 	}
 	
 	/**
@@ -191,9 +270,7 @@ public class Report {
 	 * @param section The section to be added
 	 */
 	public void addTestLogSection(String section) {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogSection(section);
-		}
+		publish(new SectionEvent(section, false));
 		
 		stepNumber = 1;
 	}
@@ -204,9 +281,7 @@ public class Report {
 	 * @param subSection The sub-section to be added
 	 */
 	public void addTestLogSubSection(String subSection) {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogSubSection(subSection);
-		}
+		publish(new SectionEvent(subSection, true));
 	}
 	
 	/**
@@ -220,13 +295,22 @@ public class Report {
 		handleStepInvolvingPassOrFail(stepDescription, stepStatus);
 		
 		if(stepStatus.ordinal() <= reportSettings.getLogLevel()) {
+			long currentTime = System.nanoTime();
+			long stepDuration = currentTime - previousStepTime;
 			String screenshotName = handleStepInvolvingScreenshot(stepName, shouldTakeScreenshot);
 			
-			for(int i=0; i < reportTypes.size();i++) {
-				reportTypes.get(i).updateTestLog(Integer.toString(stepNumber), stepName, stepDescription, stepStatus, shouldTakeScreenshot, screenshotName);
+			publish(new StepEvent(Integer.toString(stepNumber), stepName, stepDescription,
+									stepStatus, shouldTakeScreenshot, screenshotName,
+									stepDuration, currentTime - testStartTime));
+			
+			if(stepLatencyRecorder != null) {
+				stepLatencyRecorder.recordStep(stepName, stepStatus, stepDuration);
 			}
 			
 			stepNumber++;
+			
+			// The time spent on reporting this step (including any screenshot) is excluded from the next step
+			previousStepTime = System.nanoTime();
 		}
 	}
 	
@@ -275,7 +359,12 @@ public class Report {
 									Util.getFileSeparator() + screenshotName + ".png";
 			}
 			
+			duplicateScreenshotName = null;
 			takeScreenshot(screenshotPath);
+			if(duplicateScreenshotName != null) {
+				// An identical screenshot was saved earlier, so the step is linked to it
+				return duplicateScreenshotName;
+			}
 		}
 		
 		return screenshotName.concat(".png");
@@ -283,29 +372,65 @@ public class Report {
 	
 	/**
 	 * Function to take a screenshot
+	 * (the screen is captured immediately, while the screenshot file is written in the background;
+	 * subclasses which override this function may either write the file themselves,
+	 * or hand over the captured image using {@link #saveScreenshot(BufferedImage, String)})
 	 * @param screenshotPath The path where the screenshot should be saved
 	 */
 	protected void takeScreenshot(String screenshotPath) {
-		Toolkit toolkit = Toolkit.getDefaultToolkit();
-		Dimension screenSize = toolkit.getScreenSize();
-		Rectangle rectangle = new Rectangle(0, 0, screenSize.width, screenSize.height);
-		Robot robot;
-		
-		try {
-			robot = new Robot();
-		} catch (AWTException e) {
-			String errorDescription = "Error while creating Robot object (for taking screenshot)";
-			logger.error(errorDescription, e);
-			throw new AutopiaException(errorDescription);
+		saveScreenshot(ScreenshotService.getInstance().captureFrame(), screenshotPath);
+	}
+	
+	/**
+	 * Function to save the specified screenshot image into the specified path in the background
+	 * (if screenshots are to be deduplicated, and an identical image was already saved within this test,
+	 * the image is not saved again, and the current step is linked to the screenshot saved earlier)
+	 * @param screenshotImage The screenshot image (which must not be modified thereafter)
+	 * @param screenshotPath The path where the screenshot should be saved
+	 */
+	protected void saveScreenshot(BufferedImage screenshotImage, String screenshotPath) {
+		if(reportSettings.shouldDeduplicateScreenshots()) {
+			String digest = ScreenshotService.digest(screenshotImage);
+			String savedScreenshotName = savedScreenshotNames.get(digest);
+			if(savedScreenshotName != null) {
+				duplicateScreenshotName = savedScreenshotName;
+				return;
+			}
+			savedScreenshotNames.put(digest, new File(screenshotPath).getName());
 		}
 		
-		BufferedImage screenshotImage = robot.createScreenCapture(rectangle);
-		File screenshotFile = new File (screenshotPath);
+		addPendingScreenshot(ScreenshotService.getInstance().encode(screenshotImage, screenshotPath));
+	}
+	
+	/**
+	 * Function to register a screenshot which is being written in the background,
+	 * so that the test log is completed only after the screenshot file is written
+	 * @param pendingScreenshot A {@link Future} which completes once the screenshot file is written
+	 */
+	protected void addPendingScreenshot(Future<?> pendingScreenshot) {
+		synchronized (pendingScreenshots) {
+			pendingScreenshots.add(pendingScreenshot);
+		}
+	}
+	
+	private void waitForPendingScreenshots() {
+		List<Future<?>> screenshots;
+		synchronized (pendingScreenshots) {
+			screenshots = new ArrayList<>(pendingScreenshots);
+			pendingScreenshots.clear();
+		}
 		
 		try {
-			ImageIO.write(screenshotImage, "jpg", screenshotFile);
-		} catch (IOException e) {
-			String errorDescription = "Error while writing screenshot to .jpg file";
+			for (Future<?> screenshot : screenshots) {
+				screenshot.get();
+			}
+		} catch (ExecutionException e) {
+			String errorDescription = "Error while writing screenshot to .png file";
+			logger.error(errorDescription, e.getCause());
+			throw new AutopiaException(errorDescription);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			String errorDescription = "Interrupted while waiting for the screenshots to be written";
 			logger.error(errorDescription, e);
 			throw new AutopiaException(errorDescription);
 		}
@@ -317,8 +442,34 @@ public class Report {
 	 * @param executionTime The time taken to execute the test case
 	 */
 	public void addTestLogFooter(String executionTime) {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addTestLogFooter(executionTime, nStepsPassed, nStepsFailed);
+		publish(new FooterEvent(ReportLog.TEST_LOG, executionTime, nStepsPassed, nStepsFailed));
+		
+		closeAsyncReportSinks();
+		waitForPendingScreenshots();
+	}
+	
+	/**
+	 * Function to deliver the report events pending since the last section, and wait until all the pending
+	 * asynchronous report updates have been applied (relevant only if the reports are updated asynchronously),
+	 * and all the pending screenshots have been written
+	 */
+	public void flush() {
+		deliverPendingEvents();
+		waitForPendingScreenshots();
+		
+		for(int i=0; i < reportSinks.size(); i++) {
+			if(reportSinks.get(i) instanceof AsyncReportSink) {
+				((AsyncReportSink) reportSinks.get(i)).flush();
+			}
+		}
+	}
+	
+	private void closeAsyncReportSinks() {
+		// The report files are complete only once all the pending events have been delivered
+		for(int i=0; i < reportSinks.size(); i++) {
+			if(reportSinks.get(i) instanceof AsyncReportSink) {
+				((AsyncReportSink) reportSinks.get(i)).close();
+			}
 		}
 	}
 	
@@ -326,6 +477,8 @@ public class Report {
 	 * Function to consolidate all screenshots into a Word document
 	 */
 	public void consolidateScreenshotsInWordDoc() {
+		waitForPendingScreenshots();
+		
 		String screenshotsConsolidatedFolderPath = reportSettings.getReportPath() +
 														Util.getFileSeparator() +
 														"Screenshots (Consolidated)";
@@ -364,9 +517,7 @@ public class Report {
 	 * Function to initialize the result summary
 	 */
 	public void initializeResultSummary() {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).initializeResultSummary();
-		}
+		publish(new InitializationEvent(ReportLog.RESULT_SUMMARY));
 	}
 	
 	/**
@@ -374,9 +525,7 @@ public class Report {
 	 * @param heading The heading to be added
 	 */
 	public void addResultSummaryHeading(String heading) {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addResultSummaryHeading(heading);
-		}
+		publish(new HeadingEvent(ReportLog.RESULT_SUMMARY, heading));
 	}
 	
 	/**
@@ -389,19 +538,15 @@ public class Report {
 	 */
 	public void addResultSummarySubHeading(String subHeading1, String subHeading2,
 											String subHeading3, String subHeading4) {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addResultSummarySubHeading(subHeading1, subHeading2,
-															subHeading3, subHeading4);
-		}
+		publish(new SubHeadingEvent(ReportLog.RESULT_SUMMARY, subHeading1, subHeading2,
+										subHeading3, subHeading4));
 	}
 	
 	/**
 	 * Function to add the overall table headings to the result summary
 	 */
 	public void addResultSummaryTableHeadings() {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addResultSummaryTableHeadings();
-		}
+		publish(new TableHeadingsEvent(ReportLog.RESULT_SUMMARY));
 	}
 	
 	/**
@@ -411,8 +556,23 @@ public class Report {
 	 * @param executionTime The time taken to execute the test instance
 	 * @param testStatus The Pass/Fail status of the test instance
 	 */
+	public void updateResultSummary(TestParameters testParameters, String testReportName,
+										String executionTime, String testStatus) {
+		updateResultSummary(testParameters, testReportName, executionTime, testStatus, -1);
+	}
+	
+	/**
+	 * Function to update the results summary with the status of the test instance which was executed,
+	 * including its precise duration (as returned by {@link #getTestDuration()} for the test instance)
+	 * @param testParameters The {@link TestParameters} object containing the details of the test instance which was executed
+	 * @param testReportName The name of the test report file corresponding to the test instance
+	 * @param executionTime The time taken to execute the test instance
+	 * @param testStatus The Pass/Fail status of the test instance
+	 * @param testDuration The time taken to execute the test instance, in nanoseconds (negative if not known)
+	 */
 	public synchronized void updateResultSummary(TestParameters testParameters, String testReportName,
-													String executionTime, String testStatus) {
+													String executionTime, String testStatus,
+													long testDuration) {
 		if("failed".equalsIgnoreCase(testStatus)) {
 			nTestsFailed++;
 		} else if("passed".equalsIgnoreCase(testStatus)) {
@@ -421,21 +581,28 @@ public class Report {
 			reportSettings.setLinkTestLogsToSummary(false);
 		}
 		
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).updateResultSummary(testParameters, testReportName,
-															executionTime, testStatus);
-		}
+		publish(new SummaryRowEvent(testParameters, testReportName, executionTime, testStatus,
+																				testDuration));
 	}
 	
 	/**
 	 * Function to add a footer to the result summary
-	 * (The footer format is pre-defined - it contains the total execution time and the number of passed/failed tests)
+	 * (The footer format is pre-defined - it contains the total execution time and the number of passed/failed tests;
+	 * the performance summary of the run, if enabled, is added just before the footer)
 	 * @param totalExecutionTime The total time taken to execute all the test cases
 	 */
 	public void addResultSummaryFooter(String totalExecutionTime) {
-		for(int i=0; i < reportTypes.size(); i++) {
-			reportTypes.get(i).addResultSummaryFooter(totalExecutionTime, nTestsPassed, nTestsFailed);
+		if(stepLatencyRecorder != null) {
+			publish(new PerformanceSummaryEvent(stepLatencyRecorder.getStepNameStatistics(),
+													stepLatencyRecorder.getStepStatusStatistics()));
+			stepLatencyRecorder.writePerformanceSummary(reportSettings.getReportPath());
+			StepLatencyRecorder.release(reportSettings.getReportPath());
 		}
+		
+		publish(new FooterEvent(ReportLog.RESULT_SUMMARY, totalExecutionTime,
+									nTestsPassed, nTestsFailed));
+		
+		closeAsyncReportSinks();
 	}
 	
 	/**
@@ -0,0 +1,107 @@
+package com.autopia4j.framework.reporting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.reporting.event.FooterEvent;
+import com.autopia4j.framework.reporting.event.HeadingEvent;
+import com.autopia4j.framework.reporting.event.InitializationEvent;
+import com.autopia4j.framework.reporting.event.PerformanceSummaryEvent;
+import com.autopia4j.framework.reporting.event.ReportEvent;
+import com.autopia4j.framework.reporting.event.ReportLog;
+import com.autopia4j.framework.reporting.event.SectionEvent;
+import com.autopia4j.framework.reporting.event.StepEvent;
+import com.autopia4j.framework.reporting.event.SubHeadingEvent;
+import com.autopia4j.framework.reporting.event.SummaryRowEvent;
+import com.autopia4j.framework.reporting.event.TableHeadingsEvent;
+
+
+/**
+ * Class to apply {@link ReportEvent}s to a {@link ReportType}, by invoking the function corresponding to the type of each event<br>
+ * The events themselves do not depend on the {@link ReportType} interface, so that it can evolve independently of them
+ * @author vj
+ */
+final class ReportEventDispatcher {
+	private static final Logger logger = LoggerFactory.getLogger(ReportEventDispatcher.class);
+	
+	
+	private ReportEventDispatcher() {
+		// To prevent external instantiation of this class
+	}
+	
+	/**
+	 * Function to apply the specified event to the specified {@link ReportType}
+	 * @param event The {@link ReportEvent} to be applied
+	 * @param reportType The {@link ReportType} to which the event is to be applied
+	 */
+	static void dispatch(ReportEvent event, ReportType reportType) {
+		if (event instanceof StepEvent) {
+			StepEvent stepEvent = (StepEvent) event;
+			reportType.updateTestLog(stepEvent.getStepNumber(), stepEvent.getStepName(),
+										stepEvent.getStepDescription(), stepEvent.getStepStatus(),
+										stepEvent.isScreenshotTaken(), stepEvent.getScreenshotName(),
+										stepEvent.getStepDuration(), stepEvent.getElapsedTime(),
+										stepEvent.getStepTime());
+		} else if (event instanceof SectionEvent) {
+			SectionEvent sectionEvent = (SectionEvent) event;
+			if (sectionEvent.isSubSection()) {
+				reportType.addTestLogSubSection(sectionEvent.getSection());
+			} else {
+				reportType.addTestLogSection(sectionEvent.getSection());
+			}
+		} else if (event instanceof SummaryRowEvent) {
+			SummaryRowEvent summaryRowEvent = (SummaryRowEvent) event;
+			reportType.updateResultSummary(summaryRowEvent.getTestParameters(),
+											summaryRowEvent.getTestReportName(),
+											summaryRowEvent.getExecutionTime(),
+											summaryRowEvent.getTestStatus(),
+											summaryRowEvent.getTestDuration());
+		} else if (event instanceof InitializationEvent) {
+			if (((InitializationEvent) event).getReportLog() == ReportLog.TEST_LOG) {
+				reportType.initializeTestLog();
+			} else {
+				reportType.initializeResultSummary();
+			}
+		} else if (event instanceof HeadingEvent) {
+			HeadingEvent headingEvent = (HeadingEvent) event;
+			if (headingEvent.getReportLog() == ReportLog.TEST_LOG) {
+				reportType.addTestLogHeading(headingEvent.getHeading());
+			} else {
+				reportType.addResultSummaryHeading(headingEvent.getHeading());
+			}
+		} else if (event instanceof SubHeadingEvent) {
+			SubHeadingEvent subHeadingEvent = (SubHeadingEvent) event;
+			if (subHeadingEvent.getReportLog() == ReportLog.TEST_LOG) {
+				reportType.addTestLogSubHeading(subHeadingEvent.getSubHeading1(), subHeadingEvent.getSubHeading2(),
+												subHeadingEvent.getSubHeading3(), subHeadingEvent.getSubHeading4());
+			} else {
+				reportType.addResultSummarySubHeading(subHeadingEvent.getSubHeading1(), subHeadingEvent.getSubHeading2(),
+												subHeadingEvent.getSubHeading3(), subHeadingEvent.getSubHeading4());
+			}
+		} else if (event instanceof TableHeadingsEvent) {
+			if (((TableHeadingsEvent) event).getReportLog() == ReportLog.TEST_LOG) {
+				reportType.addTestLogTableHeadings();
+			} else {
+				reportType.addResultSummaryTableHeadings();
+			}
+		} else if (event instanceof PerformanceSummaryEvent) {
+			PerformanceSummaryEvent performanceSummaryEvent = (PerformanceSummaryEvent) event;
+			reportType.addPerformanceSummary(performanceSummaryEvent.getStepNameStatistics(),
+												performanceSummaryEvent.getStepStatusStatistics());
+		} else if (event instanceof FooterEvent) {
+			FooterEvent footerEvent = (FooterEvent) event;
+			if (footerEvent.getReportLog() == ReportLog.TEST_LOG) {
+				reportType.addTestLogFooter(footerEvent.getExecutionTime(),
+											footerEvent.getPassedCount(), footerEvent.getFailedCount());
+			} else {
+				reportType.addResultSummaryFooter(footerEvent.getExecutionTime(),
+											footerEvent.getPassedCount(), footerEvent.getFailedCount());
+			}
+		} else {
+			String errorDescription = "Unsupported report event: " + event.getClass().getName();
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+	}
+}
\ No newline at end of file
@@ -23,12 +23,25 @@ public class ReportSettings {
 	private String dateFormatString;
 	
 	private boolean generateExcelReports;
+	private boolean generateXlsxReports;
 	private boolean generateHtmlReports;
+	private boolean generateReportJournal;
+	private boolean generatePerformanceSummary;
 	
 	private boolean linkScreenshotsToTestLog;
 	private boolean linkTestLogsToSummary;
 	
 	private boolean consolidateScreenshotsInWordDoc;
+	private boolean deduplicateScreenshots;
+	
+	private boolean keepExcelTestLogInMemory;
+	private int excelTestLogCheckpointInterval;
+	
+	private FlushPolicy htmlReportFlushPolicy;
+	private long htmlReportFlushInterval;
+	
+	private boolean asyncReporting;
+	private int asyncReportQueueCapacity;
 	
 	
 	/**
@@ -51,10 +64,20 @@ public class ReportSettings {
 		projectName = "";
 		logLevel = 3;
 		generateExcelReports = true;
+		generateXlsxReports = false;
 		generateHtmlReports = true;
+		generateReportJournal = false;
+		generatePerformanceSummary = false;
 		linkScreenshotsToTestLog = true;
 		linkTestLogsToSummary = true;
 		consolidateScreenshotsInWordDoc = false;
+		deduplicateScreenshots = true;
+		keepExcelTestLogInMemory = false;
+		excelTestLogCheckpointInterval = 0;
+		htmlReportFlushPolicy = FlushPolicy.PER_STEP;
+		htmlReportFlushInterval = 1000;
+		asyncReporting = false;
+		asyncReportQueueCapacity = 1024;
 		dateFormatString = "dd-MMM-yyyy hh:mm:ss a";
 	}
 	
@@ -152,6 +175,23 @@ public class ReportSettings {
 		this.generateExcelReports = generateExcelReports;
 	}
 	
+	/**
+	 * Function to get a Boolean value indicating whether Excel reports should be generated in the .xlsx format
+	 * @return Boolean value indicating whether Excel reports should be generated in the .xlsx format
+	 */
+	public boolean shouldGenerateXlsxReports() {
+		return generateXlsxReports;
+	}
+	
+	/**
+	 * Function to set a Boolean value indicating whether Excel reports should be generated in the .xlsx format
+	 * (the .xlsx reports are streamed into the files, and are hence suitable for very long test logs)
+	 * @param generateXlsxReports Boolean value indicating whether Excel reports should be generated in the .xlsx format
+	 */
+	public void setGenerateXlsxReports(boolean generateXlsxReports) {
+		this.generateXlsxReports = generateXlsxReports;
+	}
+	
 	/**
 	 * Function to get a Boolean value indicating whether HTML reports should be generated
 	 * @return Boolean value indicating whether HTML reports should be generated
@@ -168,6 +208,43 @@ public class ReportSettings {
 		this.generateHtmlReports = generateHtmlReports;
 	}
 	
+	/**
+	 * Function to get a Boolean value indicating whether the report events should be appended to the binary report journal
+	 * @return Boolean value indicating whether the report journal should be generated
+	 */
+	public boolean shouldGenerateReportJournal() {
+		return generateReportJournal;
+	}
+	
+	/**
+	 * Function to set a Boolean value indicating whether the report events should be appended to the binary report journal
+	 * (the HTML and Excel reports can be rendered from the journal after the run, in which case
+	 * they need not be generated during the run)
+	 * @param generateReportJournal Boolean value indicating whether the report journal should be generated
+	 */
+	public void setGenerateReportJournal(boolean generateReportJournal) {
+		this.generateReportJournal = generateReportJournal;
+	}
+	
+	/**
+	 * Function to get a Boolean value indicating whether the performance summary (the step latency statistics of the run)
+	 * should be generated
+	 * @return Boolean value indicating whether the performance summary should be generated
+	 */
+	public boolean shouldGeneratePerformanceSummary() {
+		return generatePerformanceSummary;
+	}
+	
+	/**
+	 * Function to set a Boolean value indicating whether the performance summary (the step latency statistics of the run)
+	 * should be generated (the performance summary is added to the HTML result summary,
+	 * and written into a JSON file within the report path; this setting must be the same for all the tests within the run)
+	 * @param generatePerformanceSummary Boolean value indicating whether the performance summary should be generated
+	 */
+	public void setGeneratePerformanceSummary(boolean generatePerformanceSummary) {
+		this.generatePerformanceSummary = generatePerformanceSummary;
+	}
+	
 	/**
 	 * Function to get a Boolean value indicating whether any screenshot taken must be linked to the corresponding step within the test log
 	 * @return Boolean value indicating whether any screenshot taken must be linked to the corresponding step within the test log
@@ -216,4 +293,154 @@ public class ReportSettings {
 			boolean consolidateScreenshotsInWordDoc) {
 		this.consolidateScreenshotsInWordDoc = consolidateScreenshotsInWordDoc;
 	}
+	
+	/**
+	 * Function to get a Boolean value indicating whether identical screenshots taken within a test must be saved only once
+	 * @return Boolean value indicating whether identical screenshots must be saved only once
+	 */
+	public boolean shouldDeduplicateScreenshots() {
+		return deduplicateScreenshots;
+	}
+	
+	/**
+	 * Function to set a Boolean value indicating whether identical screenshots taken within a test must be saved only once
+	 * (the steps which capture an identical screen are linked to the screenshot file saved earlier)
+	 * @param deduplicateScreenshots Boolean value indicating whether identical screenshots must be saved only once
+	 */
+	public void setDeduplicateScreenshots(boolean deduplicateScreenshots) {
+		this.deduplicateScreenshots = deduplicateScreenshots;
+	}
+	
+	/**
+	 * Function to get a Boolean value indicating whether the Excel test log must be kept in memory
+	 * until the test log is completed (instead of being written into the file after every update)
+	 * @return Boolean value indicating whether the Excel test log must be kept in memory
+	 */
+	public boolean shouldKeepExcelTestLogInMemory() {
+		return keepExcelTestLogInMemory;
+	}
+	
+	/**
+	 * Function to set a Boolean value indicating whether the Excel test log must be kept in memory
+	 * until the test log is completed (instead of being written into the file after every update)
+	 * @param keepExcelTestLogInMemory Boolean value indicating whether the Excel test log must be kept in memory
+	 * @see #setExcelTestLogCheckpointInterval(int)
+	 */
+	public void setKeepExcelTestLogInMemory(boolean keepExcelTestLogInMemory) {
+		this.keepExcelTestLogInMemory = keepExcelTestLogInMemory;
+	}
+	
+	/**
+	 * Function to get the number of test steps after which an Excel test log kept in memory is written into the file
+	 * @return The checkpoint interval (0 indicates that the test log is written only when it is completed)
+	 */
+	public int getExcelTestLogCheckpointInterval() {
+		return excelTestLogCheckpointInterval;
+	}
+	
+	/**
+	 * Function to set the number of test steps after which an Excel test log kept in memory is written into the file
+	 * (so that the test log is not lost entirely if the execution is aborted)
+	 * @param excelTestLogCheckpointInterval The checkpoint interval (0 indicates that the test log is written
+	 * only when it is completed)
+	 */
+	public void setExcelTestLogCheckpointInterval(int excelTestLogCheckpointInterval) {
+		if (excelTestLogCheckpointInterval < 0) {
+			String errorDescription = "The checkpoint interval cannot be negative!";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		this.excelTestLogCheckpointInterval = excelTestLogCheckpointInterval;
+	}
+	
+	/**
+	 * Function to get the {@link FlushPolicy} for the HTML reports
+	 * @return The {@link FlushPolicy} for the HTML reports
+	 */
+	public FlushPolicy getHtmlReportFlushPolicy() {
+		return htmlReportFlushPolicy;
+	}
+	
+	/**
+	 * Function to set the {@link FlushPolicy} for the HTML reports
+	 * (the HTML report files are held open until the reports are completed,
+	 * and the report contents are flushed into the files as per this policy)
+	 * @param htmlReportFlushPolicy The {@link FlushPolicy} for the HTML reports
+	 */
+	public void setHtmlReportFlushPolicy(FlushPolicy htmlReportFlushPolicy) {
+		if (htmlReportFlushPolicy == null) {
+			String errorDescription = "The flush policy cannot be null!";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		this.htmlReportFlushPolicy = htmlReportFlushPolicy;
+	}
+	
+	/**
+	 * Function to get the interval after which the HTML reports are flushed,
+	 * when the {@link FlushPolicy#TIME_BASED} policy is used
+	 * @return The flush interval (in milliseconds)
+	 */
+	public long getHtmlReportFlushInterval() {
+		return htmlReportFlushInterval;
+	}
+	
+	/**
+	 * Function to set the interval after which the HTML reports are flushed,
+	 * when the {@link FlushPolicy#TIME_BASED} policy is used
+	 * @param htmlReportFlushInterval The flush interval (in milliseconds)
+	 */
+	public void setHtmlReportFlushInterval(long htmlReportFlushInterval) {
+		if (htmlReportFlushInterval < 0) {
+			String errorDescription = "The flush interval cannot be negative!";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		this.htmlReportFlushInterval = htmlReportFlushInterval;
+	}
+	
+	/**
+	 * Function to get a Boolean value indicating whether the reports should be updated asynchronously
+	 * @return Boolean value indicating whether the reports should be updated asynchronously
+	 */
+	public boolean shouldUpdateReportsAsynchronously() {
+		return asyncReporting;
+	}
+	
+	/**
+	 * Function to set a Boolean value indicating whether the reports should be updated asynchronously
+	 * (each report sink is updated by a dedicated writer thread, which delivers the pending updates to the sink
+	 * in batches, so that the test execution does not wait for the report files to be written,
+	 * except when the footers are added)
+	 * @param asyncReporting Boolean value indicating whether the reports should be updated asynchronously
+	 */
+	public void setUpdateReportsAsynchronously(boolean asyncReporting) {
+		this.asyncReporting = asyncReporting;
+	}
+	
+	/**
+	 * Function to get the maximum number of pending updates per report sink, when the reports are updated asynchronously
+	 * @return The queue capacity
+	 */
+	public int getAsyncReportQueueCapacity() {
+		return asyncReportQueueCapacity;
+	}
+	
+	/**
+	 * Function to set the maximum number of pending updates per report sink, when the reports are updated asynchronously
+	 * (the test execution waits for the pending updates to be applied whenever this limit is reached)
+	 * @param asyncReportQueueCapacity The queue capacity
+	 */
+	public void setAsyncReportQueueCapacity(int asyncReportQueueCapacity) {
+		if (asyncReportQueueCapacity <= 0) {
+			String errorDescription = "The queue capacity must be positive!";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		this.asyncReportQueueCapacity = asyncReportQueueCapacity;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.autopia4j.framework.reporting;
+
+import java.util.List;
+
+import com.autopia4j.framework.reporting.event.ReportEvent;
+
+
+/**
+ * Interface representing a sink which consumes the {@link ReportEvent}s raised by the {@link Report}<br>
+ * The events are delivered in batches, in the order in which they were raised, so that the sink can
+ * amortize its I/O across all the events within a batch. New report outputs can be added by implementing
+ * this interface, and registering the sink using {@link Report#addReportSink(ReportSink)}
+ * @author vj
+ */
+public interface ReportSink {
+	/**
+	 * Function to consume the specified batch of report events
+	 * @param events The {@link ReportEvent}s to be consumed, in the order in which they were raised
+	 */
+	public void consume(List<ReportEvent> events);
+}
@@ -1,12 +1,30 @@
 package com.autopia4j.framework.reporting;
 
+import java.util.List;
+
 import com.autopia4j.framework.core.TestParameters;
+import com.autopia4j.framework.reporting.event.LatencyStatistics;
+import com.autopia4j.framework.reporting.event.ReportEvent;
 
 /**
- * Interface representing a type of report available with the framework
+ * Interface representing a type of report available with the framework<br>
+ * A report type is a {@link ReportSink}, which applies each {@link ReportEvent} it consumes
+ * by invoking the function of this interface corresponding to the type of the event
  * @author Cognizant
  */
-public interface ReportType {
+public interface ReportType extends ReportSink {
+	/**
+	 * Function to consume the specified batch of report events, by applying each event to this report type
+	 * (report types may override this function to amortize their I/O across all the events within the batch)
+	 * @param events The {@link ReportEvent}s to be consumed, in the order in which they were raised
+	 */
+	@Override
+	public default void consume(List<ReportEvent> events) {
+		for (ReportEvent event : events) {
+			ReportEventDispatcher.dispatch(event, this);
+		}
+	}
+	
 	/**
 	 * Function to initialize the test log
 	 */
@@ -62,6 +80,51 @@ public interface ReportType {
 								String stepDescription,	Status stepStatus,
 								Boolean shouldTakeScreenshot, String screenshotName);
 	
+	/**
+	 * Function to update the test log with the details of a particular test step, including its timing
+	 * (report types which do not report the timing need not override this function,
+	 * which ignores the timing by default)
+	 * @param stepNumber The current step number
+	 * @param stepName The test step name
+	 * @param stepDescription The description of what the test step does
+	 * @param stepStatus The {@link Status} of the test step
+	 * @param shouldTakeScreenshot Boolean variable indicating whether a screenshot was taken at the current step
+	 * @param screenshotName The filename of the screenshot file (in case of failed step)
+	 * @param stepDuration The time elapsed since the previous step was reported (or since the test started), in nanoseconds
+	 * (negative if not known)
+	 * @param elapsedTime The time elapsed since the test started, in nanoseconds (negative if not known)
+	 */
+	public default void updateTestLog(String stepNumber, String stepName,
+										String stepDescription, Status stepStatus,
+										Boolean shouldTakeScreenshot, String screenshotName,
+										long stepDuration, long elapsedTime) {
+		updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+										shouldTakeScreenshot, screenshotName);
+	}
+	
+	/**
+	 * Function to update the test log with the details of a particular test step, including its timing
+	 * and the time at which it was reported (report types which do not report the step time need not override
+	 * this function, which ignores the step time by default)
+	 * @param stepNumber The current step number
+	 * @param stepName The test step name
+	 * @param stepDescription The description of what the test step does
+	 * @param stepStatus The {@link Status} of the test step
+	 * @param shouldTakeScreenshot Boolean variable indicating whether a screenshot was taken at the current step
+	 * @param screenshotName The filename of the screenshot file (in case of failed step)
+	 * @param stepDuration The time elapsed since the previous step was reported (or since the test started), in nanoseconds
+	 * (negative if not known)
+	 * @param elapsedTime The time elapsed since the test started, in nanoseconds (negative if not known)
+	 * @param stepTime The wall-clock time at which the test step was reported, in milliseconds since the epoch
+	 */
+	public default void updateTestLog(String stepNumber, String stepName,
+										String stepDescription, Status stepStatus,
+										Boolean shouldTakeScreenshot, String screenshotName,
+										long stepDuration, long elapsedTime, long stepTime) {
+		updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+										shouldTakeScreenshot, screenshotName, stepDuration, elapsedTime);
+	}
+	
 	/**
 	 * Function to create a footer to close the test log
 	 * @param executionTime The time taken to execute the test case
@@ -110,6 +173,34 @@ public interface ReportType {
 	public void updateResultSummary(TestParameters testParameters, String testReportName,
 					 							String executionTime, String testStatus);
 	
+	/**
+	 * Function to update the results summary with the status of the test instance which was executed,
+	 * including its precise duration (report types which do not report the duration need not override
+	 * this function, which ignores the duration by default)
+	 * @param testParameters The {@link TestParameters} object containing the details of the test instance which was executed
+	 * @param testReportName The name of the test report file corresponding to the test instance
+	 * @param executionTime The time taken to execute the test instance
+	 * @param testStatus The execution status of the test instance
+	 * @param testDuration The time taken to execute the test instance, in nanoseconds (negative if not known)
+	 */
+	public default void updateResultSummary(TestParameters testParameters, String testReportName,
+												String executionTime, String testStatus,
+												long testDuration) {
+		updateResultSummary(testParameters, testReportName, executionTime, testStatus);
+	}
+	
+	/**
+	 * Function to add the performance summary (the step latency statistics of the run) to the results summary
+	 * (called just before the footer is created; report types which do not present the performance summary
+	 * need not override this function, which ignores it by default)
+	 * @param stepNameStatistics The {@link LatencyStatistics} of the test steps, grouped by step name
+	 * @param stepStatusStatistics The {@link LatencyStatistics} of the test steps, grouped by step status
+	 */
+	public default void addPerformanceSummary(List<LatencyStatistics> stepNameStatistics,
+												List<LatencyStatistics> stepStatusStatistics) {
+		// The performance summary is not presented by default
+	}
+	
 	/**
 	 * Function to create a footer to close the results summary
 	 * @param totalExecutionTime The total time taken to execute all the test cases
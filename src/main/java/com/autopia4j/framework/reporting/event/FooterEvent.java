@@ -0,0 +1,60 @@
+package com.autopia4j.framework.reporting.event;
+
+
+/**
+ * Class to represent the addition of the footer to a report log, which completes the report log
+ * @author vj
+ */
+public final class FooterEvent extends ReportEvent {
+	private final ReportLog reportLog;
+	private final String executionTime;
+	private final int nPassed;
+	private final int nFailed;
+	
+	
+	/**
+	 * Constructor to initialize the {@link FooterEvent}
+	 * @param reportLog The {@link ReportLog} to which the footer is to be added
+	 * @param executionTime The execution time (of the test, or of the entire run)
+	 * @param nPassed The number of steps (or tests) passed
+	 * @param nFailed The number of steps (or tests) failed
+	 */
+	public FooterEvent(ReportLog reportLog, String executionTime, int nPassed, int nFailed) {
+		this.reportLog = reportLog;
+		this.executionTime = executionTime;
+		this.nPassed = nPassed;
+		this.nFailed = nFailed;
+	}
+	
+	/**
+	 * Function to get the {@link ReportLog} to which the footer is to be added
+	 * @return The {@link ReportLog}
+	 */
+	public ReportLog getReportLog() {
+		return reportLog;
+	}
+	
+	/**
+	 * Function to get the execution time (of the test, or of the entire run)
+	 * @return The execution time
+	 */
+	public String getExecutionTime() {
+		return executionTime;
+	}
+	
+	/**
+	 * Function to get the number of steps (or tests) passed
+	 * @return The number of steps (or tests) passed
+	 */
+	public int getPassedCount() {
+		return nPassed;
+	}
+	
+	/**
+	 * Function to get the number of steps (or tests) failed
+	 * @return The number of steps (or tests) failed
+	 */
+	public int getFailedCount() {
+		return nFailed;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.autopia4j.framework.reporting.event;
+
+
+/**
+ * Class to represent the addition of a heading to a report log
+ * @author vj
+ */
+public final class HeadingEvent extends ReportEvent {
+	private final ReportLog reportLog;
+	private final String heading;
+	
+	
+	/**
+	 * Constructor to initialize the {@link HeadingEvent}
+	 * @param reportLog The {@link ReportLog} to which the heading is to be added
+	 * @param heading The heading to be added
+	 */
+	public HeadingEvent(ReportLog reportLog, String heading) {
+		this.reportLog = reportLog;
+		this.heading = heading;
+	}
+	
+	/**
+	 * Function to get the {@link ReportLog} to which the heading is to be added
+	 * @return The {@link ReportLog}
+	 */
+	public ReportLog getReportLog() {
+		return reportLog;
+	}
+	
+	/**
+	 * Function to get the heading to be added
+	 * @return The heading
+	 */
+	public String getHeading() {
+		return heading;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.autopia4j.framework.reporting.event;
+
+
+/**
+ * Class to represent the initialization of a report log
+ * @author vj
+ */
+public final class InitializationEvent extends ReportEvent {
+	private final ReportLog reportLog;
+	
+	
+	/**
+	 * Constructor to initialize the {@link InitializationEvent}
+	 * @param reportLog The {@link ReportLog} to be initialized
+	 */
+	public InitializationEvent(ReportLog reportLog) {
+		this.reportLog = reportLog;
+	}
+	
+	/**
+	 * Function to get the {@link ReportLog} to be initialized
+	 * @return The {@link ReportLog}
+	 */
+	public ReportLog getReportLog() {
+		return reportLog;
+	}
+}
\ No newline at end of file
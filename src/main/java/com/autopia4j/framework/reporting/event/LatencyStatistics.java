@@ -0,0 +1,82 @@
+package com.autopia4j.framework.reporting.event;
+
+
+/**
+ * Class to hold the latency statistics of a group of test steps (all the steps with a given name or status)
+ * @author vj
+ */
+public final class LatencyStatistics {
+	private final String name;
+	private final long count;
+	private final long p50;
+	private final long p90;
+	private final long p99;
+	private final long max;
+	
+	
+	/**
+	 * Constructor to initialize the {@link LatencyStatistics}
+	 * @param name The name of the group of test steps
+	 * @param count The number of test steps within the group
+	 * @param p50 The 50th percentile (median) of the step durations, in nanoseconds
+	 * @param p90 The 90th percentile of the step durations, in nanoseconds
+	 * @param p99 The 99th percentile of the step durations, in nanoseconds
+	 * @param max The maximum step duration, in nanoseconds
+	 */
+	public LatencyStatistics(String name, long count, long p50, long p90, long p99, long max) {
+		this.name = name;
+		this.count = count;
+		this.p50 = p50;
+		this.p90 = p90;
+		this.p99 = p99;
+		this.max = max;
+	}
+	
+	/**
+	 * Function to get the name of the group of test steps
+	 * @return The step name or status
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Function to get the number of test steps within the group
+	 * @return The step count
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Function to get the 50th percentile (median) of the step durations
+	 * @return The 50th percentile, in nanoseconds
+	 */
+	public long getP50() {
+		return p50;
+	}
+	
+	/**
+	 * Function to get the 90th percentile of the step durations
+	 * @return The 90th percentile, in nanoseconds
+	 */
+	public long getP90() {
+		return p90;
+	}
+	
+	/**
+	 * Function to get the 99th percentile of the step durations
+	 * @return The 99th percentile, in nanoseconds
+	 */
+	public long getP99() {
+		return p99;
+	}
+	
+	/**
+	 * Function to get the maximum step duration
+	 * @return The maximum, in nanoseconds
+	 */
+	public long getMax() {
+		return max;
+	}
+}
\ No newline at end of file
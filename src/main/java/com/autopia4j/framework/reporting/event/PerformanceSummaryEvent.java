@@ -0,0 +1,44 @@
+package com.autopia4j.framework.reporting.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Class to represent the addition of the performance summary (the step latency statistics of the run)
+ * to the result summary
+ * @author vj
+ */
+public final class PerformanceSummaryEvent extends ReportEvent {
+	private final List<LatencyStatistics> stepNameStatistics;
+	private final List<LatencyStatistics> stepStatusStatistics;
+	
+	
+	/**
+	 * Constructor to initialize the {@link PerformanceSummaryEvent}
+	 * @param stepNameStatistics The {@link LatencyStatistics} of the test steps, grouped by step name
+	 * @param stepStatusStatistics The {@link LatencyStatistics} of the test steps, grouped by step status
+	 */
+	public PerformanceSummaryEvent(List<LatencyStatistics> stepNameStatistics,
+									List<LatencyStatistics> stepStatusStatistics) {
+		this.stepNameStatistics = Collections.unmodifiableList(new ArrayList<>(stepNameStatistics));
+		this.stepStatusStatistics = Collections.unmodifiableList(new ArrayList<>(stepStatusStatistics));
+	}
+	
+	/**
+	 * Function to get the latency statistics of the test steps, grouped by step name
+	 * @return An unmodifiable list of {@link LatencyStatistics}
+	 */
+	public List<LatencyStatistics> getStepNameStatistics() {
+		return stepNameStatistics;
+	}
+	
+	/**
+	 * Function to get the latency statistics of the test steps, grouped by step status
+	 * @return An unmodifiable list of {@link LatencyStatistics}
+	 */
+	public List<LatencyStatistics> getStepStatusStatistics() {
+		return stepStatusStatistics;
+	}
+}
\ No newline at end of file
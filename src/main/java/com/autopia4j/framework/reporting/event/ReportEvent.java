@@ -0,0 +1,21 @@
+package com.autopia4j.framework.reporting.event;
+
+
+/**
+ * Class to represent an immutable event which updates the reports<br>
+ * The events are delivered in batches to the {@link com.autopia4j.framework.reporting.ReportSink}s,
+ * which handle each event as per its type
+ * @author vj
+ */
+public abstract class ReportEvent {
+	private final long timestamp = System.nanoTime();
+	
+	
+	/**
+	 * Function to get the monotonic time at which the event was raised
+	 * @return The timestamp (as per {@link System#nanoTime()}, and hence meaningful only within the same JVM)
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+}
\ No newline at end of file
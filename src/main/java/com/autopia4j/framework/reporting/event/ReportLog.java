@@ -0,0 +1,17 @@
+package com.autopia4j.framework.reporting.event;
+
+
+/**
+ * Enumeration to represent the report log which is updated by a {@link ReportEvent}
+ * @author vj
+ */
+public enum ReportLog {
+	/**
+	 * Indicates the test log, which contains the steps of a single test
+	 */
+	TEST_LOG,
+	/**
+	 * Indicates the result summary, which contains the results of all the tests in the run
+	 */
+	RESULT_SUMMARY;
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.autopia4j.framework.reporting.event;
+
+
+/**
+ * Class to represent the addition of a section (or a sub-section) to the test log
+ * @author vj
+ */
+public final class SectionEvent extends ReportEvent {
+	private final String section;
+	private final boolean isSubSection;
+	
+	
+	/**
+	 * Constructor to initialize the {@link SectionEvent}
+	 * @param section The section (or sub-section) to be added
+	 * @param isSubSection Boolean value indicating whether a sub-section is to be added
+	 */
+	public SectionEvent(String section, boolean isSubSection) {
+		this.section = section;
+		this.isSubSection = isSubSection;
+	}
+	
+	/**
+	 * Function to get the section (or sub-section) to be added
+	 * @return The section (or sub-section)
+	 */
+	public String getSection() {
+		return section;
+	}
+	
+	/**
+	 * Function to get a Boolean value indicating whether a sub-section is to be added
+	 * @return Boolean value indicating whether a sub-section is to be added
+	 */
+	public boolean isSubSection() {
+		return isSubSection;
+	}
+}
\ No newline at end of file
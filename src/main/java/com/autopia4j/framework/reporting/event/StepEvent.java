@@ -0,0 +1,141 @@
+package com.autopia4j.framework.reporting.event;
+
+import com.autopia4j.framework.reporting.Status;
+import com.autopia4j.framework.utils.Util;
+
+
+/**
+ * Class to represent the addition of a test step to the test log
+ * @author vj
+ */
+public final class StepEvent extends ReportEvent {
+	private final String stepNumber;
+	private final String stepName;
+	private final String stepDescription;
+	private final Status stepStatus;
+	private final boolean isScreenshotTaken;
+	private final String screenshotName;
+	private final long stepDuration;
+	private final long elapsedTime;
+	private final long stepTime;
+	
+	
+	/**
+	 * Constructor to initialize the {@link StepEvent}, with the current time (as per {@link Util#getClock()})
+	 * as the time at which the test step was reported
+	 * @param stepNumber The test step number
+	 * @param stepName The test step name
+	 * @param stepDescription The description of what the test step does
+	 * @param stepStatus The status of the test step
+	 * @param isScreenshotTaken Boolean value indicating whether a screenshot was taken at the test step
+	 * @param screenshotName The name of the screenshot file
+	 * @param stepDuration The time elapsed since the previous test step, in nanoseconds (negative if not known)
+	 * @param elapsedTime The time elapsed since the test started, in nanoseconds (negative if not known)
+	 */
+	public StepEvent(String stepNumber, String stepName, String stepDescription, Status stepStatus,
+						boolean isScreenshotTaken, String screenshotName,
+						long stepDuration, long elapsedTime) {
+		this(stepNumber, stepName, stepDescription, stepStatus, isScreenshotTaken, screenshotName,
+				stepDuration, elapsedTime, Util.getClock().millis());
+	}
+	
+	/**
+	 * Constructor to initialize the {@link StepEvent}
+	 * @param stepNumber The test step number
+	 * @param stepName The test step name
+	 * @param stepDescription The description of what the test step does
+	 * @param stepStatus The status of the test step
+	 * @param isScreenshotTaken Boolean value indicating whether a screenshot was taken at the test step
+	 * @param screenshotName The name of the screenshot file
+	 * @param stepDuration The time elapsed since the previous test step, in nanoseconds (negative if not known)
+	 * @param elapsedTime The time elapsed since the test started, in nanoseconds (negative if not known)
+	 * @param stepTime The wall-clock time at which the test step was reported, in milliseconds since the epoch
+	 */
+	public StepEvent(String stepNumber, String stepName, String stepDescription, Status stepStatus,
+						boolean isScreenshotTaken, String screenshotName,
+						long stepDuration, long elapsedTime, long stepTime) {
+		this.stepNumber = stepNumber;
+		this.stepName = stepName;
+		this.stepDescription = stepDescription;
+		this.stepStatus = stepStatus;
+		this.isScreenshotTaken = isScreenshotTaken;
+		this.screenshotName = screenshotName;
+		this.stepDuration = stepDuration;
+		this.elapsedTime = elapsedTime;
+		this.stepTime = stepTime;
+	}
+	
+	/**
+	 * Function to get the test step number
+	 * @return The test step number
+	 */
+	public String getStepNumber() {
+		return stepNumber;
+	}
+	
+	/**
+	 * Function to get the test step name
+	 * @return The test step name
+	 */
+	public String getStepName() {
+		return stepName;
+	}
+	
+	/**
+	 * Function to get the description of what the test step does
+	 * @return The test step description
+	 */
+	public String getStepDescription() {
+		return stepDescription;
+	}
+	
+	/**
+	 * Function to get the status of the test step
+	 * @return The test step {@link Status}
+	 */
+	public Status getStepStatus() {
+		return stepStatus;
+	}
+	
+	/**
+	 * Function to get a Boolean value indicating whether a screenshot was taken at the test step
+	 * @return Boolean value indicating whether a screenshot was taken at the test step
+	 */
+	public boolean isScreenshotTaken() {
+		return isScreenshotTaken;
+	}
+	
+	/**
+	 * Function to get the name of the screenshot file
+	 * @return The screenshot file name
+	 */
+	public String getScreenshotName() {
+		return screenshotName;
+	}
+	
+	/**
+	 * Function to get the time elapsed since the previous test step (or since the test started, for the first step)
+	 * @return The step duration in nanoseconds (negative if not known)
+	 */
+	public long getStepDuration() {
+		return stepDuration;
+	}
+	
+	/**
+	 * Function to get the time elapsed since the test started
+	 * @return The elapsed time in nanoseconds (negative if not known)
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+	
+	/**
+	 * Function to get the wall-clock time at which the test step was reported
+	 * (unlike the {@link #getTimestamp()}, this is meaningful even when the event is applied later,
+	 * or within another JVM)
+	 * @return The step time in milliseconds since the epoch
+	 */
+	public long getStepTime() {
+		return stepTime;
+	}
+}
\ No newline at end of file
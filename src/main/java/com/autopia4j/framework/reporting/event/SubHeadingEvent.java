@@ -0,0 +1,72 @@
+package com.autopia4j.framework.reporting.event;
+
+
+/**
+ * Class to represent the addition of a row of sub-headings (4 sub-headings per row) to a report log
+ * @author vj
+ */
+public final class SubHeadingEvent extends ReportEvent {
+	private final ReportLog reportLog;
+	private final String subHeading1;
+	private final String subHeading2;
+	private final String subHeading3;
+	private final String subHeading4;
+	
+	
+	/**
+	 * Constructor to initialize the {@link SubHeadingEvent}
+	 * @param reportLog The {@link ReportLog} to which the sub-headings are to be added
+	 * @param subHeading1 The first sub-heading to be added
+	 * @param subHeading2 The second sub-heading to be added
+	 * @param subHeading3 The third sub-heading to be added
+	 * @param subHeading4 The fourth sub-heading to be added
+	 */
+	public SubHeadingEvent(ReportLog reportLog, String subHeading1, String subHeading2,
+							String subHeading3, String subHeading4) {
+		this.reportLog = reportLog;
+		this.subHeading1 = subHeading1;
+		this.subHeading2 = subHeading2;
+		this.subHeading3 = subHeading3;
+		this.subHeading4 = subHeading4;
+	}
+	
+	/**
+	 * Function to get the {@link ReportLog} to which the sub-headings are to be added
+	 * @return The {@link ReportLog}
+	 */
+	public ReportLog getReportLog() {
+		return reportLog;
+	}
+	
+	/**
+	 * Function to get the first sub-heading to be added
+	 * @return The first sub-heading
+	 */
+	public String getSubHeading1() {
+		return subHeading1;
+	}
+	
+	/**
+	 * Function to get the second sub-heading to be added
+	 * @return The second sub-heading
+	 */
+	public String getSubHeading2() {
+		return subHeading2;
+	}
+	
+	/**
+	 * Function to get the third sub-heading to be added
+	 * @return The third sub-heading
+	 */
+	public String getSubHeading3() {
+		return subHeading3;
+	}
+	
+	/**
+	 * Function to get the fourth sub-heading to be added
+	 * @return The fourth sub-heading
+	 */
+	public String getSubHeading4() {
+		return subHeading4;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.autopia4j.framework.reporting.event;
+
+import com.autopia4j.framework.core.TestParameters;
+
+
+/**
+ * Class to represent the addition of the result of a test instance to the result summary
+ * @author vj
+ */
+public final class SummaryRowEvent extends ReportEvent {
+	private final String module;
+	private final String testcase;
+	private final String testInstance;
+	private final String testDescription;
+	private final String additionalDetails;
+	private final String testReportName;
+	private final String executionTime;
+	private final String testStatus;
+	private final long testDuration;
+	
+	
+	/**
+	 * Constructor to initialize the {@link SummaryRowEvent}
+	 * @param testParameters The {@link TestParameters} object containing the details of the test instance which was executed
+	 * (the details are copied, so that subsequent changes to the object do not affect the event)
+	 * @param testReportName The name of the test report file corresponding to the test instance
+	 * @param executionTime The time taken to execute the test instance
+	 * @param testStatus The Pass/Fail status of the test instance
+	 * @param testDuration The time taken to execute the test instance, in nanoseconds (negative if not known)
+	 */
+	public SummaryRowEvent(TestParameters testParameters, String testReportName,
+							String executionTime, String testStatus, long testDuration) {
+		this.module = testParameters.getCurrentModule();
+		this.testcase = testParameters.getCurrentTestcase();
+		this.testInstance = testParameters.getCurrentTestInstance();
+		this.testDescription = testParameters.getCurrentTestDescription();
+		this.additionalDetails = testParameters.getAdditionalDetails();
+		this.testReportName = testReportName;
+		this.executionTime = executionTime;
+		this.testStatus = testStatus;
+		this.testDuration = testDuration;
+	}
+	
+	/**
+	 * Function to get the details of the test instance which was executed
+	 * @return A new {@link TestParameters} object containing the details of the test instance
+	 */
+	public TestParameters getTestParameters() {
+		TestParameters testParameters = new TestParameters(module, testcase);
+		testParameters.setCurrentTestInstance(testInstance);
+		testParameters.setCurrentTestDescription(testDescription);
+		testParameters.setAdditionalDetails(additionalDetails);
+		return testParameters;
+	}
+	
+	/**
+	 * Function to get the name of the test report file corresponding to the test instance
+	 * @return The test report name
+	 */
+	public String getTestReportName() {
+		return testReportName;
+	}
+	
+	/**
+	 * Function to get the time taken to execute the test instance
+	 * @return The execution time
+	 */
+	public String getExecutionTime() {
+		return executionTime;
+	}
+	
+	/**
+	 * Function to get the Pass/Fail status of the test instance
+	 * @return The test status
+	 */
+	public String getTestStatus() {
+		return testStatus;
+	}
+	
+	/**
+	 * Function to get the precise time taken to execute the test instance
+	 * @return The test duration in nanoseconds (negative if not known)
+	 */
+	public long getTestDuration() {
+		return testDuration;
+	}
+}
\ No newline at end of file
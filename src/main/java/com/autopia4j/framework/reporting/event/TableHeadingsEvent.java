@@ -0,0 +1,27 @@
+package com.autopia4j.framework.reporting.event;
+
+
+/**
+ * Class to represent the addition of the overall table headings to a report log
+ * @author vj
+ */
+public final class TableHeadingsEvent extends ReportEvent {
+	private final ReportLog reportLog;
+	
+	
+	/**
+	 * Constructor to initialize the {@link TableHeadingsEvent}
+	 * @param reportLog The {@link ReportLog} to which the table headings are to be added
+	 */
+	public TableHeadingsEvent(ReportLog reportLog) {
+		this.reportLog = reportLog;
+	}
+	
+	/**
+	 * Function to get the {@link ReportLog} to which the table headings are to be added
+	 * @return The {@link ReportLog}
+	 */
+	public ReportLog getReportLog() {
+		return reportLog;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+/**
+ * Immutable events which update the reports of the autopia4j framework<br>
+ * The events are delivered in batches to the {@link com.autopia4j.framework.reporting.ReportSink}s
+ * @author vj
+ */
+package com.autopia4j.framework.reporting.event;
\ No newline at end of file
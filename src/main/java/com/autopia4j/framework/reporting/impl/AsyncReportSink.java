@@ -0,0 +1,237 @@
+package com.autopia4j.framework.reporting.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.reporting.ReportSink;
+import com.autopia4j.framework.reporting.event.ReportEvent;
+
+/**
+ * Class to deliver the report events to another {@link ReportSink} asynchronously<br>
+ * Each event is placed on a bounded lock-free ring buffer, and delivered to the underlying sink by a dedicated
+ * writer thread, in the order in which the events were raised. The writer thread delivers all the events
+ * pending at any point as a single batch, so that the sink amortizes its I/O when the test execution runs
+ * ahead of the reporting. When the ring buffer is full, the thread raising the event waits for the writer
+ * thread to catch up. Errors raised by the underlying sink are logged, and are thrown
+ * (as an {@link AutopiaException}) on the next call to {@link #flush()}
+ * @author vj
+ */
+public final class AsyncReportSink implements ReportSink {
+	private static final long BACK_OFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+	
+	private final Logger logger = LoggerFactory.getLogger(AsyncReportSink.class);
+	private final ReportSink reportSink;
+	private final BoundedRingBuffer<ReportEvent> ringBuffer;
+	private final int maxBatchSize;
+	
+	private volatile Thread writerThread;
+	private volatile boolean isWriterWaiting = false;
+	private volatile boolean isStopRequested = false;
+	private volatile Throwable failure;
+	
+	
+	/**
+	 * Constructor to initialize the asynchronous delivery to the specified {@link ReportSink}
+	 * @param reportSink The {@link ReportSink} to which the report events are to be delivered
+	 * @param queueCapacity The maximum number of pending report events (also the maximum batch size)
+	 */
+	public AsyncReportSink(ReportSink reportSink, int queueCapacity) {
+		this.reportSink = reportSink;
+		this.ringBuffer = new BoundedRingBuffer<>(queueCapacity);
+		this.maxBatchSize = queueCapacity;
+	}
+	
+	/**
+	 * Function to get the {@link ReportSink} to which the report events are delivered
+	 * @return The underlying {@link ReportSink}
+	 */
+	public ReportSink getReportSink() {
+		return reportSink;
+	}
+	
+	@Override
+	public void consume(List<ReportEvent> events) {
+		for (ReportEvent event : events) {
+			dispatch(event);
+		}
+	}
+	
+	private void dispatch(ReportEvent event) {
+		Thread currentWriterThread = writerThread;
+		if (currentWriterThread == null) {
+			currentWriterThread = startWriterThread();
+		}
+		
+		while (!ringBuffer.offer(event)) {
+			LockSupport.parkNanos(this, BACK_OFF_NANOS);	// Back-pressure: wait for the writer thread to catch up
+		}
+		
+		if (isWriterWaiting) {
+			LockSupport.unpark(currentWriterThread);
+		}
+	}
+	
+	private synchronized Thread startWriterThread() {
+		if (writerThread == null) {
+			isStopRequested = false;
+			
+			Thread newWriterThread = new Thread("autopia4j-report-writer-" +
+													reportSink.getClass().getSimpleName()) {
+				@Override
+				public void run() {
+					drainRingBuffer();
+				}
+			};
+			newWriterThread.setDaemon(true);
+			newWriterThread.start();
+			writerThread = newWriterThread;
+		}
+		
+		return writerThread;
+	}
+	
+	private void drainRingBuffer() {
+		List<ReportEvent> events = new ArrayList<>();
+		
+		while (!isStopRequested) {
+			ReportEvent event = ringBuffer.poll();
+			if (event == null) {
+				if (!events.isEmpty()) {
+					// Deliver the events pending so far, before waiting for any further events
+					events = deliver(events);
+					continue;
+				}
+				
+				isWriterWaiting = true;
+				event = ringBuffer.poll();	// Check again, since an event may have been dispatched in between
+				if (event == null) {
+					LockSupport.park(this);
+					isWriterWaiting = false;
+					continue;
+				}
+				isWriterWaiting = false;
+			}
+			
+			if (event instanceof ControlEvent) {
+				events = deliver(events);	// The events raised before the control event must be delivered first
+				((ControlEvent) event).run();
+			} else {
+				events.add(event);
+				if (events.size() >= maxBatchSize) {
+					events = deliver(events);
+				}
+			}
+		}
+	}
+	
+	private List<ReportEvent> deliver(List<ReportEvent> events) {
+		if (events.isEmpty()) {
+			return events;
+		}
+		
+		try {
+			reportSink.consume(events);
+		} catch (RuntimeException | Error e) {	// The writer thread must keep running, so that flush() does not hang
+			logger.error("Error while updating the report asynchronously", e);
+			if (failure == null) {
+				failure = e;
+			}
+		}
+		
+		return new ArrayList<>();	// The delivered batch is handed over to the sink
+	}
+	
+	/**
+	 * Function to wait until all the report events raised so far have been delivered
+	 * @throws AutopiaException If the delivery of any of the report events failed
+	 */
+	public void flush() {
+		if (writerThread == null) {
+			// No report events have been raised since the writer thread was stopped (or never started),
+			// so there is nothing to wait for, and the writer thread must not be started again
+			throwPendingFailure();
+			return;
+		}
+		
+		final CountDownLatch barrier = new CountDownLatch(1);
+		dispatch(new ControlEvent() {
+			@Override
+			void run() {
+				barrier.countDown();
+			}
+		});
+		
+		try {
+			barrier.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			String errorDescription = "Interrupted while waiting for the report updates to be applied";
+			logger.error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		throwPendingFailure();
+	}
+	
+	private void throwPendingFailure() {
+		Throwable currentFailure = failure;
+		if (currentFailure != null) {
+			failure = null;
+			if (currentFailure instanceof AutopiaException) {
+				throw (AutopiaException) currentFailure;
+			}
+			throw new AutopiaException("Error while updating the report asynchronously: " +
+																currentFailure.getMessage());
+		}
+	}
+	
+	/**
+	 * Function to deliver all the pending report events, and stop the writer thread
+	 * (the writer thread is started again only if any further report events are raised,
+	 * and not by a call to {@link #flush()}).
+	 * This function must not be called while other threads are raising report events
+	 * @throws AutopiaException If the delivery of any of the report events failed
+	 */
+	public void close() {
+		synchronized (this) {
+			final Thread currentWriterThread = writerThread;
+			if (currentWriterThread == null) {
+				return;
+			}
+			
+			dispatch(new ControlEvent() {
+				@Override
+				void run() {
+					isStopRequested = true;
+				}
+			});
+			
+			try {
+				currentWriterThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				String errorDescription = "Interrupted while waiting for the report writer thread to stop";
+				logger.error(errorDescription, e);
+				throw new AutopiaException(errorDescription);
+			}
+			writerThread = null;
+		}
+		
+		throwPendingFailure();
+	}
+	
+	
+	/**
+	 * Class to represent an event which controls the writer thread, and is never delivered to the sink
+	 */
+	private abstract static class ControlEvent extends ReportEvent {
+		abstract void run();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.autopia4j.framework.reporting.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Class to implement a bounded, lock-free, multi-producer multi-consumer FIFO queue over a ring buffer<br>
+ * Each slot carries a sequence number, which tells producers whether the slot is free for the current lap
+ * and consumers whether it has been filled, so that producers and consumers contend only on their own
+ * position counters (as in Dmitry Vyukov's bounded MPMC queue)
+ * @param <E> The type of the elements held in the queue
+ * @author vj
+ */
+final class BoundedRingBuffer<E> {
+	private final int mask;
+	private final AtomicReferenceArray<E> elements;
+	private final AtomicLongArray sequences;
+	private final AtomicLong enqueuePosition = new AtomicLong();
+	private final AtomicLong dequeuePosition = new AtomicLong();
+	
+	
+	/**
+	 * Constructor to initialize the ring buffer
+	 * @param capacity The minimum capacity of the ring buffer (rounded up to the next power of 2)
+	 */
+	BoundedRingBuffer(int capacity) {
+		int size = 2;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		
+		mask = size - 1;
+		elements = new AtomicReferenceArray<>(size);
+		sequences = new AtomicLongArray(size);
+		for (int index = 0; index < size; index++) {
+			sequences.set(index, index);
+		}
+	}
+	
+	/**
+	 * Function to add the specified element at the tail of the queue, if the queue is not full
+	 * @param element The element to be added (must not be null)
+	 * @return Boolean value indicating whether the element was added
+	 */
+	boolean offer(E element) {
+		long position = enqueuePosition.get();
+		while (true) {
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - position;
+			
+			if (difference == 0) {
+				if (enqueuePosition.compareAndSet(position, position + 1)) {
+					elements.set(index, element);
+					sequences.set(index, position + 1);	// Publish the element to the consumers
+					return true;
+				}
+				position = enqueuePosition.get();
+			} else if (difference < 0) {
+				return false;	// The slot has not been consumed in the previous lap, so the queue is full
+			} else {
+				position = enqueuePosition.get();	// Another producer has claimed the slot
+			}
+		}
+	}
+	
+	/**
+	 * Function to remove the element at the head of the queue
+	 * @return The element removed, or null if the queue is empty
+	 */
+	E poll() {
+		long position = dequeuePosition.get();
+		while (true) {
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - (position + 1);
+			
+			if (difference == 0) {
+				if (dequeuePosition.compareAndSet(position, position + 1)) {
+					E element = elements.get(index);
+					elements.set(index, null);
+					sequences.set(index, position + mask + 1);	// Free the slot for the next lap
+					return element;
+				}
+				position = dequeuePosition.get();
+			} else if (difference < 0) {
+				return null;	// The slot has not been filled yet, so the queue is empty
+			} else {
+				position = dequeuePosition.get();	// Another consumer has claimed the slot
+			}
+		}
+	}
+}
\ No newline at end of file
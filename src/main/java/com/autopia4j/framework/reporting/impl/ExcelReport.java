@@ -1,12 +1,18 @@
 package com.autopia4j.framework.reporting.impl;
 
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
 import com.autopia4j.framework.core.AutopiaException;
 import com.autopia4j.framework.core.TestParameters;
 import com.autopia4j.framework.reporting.ReportSettings;
 import com.autopia4j.framework.reporting.ReportTheme;
 import com.autopia4j.framework.reporting.ReportType;
 import com.autopia4j.framework.reporting.Status;
+import com.autopia4j.framework.reporting.event.ReportEvent;
 import com.autopia4j.framework.utils.ExcelCellFormatting;
+import com.autopia4j.framework.utils.ExcelColumnWidthTracker;
 import com.autopia4j.framework.utils.ExcelDataAccess;
 import com.autopia4j.framework.utils.Util;
 
@@ -26,6 +32,8 @@ public class ExcelReport implements ReportType {
 	private static final String STEP_DESCRIPTION = "Description";
 	private static final String STATUS = "Status";
 	private static final String STEP_TIME = "Step_Time";
+	private static final String STEP_DURATION = "Step_Duration_s";
+	private static final String ELAPSED_TIME = "Elapsed_Time_s";
 	
 	private static final String MODULE = "Module";
 	private static final String TEST_CASE = "Test_Case";
@@ -34,9 +42,24 @@ public class ExcelReport implements ReportType {
 	private static final String ADDITIONAL_DETAILS = "Additional_Details";
 	private static final String EXECUTION_TIME = "Execution_Time";
 	private static final String TEST_STATUS = "Test_Status";
+	private static final String TEST_DURATION = "Duration_s";
+	
+	private static final String[] TEST_LOG_COLUMNS =
+		{STEP_NO, STEP_NAME, STEP_DESCRIPTION, STATUS, STEP_TIME, STEP_DURATION, ELAPSED_TIME};
+	private static final String[] RESULT_SUMMARY_COLUMNS =
+		{MODULE, TEST_CASE, TEST_INSTANCE, TEST_DESCRIPTION,
+			ADDITIONAL_DETAILS, EXECUTION_TIME, TEST_STATUS, TEST_DURATION};
 	
 	private ExcelDataAccess testLogAccess;
 	private ExcelDataAccess resultSummaryAccess;
+	private ExcelDataAccess.Batch testLogBatch;
+	private int nStepsSinceCheckpoint = 0;
+	
+	// The column widths are tracked as the values are written, and applied when the reports are wrapped up
+	private ExcelColumnWidthTracker testLogColumnWidths;
+	private ExcelColumnWidthTracker testLogCoverPageColumnWidths;
+	private ExcelColumnWidthTracker resultSummaryColumnWidths;
+	private ExcelColumnWidthTracker resultSummaryCoverPageColumnWidths;
 	
 	private ReportSettings reportSettings;
 	private ReportTheme reportTheme;
@@ -67,17 +90,51 @@ public class ExcelReport implements ReportType {
 	}
 	
 	
+	@Override
+	public void consume(List<ReportEvent> events) {
+		// Each workbook is written into its file only once per batch of events.
+		// The test log kept in memory is already within a batch, which is committed at the checkpoints
+		ExcelDataAccess.Batch testLogEventsBatch =
+					(testLogBatch == null)? testLogAccess.beginBatch() : null;
+		try {
+			ExcelDataAccess.Batch resultSummaryEventsBatch = resultSummaryAccess.beginBatch();
+			try {
+				ReportType.super.consume(events);
+			} finally {
+				resultSummaryEventsBatch.commit();
+			}
+		} finally {
+			if (testLogEventsBatch != null) {
+				testLogEventsBatch.commit();
+			}
+		}
+	}
+	
+	
 	/* TEST LOG FUNCTIONS */
 	
 	@Override
 	public void initializeTestLog() {
-		testLogAccess.createWorkbook();
-		testLogAccess.addSheet(COVER_PAGE);
-		testLogAccess.addSheet(TEST_LOG);
+		ExcelDataAccess.Batch batch = testLogAccess.beginBatch();
+		try {
+			testLogAccess.createWorkbook();
+			testLogAccess.addSheet(COVER_PAGE);
+			testLogAccess.addSheet(TEST_LOG);
+			
+			initializeTestLogColorPalette();
+			
+			testLogAccess.setRowSumsBelow(false);
+		} finally {
+			batch.commit();
+		}
 		
-		initializeTestLogColorPalette();
+		testLogColumnWidths = new ExcelColumnWidthTracker();
+		testLogCoverPageColumnWidths = new ExcelColumnWidthTracker();
 		
-		testLogAccess.setRowSumsBelow(false);
+		if (reportSettings.shouldKeepExcelTestLogInMemory()) {
+			// The test log file exists by now, and will be written again only at checkpoints and at the footer
+			testLogBatch = testLogAccess.beginBatch();
+		}
 	}
 	
 	private void initializeTestLogColorPalette() {
@@ -96,151 +153,212 @@ public class ExcelReport implements ReportType {
 	
 	@Override
 	public void addTestLogHeading(String heading) {
-		testLogAccess.setDatasheetName(COVER_PAGE);
-		int rowNum = testLogAccess.getLastRowNum();
-		if (rowNum != 0) {
-			rowNum = testLogAccess.addRow();
+		ExcelDataAccess.Batch batch = testLogAccess.beginBatch();
+		try {
+			testLogAccess.setDatasheetName(COVER_PAGE);
+			int rowNum = testLogAccess.getLastRowNum();
+			if (rowNum != 0) {
+				rowNum = testLogAccess.addRow();
+			}
+			
+			cellFormatting.setFontName("Copperplate Gothic Bold");
+			cellFormatting.setFontSize((short) 12);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(true);
+			cellFormatting.setBackColorIndex((short) 0x8);
+			cellFormatting.setForeColorIndex((short) 0x9);
+			
+			testLogAccess.setValue(rowNum, 0, heading, cellFormatting);
+			testLogAccess.mergeCells(rowNum, rowNum, 0, 4);
+		} finally {
+			batch.commit();
 		}
-		
-		cellFormatting.setFontName("Copperplate Gothic Bold");
-		cellFormatting.setFontSize((short) 12);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(true);
-		cellFormatting.setBackColorIndex((short) 0x8);
-		cellFormatting.setForeColorIndex((short) 0x9);
-		
-		testLogAccess.setValue(rowNum, 0, heading, cellFormatting);
-		testLogAccess.mergeCells(rowNum, rowNum, 0, 4);
 	}
 	
 	@Override
 	public void addTestLogSubHeading(String subHeading1, String subHeading2,
 										String subHeading3, String subHeading4) {
-		testLogAccess.setDatasheetName(COVER_PAGE);
-		int rowNum = testLogAccess.addRow();
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(false);
-		cellFormatting.setBackColorIndex((short) 0x9);
-		cellFormatting.setForeColorIndex((short) 0x8);
-		
-		testLogAccess.setValue(rowNum, 0, subHeading1, cellFormatting);
-		testLogAccess.setValue(rowNum, 1, subHeading2, cellFormatting);
-		testLogAccess.setValue(rowNum, 2, "", cellFormatting);
-		testLogAccess.setValue(rowNum, 3, subHeading3, cellFormatting);
-		testLogAccess.setValue(rowNum, 4, subHeading4, cellFormatting);
+		ExcelDataAccess.Batch batch = testLogAccess.beginBatch();
+		try {
+			testLogAccess.setDatasheetName(COVER_PAGE);
+			int rowNum = testLogAccess.addRow();
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(false);
+			cellFormatting.setBackColorIndex((short) 0x9);
+			cellFormatting.setForeColorIndex((short) 0x8);
+			
+			setValue(testLogAccess, testLogCoverPageColumnWidths, rowNum, 0, subHeading1);
+			setValue(testLogAccess, testLogCoverPageColumnWidths, rowNum, 1, subHeading2);
+			setValue(testLogAccess, testLogCoverPageColumnWidths, rowNum, 2, "");
+			setValue(testLogAccess, testLogCoverPageColumnWidths, rowNum, 3, subHeading3);
+			setValue(testLogAccess, testLogCoverPageColumnWidths, rowNum, 4, subHeading4);
+		} finally {
+			batch.commit();
+		}
 	}
 	
 	@Override
 	public void addTestLogTableHeadings() {
-		testLogAccess.setDatasheetName(TEST_LOG);
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(true);
-		cellFormatting.setBackColorIndex((short) 0x8);
-		cellFormatting.setForeColorIndex((short) 0x9);
-		
-		testLogAccess.addColumn(STEP_NO, cellFormatting);
-		testLogAccess.addColumn(STEP_NAME, cellFormatting);
-		testLogAccess.addColumn(STEP_DESCRIPTION, cellFormatting);
-		testLogAccess.addColumn(STATUS, cellFormatting);
-		testLogAccess.addColumn(STEP_TIME, cellFormatting);
+		ExcelDataAccess.Batch batch = testLogAccess.beginBatch();
+		try {
+			testLogAccess.setDatasheetName(TEST_LOG);
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(true);
+			cellFormatting.setBackColorIndex((short) 0x8);
+			cellFormatting.setForeColorIndex((short) 0x9);
+			
+			for (int columnNum = 0; columnNum < TEST_LOG_COLUMNS.length; columnNum++) {
+				testLogAccess.addColumn(TEST_LOG_COLUMNS[columnNum], cellFormatting);
+				testLogColumnWidths.trackValue(columnNum, TEST_LOG_COLUMNS[columnNum], cellFormatting);
+			}
+		} finally {
+			batch.commit();
+		}
 	}
 	
 	@Override
 	public void addTestLogSection(String section) {
-		testLogAccess.setDatasheetName(TEST_LOG);
-		int rowNum = testLogAccess.addRow();
-		
-		if (currentSubSectionRowNum != 0) {
-			// Group (outline) previous sub-section rows
-			testLogAccess.groupRows(currentSubSectionRowNum, rowNum - 1);
-		}
-		
-		if (currentSectionRowNum != 0) {
-			// Group (outline) the previous section rows
-			testLogAccess.groupRows(currentSectionRowNum, rowNum - 1);
+		ExcelDataAccess.Batch batch = testLogAccess.beginBatch();
+		try {
+			testLogAccess.setDatasheetName(TEST_LOG);
+			int rowNum = testLogAccess.addRow();
+			
+			if (currentSubSectionRowNum != 0) {
+				// Group (outline) previous sub-section rows
+				testLogAccess.groupRows(currentSubSectionRowNum, rowNum - 1);
+			}
+			
+			if (currentSectionRowNum != 0) {
+				// Group (outline) the previous section rows
+				testLogAccess.groupRows(currentSectionRowNum, rowNum - 1);
+			}
+			
+			currentSectionRowNum = rowNum + 1;
+			currentSubSectionRowNum = 0;
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(false);
+			cellFormatting.setBackColorIndex((short) 0xA);
+			cellFormatting.setForeColorIndex((short) 0xB);
+			
+			testLogAccess.setValue(rowNum, 0, section, cellFormatting);
+			testLogAccess.mergeCells(rowNum, rowNum, 0, TEST_LOG_COLUMNS.length - 1);
+		} finally {
+			batch.commit();
 		}
-		
-		currentSectionRowNum = rowNum + 1;
-		currentSubSectionRowNum = 0;
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(false);
-		cellFormatting.setBackColorIndex((short) 0xA);
-		cellFormatting.setForeColorIndex((short) 0xB);
-		
-		testLogAccess.setValue(rowNum, 0, section, cellFormatting);
-		testLogAccess.mergeCells(rowNum, rowNum, 0, 4);
 	}
 	
 	@Override
 	public void addTestLogSubSection(String subSection) {
-		testLogAccess.setDatasheetName(TEST_LOG);
-		int rowNum = testLogAccess.addRow();
-		
-		if (currentSubSectionRowNum != 0) {
-			// Group (outline) previous sub-section rows
-			testLogAccess.groupRows(currentSubSectionRowNum, rowNum - 1);	
+		ExcelDataAccess.Batch batch = testLogAccess.beginBatch();
+		try {
+			testLogAccess.setDatasheetName(TEST_LOG);
+			int rowNum = testLogAccess.addRow();
+			
+			if (currentSubSectionRowNum != 0) {
+				// Group (outline) previous sub-section rows
+				testLogAccess.groupRows(currentSubSectionRowNum, rowNum - 1);	
+			}
+			
+			currentSubSectionRowNum = rowNum + 1;
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(false);
+			cellFormatting.setBackColorIndex((short) 0x9);
+			cellFormatting.setForeColorIndex((short) 0x8);
+			
+			testLogAccess.setValue(rowNum, 0, " " + subSection, cellFormatting);
+			testLogAccess.mergeCells(rowNum, rowNum, 0, TEST_LOG_COLUMNS.length - 1);
+		} finally {
+			batch.commit();
 		}
-		
-		currentSubSectionRowNum = rowNum + 1;
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(false);
-		cellFormatting.setBackColorIndex((short) 0x9);
-		cellFormatting.setForeColorIndex((short) 0x8);
-		
-		testLogAccess.setValue(rowNum, 0, " " + subSection, cellFormatting);
-		testLogAccess.mergeCells(rowNum, rowNum, 0, 4);
 	}
 	
 	@Override
 	public void updateTestLog(String stepNumber, String stepName,
 								String stepDescription, Status stepStatus,
 								Boolean shouldTakeScreenshot, String screenShotName) {
-		testLogAccess.setDatasheetName(TEST_LOG);
-		int rowNum = testLogAccess.addRow();
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBackColorIndex((short) 0xC);
-		
-		processStatusColumn(stepStatus);
-		
-		cellFormatting.setCentered(true);
-		cellFormatting.setBold(true);
-		int columnNum = testLogAccess.getColumnNum(STATUS, 0);
-		testLogAccess.setValue(rowNum, columnNum, stepStatus.toString(), cellFormatting);
-		
-		cellFormatting.setForeColorIndex((short) 0xD);
-		cellFormatting.setBold(false);
-		testLogAccess.setValue(rowNum, STEP_NO, stepNumber, cellFormatting);
-		testLogAccess.setValue(rowNum, STEP_TIME, Util.getCurrentFormattedTime(reportSettings.getDateFormatString()), cellFormatting);
-		
-		cellFormatting.setCentered(false);
-		testLogAccess.setValue(rowNum, STEP_NAME, stepName, cellFormatting);
-		
-		if (shouldTakeScreenshot) {
-			if (reportSettings.shouldLinkScreenshotsToTestLog()) {
-				testLogAccess.setHyperlink(rowNum, columnNum, "..\\Screenshots\\" + screenShotName);
-				
-				testLogAccess.setValue(rowNum, STEP_DESCRIPTION, stepDescription, cellFormatting);
+		updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+						shouldTakeScreenshot, screenShotName, -1, -1);
+	}
+	
+	@Override
+	public void updateTestLog(String stepNumber, String stepName,
+								String stepDescription, Status stepStatus,
+								Boolean shouldTakeScreenshot, String screenShotName,
+								long stepDuration, long elapsedTime) {
+		updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+						shouldTakeScreenshot, screenShotName, stepDuration, elapsedTime,
+						Util.getClock().millis());
+	}
+	
+	@Override
+	public void updateTestLog(String stepNumber, String stepName,
+								String stepDescription, Status stepStatus,
+								Boolean shouldTakeScreenshot, String screenShotName,
+								long stepDuration, long elapsedTime, long stepTime) {
+		ExcelDataAccess.Batch batch = testLogAccess.beginBatch();
+		try {
+			testLogAccess.setDatasheetName(TEST_LOG);
+			int rowNum = testLogAccess.addRow();
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBackColorIndex((short) 0xC);
+			
+			processStatusColumn(stepStatus);
+			
+			cellFormatting.setCentered(true);
+			cellFormatting.setBold(true);
+			int columnNum = testLogAccess.getColumnNum(STATUS, 0);
+			setValue(testLogAccess, testLogColumnWidths, rowNum, columnNum, stepStatus.toString());
+			
+			cellFormatting.setForeColorIndex((short) 0xD);
+			cellFormatting.setBold(false);
+			setTestLogValue(rowNum, STEP_NO, stepNumber);
+			setTestLogValue(rowNum, STEP_TIME, Util.getFormattedTime(new Date(stepTime), reportSettings.getDateFormatString()));
+			setTestLogDuration(rowNum, STEP_DURATION, stepDuration);
+			setTestLogDuration(rowNum, ELAPSED_TIME, elapsedTime);
+			
+			cellFormatting.setCentered(false);
+			setTestLogValue(rowNum, STEP_NAME, stepName);
+			
+			if (shouldTakeScreenshot) {
+				if (reportSettings.shouldLinkScreenshotsToTestLog()) {
+					testLogAccess.setHyperlink(rowNum, columnNum, "..\\Screenshots\\" + screenShotName);
+					
+					setTestLogValue(rowNum, STEP_DESCRIPTION, stepDescription);
+				} else {
+					setTestLogValue(rowNum, STEP_DESCRIPTION,
+										stepDescription + " (Refer screenshot @ " + screenShotName + ")");
+				}
 			} else {
-				testLogAccess.setValue(rowNum, STEP_DESCRIPTION,
-										stepDescription + " (Refer screenshot @ " + screenShotName + ")",
-										cellFormatting);
+				setTestLogValue(rowNum, STEP_DESCRIPTION, stepDescription);
 			}
-		} else {
-			testLogAccess.setValue(rowNum, STEP_DESCRIPTION, stepDescription, cellFormatting);
+		} finally {
+			batch.commit();
+		}
+		
+		checkpointTestLog();
+	}
+	
+	private void checkpointTestLog() {
+		int checkpointInterval = reportSettings.getExcelTestLogCheckpointInterval();
+		if (testLogBatch != null && checkpointInterval > 0 &&
+				++nStepsSinceCheckpoint >= checkpointInterval) {
+			testLogBatch.commit();
+			testLogBatch = testLogAccess.beginBatch();
+			nStepsSinceCheckpoint = 0;
 		}
 	}
 	
@@ -270,64 +388,109 @@ public class ExcelReport implements ReportType {
 	
 	@Override
 	public void addTestLogFooter(String executionTime, int nStepsPassed, int nStepsFailed) {
-		testLogAccess.setDatasheetName(TEST_LOG);
-		int rowNum = testLogAccess.addRow();
-		
-		if (currentSubSectionRowNum != 0) {
-			// Group (outline) the previous sub-section rows
-			testLogAccess.groupRows(currentSubSectionRowNum, rowNum - 1);
+		ExcelDataAccess.Batch batch = testLogAccess.beginBatch();
+		try {
+			testLogAccess.setDatasheetName(TEST_LOG);
+			int rowNum = testLogAccess.addRow();
+			
+			if (currentSubSectionRowNum != 0) {
+				// Group (outline) the previous sub-section rows
+				testLogAccess.groupRows(currentSubSectionRowNum, rowNum - 1);
+			}
+			
+			if (currentSectionRowNum != 0) {
+				// Group (outline) the previous section rows
+				testLogAccess.groupRows(currentSectionRowNum, rowNum - 1);
+			}
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(true);
+			cellFormatting.setBackColorIndex((short) 0x8);
+			cellFormatting.setForeColorIndex((short) 0x9);
+			
+			testLogAccess.setValue(rowNum, 0, "Execution Duration: " + executionTime, cellFormatting);
+			testLogAccess.mergeCells(rowNum, rowNum, 0, TEST_LOG_COLUMNS.length - 1);
+			
+			rowNum = testLogAccess.addRow();
+			cellFormatting.setCentered(false);
+			cellFormatting.setBackColorIndex((short) 0x9);
+			
+			cellFormatting.setForeColorIndex((short) 0xE);
+			setTestLogValue(rowNum, STEP_NO, "Steps passed");
+			setTestLogValue(rowNum, STEP_NAME, ": " + nStepsPassed);
+			cellFormatting.setForeColorIndex((short) 0x8);
+			setTestLogValue(rowNum, STEP_DESCRIPTION, "");
+			cellFormatting.setForeColorIndex((short) 0xF);
+			setTestLogValue(rowNum, STATUS, "Steps failed");
+			setTestLogValue(rowNum, STEP_TIME, ": " + nStepsFailed);
+			cellFormatting.setForeColorIndex((short) 0x8);
+			setTestLogValue(rowNum, STEP_DURATION, "");
+			setTestLogValue(rowNum, ELAPSED_TIME, "");
+			
+			wrapUpTestLog();
+		} finally {
+			batch.commit();
 		}
 		
-		if (currentSectionRowNum != 0) {
-			// Group (outline) the previous section rows
-			testLogAccess.groupRows(currentSectionRowNum, rowNum - 1);
+		if (testLogBatch != null) {
+			testLogBatch.commit();
+			testLogBatch = null;
 		}
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(true);
-		cellFormatting.setBackColorIndex((short) 0x8);
-		cellFormatting.setForeColorIndex((short) 0x9);
-		
-		testLogAccess.setValue(rowNum, 0, "Execution Duration: " + executionTime, cellFormatting);
-		testLogAccess.mergeCells(rowNum, rowNum, 0, 4);
-		
-		rowNum = testLogAccess.addRow();
-		cellFormatting.setCentered(false);
-		cellFormatting.setBackColorIndex((short) 0x9);
-		
-		cellFormatting.setForeColorIndex((short) 0xE);
-		testLogAccess.setValue(rowNum, STEP_NO, "Steps passed", cellFormatting);
-		testLogAccess.setValue(rowNum, STEP_NAME, ": " + nStepsPassed, cellFormatting);
-		cellFormatting.setForeColorIndex((short) 0x8);
-		testLogAccess.setValue(rowNum, STEP_DESCRIPTION, "", cellFormatting);
-		cellFormatting.setForeColorIndex((short) 0xF);
-		testLogAccess.setValue(rowNum, STATUS, "Steps failed", cellFormatting);
-		testLogAccess.setValue(rowNum, STEP_TIME, ": " + nStepsFailed, cellFormatting);
-		
-		wrapUpTestLog();
 	}
 	
 	private void wrapUpTestLog() {
-		testLogAccess.autoFitContents(0, 4);
-		testLogAccess.addOuterBorder(0, 4);
+		testLogAccess.setColumnWidths(testLogColumnWidths);
+		testLogAccess.addOuterBorder(0, TEST_LOG_COLUMNS.length - 1);
 		
 		testLogAccess.setDatasheetName(COVER_PAGE);
-		testLogAccess.autoFitContents(0, 4);
+		testLogAccess.setColumnWidths(testLogCoverPageColumnWidths);
 		testLogAccess.addOuterBorder(0, 4);
 	}
 	
+	private void setTestLogValue(int rowNum, String columnHeader, String value) {
+		testLogAccess.setValue(rowNum, columnHeader, value, cellFormatting);
+		testLogColumnWidths.trackValue(Arrays.asList(TEST_LOG_COLUMNS).indexOf(columnHeader),
+											value, cellFormatting);
+	}
+	
+	private void setTestLogDuration(int rowNum, String columnHeader, long duration) {
+		if (duration < 0) {
+			setTestLogValue(rowNum, columnHeader, "");	// The duration is not known
+			return;
+		}
+		
+		double durationInSeconds = Util.getDurationInSeconds(duration);
+		testLogAccess.setValue(rowNum, columnHeader, durationInSeconds, cellFormatting);
+		testLogColumnWidths.trackValue(Arrays.asList(TEST_LOG_COLUMNS).indexOf(columnHeader),
+											Double.toString(durationInSeconds), cellFormatting);
+	}
+	
+	private void setValue(ExcelDataAccess excelDataAccess, ExcelColumnWidthTracker columnWidthTracker,
+							int rowNum, int columnNum, String value) {
+		excelDataAccess.setValue(rowNum, columnNum, value, cellFormatting);
+		columnWidthTracker.trackValue(columnNum, value, cellFormatting);
+	}
+	
 	
 	/* RESULT SUMMARY FUNCTIONS */
 	
 	@Override
 	public void initializeResultSummary() {
-		resultSummaryAccess.createWorkbook();
-		resultSummaryAccess.addSheet(COVER_PAGE);
-		resultSummaryAccess.addSheet(RESULT_SUMMARY);
+		ExcelDataAccess.Batch batch = resultSummaryAccess.beginBatch();
+		try {
+			resultSummaryAccess.createWorkbook();
+			resultSummaryAccess.addSheet(COVER_PAGE);
+			resultSummaryAccess.addSheet(RESULT_SUMMARY);
+			
+			initializeResultSummaryColorPalette();
+		} finally {
+			batch.commit();
+		}
 		
-		initializeResultSummaryColorPalette();
+		resultSummaryColumnWidths = new ExcelColumnWidthTracker();
+		resultSummaryCoverPageColumnWidths = new ExcelColumnWidthTracker();
 	}
 	
 	private void initializeResultSummaryColorPalette() {
@@ -343,147 +506,200 @@ public class ExcelReport implements ReportType {
 	
 	@Override
 	public void addResultSummaryHeading(String heading) {
-		resultSummaryAccess.setDatasheetName(COVER_PAGE);
-		int rowNum = resultSummaryAccess.getLastRowNum();
-		if (rowNum != 0) {
-			rowNum = resultSummaryAccess.addRow();
+		ExcelDataAccess.Batch batch = resultSummaryAccess.beginBatch();
+		try {
+			resultSummaryAccess.setDatasheetName(COVER_PAGE);
+			int rowNum = resultSummaryAccess.getLastRowNum();
+			if (rowNum != 0) {
+				rowNum = resultSummaryAccess.addRow();
+			}
+			
+			cellFormatting.setFontName("Copperplate Gothic Bold");
+			cellFormatting.setFontSize((short) 12);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(true);
+			cellFormatting.setBackColorIndex((short) 0x8);
+			cellFormatting.setForeColorIndex((short) 0x9);
+			
+			resultSummaryAccess.setValue(rowNum, 0, heading, cellFormatting);
+			resultSummaryAccess.mergeCells(rowNum, rowNum, 0, 4);
+		} finally {
+			batch.commit();
 		}
-		
-		cellFormatting.setFontName("Copperplate Gothic Bold");
-		cellFormatting.setFontSize((short) 12);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(true);
-		cellFormatting.setBackColorIndex((short) 0x8);
-		cellFormatting.setForeColorIndex((short) 0x9);
-		
-		resultSummaryAccess.setValue(rowNum, 0, heading, cellFormatting);
-		resultSummaryAccess.mergeCells(rowNum, rowNum, 0, 4);
 	}
 	
 	@Override
 	public void addResultSummarySubHeading(String subHeading1, String subHeading2,
 											String subHeading3, String subHeading4) {
-		resultSummaryAccess.setDatasheetName(COVER_PAGE);
-		int rowNum = resultSummaryAccess.addRow();
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(false);
-		cellFormatting.setBackColorIndex((short) 0x9);
-		cellFormatting.setForeColorIndex((short) 0x8);
-		
-		resultSummaryAccess.setValue(rowNum, 0, subHeading1, cellFormatting);
-		resultSummaryAccess.setValue(rowNum, 1, subHeading2, cellFormatting);
-		resultSummaryAccess.setValue(rowNum, 2, "", cellFormatting);
-		resultSummaryAccess.setValue(rowNum, 3, subHeading3, cellFormatting);
-		resultSummaryAccess.setValue(rowNum, 4, subHeading4, cellFormatting);
+		ExcelDataAccess.Batch batch = resultSummaryAccess.beginBatch();
+		try {
+			resultSummaryAccess.setDatasheetName(COVER_PAGE);
+			int rowNum = resultSummaryAccess.addRow();
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(false);
+			cellFormatting.setBackColorIndex((short) 0x9);
+			cellFormatting.setForeColorIndex((short) 0x8);
+			
+			setValue(resultSummaryAccess, resultSummaryCoverPageColumnWidths, rowNum, 0, subHeading1);
+			setValue(resultSummaryAccess, resultSummaryCoverPageColumnWidths, rowNum, 1, subHeading2);
+			setValue(resultSummaryAccess, resultSummaryCoverPageColumnWidths, rowNum, 2, "");
+			setValue(resultSummaryAccess, resultSummaryCoverPageColumnWidths, rowNum, 3, subHeading3);
+			setValue(resultSummaryAccess, resultSummaryCoverPageColumnWidths, rowNum, 4, subHeading4);
+		} finally {
+			batch.commit();
+		}
 	}
 	
 	@Override
 	public void addResultSummaryTableHeadings() {
-		resultSummaryAccess.setDatasheetName(RESULT_SUMMARY);
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(true);
-		cellFormatting.setBackColorIndex((short) 0x8);
-		cellFormatting.setForeColorIndex((short) 0x9);
-		
-		resultSummaryAccess.addColumn(MODULE, cellFormatting);
-		resultSummaryAccess.addColumn(TEST_CASE, cellFormatting);
-		resultSummaryAccess.addColumn(TEST_INSTANCE, cellFormatting);
-		resultSummaryAccess.addColumn(TEST_DESCRIPTION, cellFormatting);
-		resultSummaryAccess.addColumn(ADDITIONAL_DETAILS, cellFormatting);
-		resultSummaryAccess.addColumn(EXECUTION_TIME, cellFormatting);
-		resultSummaryAccess.addColumn(TEST_STATUS, cellFormatting);
+		ExcelDataAccess.Batch batch = resultSummaryAccess.beginBatch();
+		try {
+			resultSummaryAccess.setDatasheetName(RESULT_SUMMARY);
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(true);
+			cellFormatting.setBackColorIndex((short) 0x8);
+			cellFormatting.setForeColorIndex((short) 0x9);
+			
+			for (int columnNum = 0; columnNum < RESULT_SUMMARY_COLUMNS.length; columnNum++) {
+				resultSummaryAccess.addColumn(RESULT_SUMMARY_COLUMNS[columnNum], cellFormatting);
+				resultSummaryColumnWidths.trackValue(columnNum, RESULT_SUMMARY_COLUMNS[columnNum], cellFormatting);
+			}
+		} finally {
+			batch.commit();
+		}
 	}
 	
 	@Override
 	public void updateResultSummary(TestParameters testParameters, String testReportName,
 												String executionTime, String testStatus) {
-		String moduleName = testParameters.getCurrentModule();
-		String testcaseName = testParameters.getCurrentTestcase();
-		String testInstanceName = testParameters.getCurrentTestInstance();
-		String testcaseDescription = testParameters.getCurrentTestDescription(); 
-		String additionalDetails = testParameters.getAdditionalDetails();
-		
-		resultSummaryAccess.setDatasheetName(RESULT_SUMMARY);
-		int rowNum = resultSummaryAccess.addRow();
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBackColorIndex((short) 0xC);
-		cellFormatting.setForeColorIndex((short) 0xD);
-		
-		cellFormatting.setCentered(false);
-		cellFormatting.setBold(false);
-		resultSummaryAccess.setValue(rowNum, MODULE, moduleName, cellFormatting);
-		resultSummaryAccess.setValue(rowNum, TEST_CASE, testcaseName, cellFormatting);
-		
-		int columnNum = resultSummaryAccess.getColumnNum(TEST_INSTANCE, 0);
-		resultSummaryAccess.setValue(rowNum, columnNum, testInstanceName, cellFormatting);
-		if (reportSettings.shouldLinkTestLogsToSummary()) {
-			resultSummaryAccess.setHyperlink(rowNum, columnNum, testReportName + ".xls");
-		}
-		
-		resultSummaryAccess.setValue(rowNum, TEST_DESCRIPTION, testcaseDescription, cellFormatting);
-		resultSummaryAccess.setValue(rowNum, ADDITIONAL_DETAILS, additionalDetails, cellFormatting);
-		
-		cellFormatting.setCentered(true);
-		resultSummaryAccess.setValue(rowNum, EXECUTION_TIME, executionTime, cellFormatting);
-		
-		cellFormatting.setBold(true);
-		if ("Passed".equalsIgnoreCase(testStatus)) {
-			cellFormatting.setForeColorIndex((short) 0xE);
-		}
-		if ("Failed".equalsIgnoreCase(testStatus)) {
-			cellFormatting.setForeColorIndex((short) 0xF);
+		updateResultSummary(testParameters, testReportName, executionTime, testStatus, -1);
+	}
+	
+	@Override
+	public void updateResultSummary(TestParameters testParameters, String testReportName,
+												String executionTime, String testStatus,
+												long testDuration) {
+		ExcelDataAccess.Batch batch = resultSummaryAccess.beginBatch();
+		try {
+			String moduleName = testParameters.getCurrentModule();
+			String testcaseName = testParameters.getCurrentTestcase();
+			String testInstanceName = testParameters.getCurrentTestInstance();
+			String testcaseDescription = testParameters.getCurrentTestDescription(); 
+			String additionalDetails = testParameters.getAdditionalDetails();
+			
+			resultSummaryAccess.setDatasheetName(RESULT_SUMMARY);
+			int rowNum = resultSummaryAccess.addRow();
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBackColorIndex((short) 0xC);
+			cellFormatting.setForeColorIndex((short) 0xD);
+			
+			cellFormatting.setCentered(false);
+			cellFormatting.setBold(false);
+			setResultSummaryValue(rowNum, MODULE, moduleName);
+			setResultSummaryValue(rowNum, TEST_CASE, testcaseName);
+			
+			int columnNum = resultSummaryAccess.getColumnNum(TEST_INSTANCE, 0);
+			setValue(resultSummaryAccess, resultSummaryColumnWidths, rowNum, columnNum, testInstanceName);
+			if (reportSettings.shouldLinkTestLogsToSummary()) {
+				resultSummaryAccess.setHyperlink(rowNum, columnNum, testReportName + ".xls");
+			}
+			
+			setResultSummaryValue(rowNum, TEST_DESCRIPTION, testcaseDescription);
+			setResultSummaryValue(rowNum, ADDITIONAL_DETAILS, additionalDetails);
+			
+			cellFormatting.setCentered(true);
+			setResultSummaryValue(rowNum, EXECUTION_TIME, executionTime);
+			
+			cellFormatting.setBold(true);
+			if ("Passed".equalsIgnoreCase(testStatus)) {
+				cellFormatting.setForeColorIndex((short) 0xE);
+			}
+			if ("Failed".equalsIgnoreCase(testStatus)) {
+				cellFormatting.setForeColorIndex((short) 0xF);
+			}
+			setResultSummaryValue(rowNum, TEST_STATUS, testStatus);
+			
+			cellFormatting.setBold(false);
+			cellFormatting.setForeColorIndex((short) 0xD);
+			if (testDuration < 0) {
+				setResultSummaryValue(rowNum, TEST_DURATION, "");	// The duration is not known
+			} else {
+				double durationInSeconds = Util.getDurationInSeconds(testDuration);
+				resultSummaryAccess.setValue(rowNum, TEST_DURATION, durationInSeconds, cellFormatting);
+				resultSummaryColumnWidths.trackValue(Arrays.asList(RESULT_SUMMARY_COLUMNS).indexOf(TEST_DURATION),
+														Double.toString(durationInSeconds), cellFormatting);
+			}
+		} finally {
+			batch.commit();
 		}
-		resultSummaryAccess.setValue(rowNum, TEST_STATUS, testStatus, cellFormatting);
+	}
+	
+	private void setResultSummaryValue(int rowNum, String columnHeader, String value) {
+		resultSummaryAccess.setValue(rowNum, columnHeader, value, cellFormatting);
+		resultSummaryColumnWidths.trackValue(Arrays.asList(RESULT_SUMMARY_COLUMNS).indexOf(columnHeader),
+												value, cellFormatting);
 	}
 	
 	@Override
 	public void addResultSummaryFooter(String totalExecutionTime, int nTestsPassed, int nTestsFailed) {	
-		resultSummaryAccess.setDatasheetName(RESULT_SUMMARY);
-		int rowNum = resultSummaryAccess.addRow();
-		
-		cellFormatting.setFontName(FONT_NAME);
-		cellFormatting.setFontSize((short) 10);
-		cellFormatting.setBold(true);
-		cellFormatting.setCentered(true);
-		cellFormatting.setBackColorIndex((short) 0x8);
-		cellFormatting.setForeColorIndex((short) 0x9);
-		
-		resultSummaryAccess.setValue(rowNum, 0, "Total Duration: " +
-													totalExecutionTime, cellFormatting);
-		resultSummaryAccess.mergeCells(rowNum, rowNum, 0, 6);
-		
-		rowNum = resultSummaryAccess.addRow();
-		cellFormatting.setCentered(false);
-		cellFormatting.setBackColorIndex((short) 0x9);
-		
-		cellFormatting.setForeColorIndex((short) 0xE);
-		resultSummaryAccess.setValue(rowNum, MODULE, "Tests passed", cellFormatting);
-		resultSummaryAccess.setValue(rowNum, TEST_CASE, ": " + nTestsPassed, cellFormatting);
-		cellFormatting.setForeColorIndex((short) 0x8);
-		resultSummaryAccess.setValue(rowNum, TEST_INSTANCE, "", cellFormatting);
-		resultSummaryAccess.setValue(rowNum, TEST_DESCRIPTION, "", cellFormatting);
-		resultSummaryAccess.setValue(rowNum, ADDITIONAL_DETAILS, "", cellFormatting);
-		cellFormatting.setForeColorIndex((short) 0xF);
-		resultSummaryAccess.setValue(rowNum, EXECUTION_TIME, "Tests failed", cellFormatting);
-		resultSummaryAccess.setValue(rowNum, TEST_STATUS, ": " + nTestsFailed, cellFormatting);
-		
-		wrapUpResultSummary();
+		ExcelDataAccess.Batch batch = resultSummaryAccess.beginBatch();
+		try {
+			resultSummaryAccess.setDatasheetName(RESULT_SUMMARY);
+			int rowNum = resultSummaryAccess.addRow();
+			
+			cellFormatting.setFontName(FONT_NAME);
+			cellFormatting.setFontSize((short) 10);
+			cellFormatting.setBold(true);
+			cellFormatting.setCentered(true);
+			cellFormatting.setBackColorIndex((short) 0x8);
+			cellFormatting.setForeColorIndex((short) 0x9);
+			
+			resultSummaryAccess.setValue(rowNum, 0, "Total Duration: " +
+														totalExecutionTime, cellFormatting);
+			resultSummaryAccess.mergeCells(rowNum, rowNum, 0, RESULT_SUMMARY_COLUMNS.length - 1);
+			
+			rowNum = resultSummaryAccess.addRow();
+			cellFormatting.setCentered(false);
+			cellFormatting.setBackColorIndex((short) 0x9);
+			
+			cellFormatting.setForeColorIndex((short) 0xE);
+			setResultSummaryValue(rowNum, MODULE, "Tests passed");
+			setResultSummaryValue(rowNum, TEST_CASE, ": " + nTestsPassed);
+			cellFormatting.setForeColorIndex((short) 0x8);
+			setResultSummaryValue(rowNum, TEST_INSTANCE, "");
+			setResultSummaryValue(rowNum, TEST_DESCRIPTION, "");
+			setResultSummaryValue(rowNum, ADDITIONAL_DETAILS, "");
+			cellFormatting.setForeColorIndex((short) 0xF);
+			setResultSummaryValue(rowNum, EXECUTION_TIME, "Tests failed");
+			setResultSummaryValue(rowNum, TEST_STATUS, ": " + nTestsFailed);
+			cellFormatting.setForeColorIndex((short) 0x8);
+			setResultSummaryValue(rowNum, TEST_DURATION, "");
+			
+			wrapUpResultSummary();
+		} finally {
+			batch.commit();
+		}
 	}
 	
 	private void wrapUpResultSummary() {
-		resultSummaryAccess.autoFitContents(0, 6);
-		resultSummaryAccess.addOuterBorder(0, 6);
-		
-		resultSummaryAccess.setDatasheetName(COVER_PAGE);
-		resultSummaryAccess.autoFitContents(0, 4);
-		resultSummaryAccess.addOuterBorder(0, 4);
+		ExcelDataAccess.Batch batch = resultSummaryAccess.beginBatch();
+		try {
+			resultSummaryAccess.setColumnWidths(resultSummaryColumnWidths);
+			resultSummaryAccess.addOuterBorder(0, RESULT_SUMMARY_COLUMNS.length - 1);
+			
+			resultSummaryAccess.setDatasheetName(COVER_PAGE);
+			resultSummaryAccess.setColumnWidths(resultSummaryCoverPageColumnWidths);
+			resultSummaryAccess.addOuterBorder(0, 4);
+		} finally {
+			batch.commit();
+		}
 	}
 }
\ No newline at end of file
@@ -1,37 +1,40 @@
 package com.autopia4j.framework.reporting.impl;
 
 import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.io.PrintStream;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.autopia4j.framework.core.AutopiaException;
 import com.autopia4j.framework.core.TestParameters;
+import com.autopia4j.framework.reporting.FlushPolicy;
 import com.autopia4j.framework.reporting.ReportSettings;
 import com.autopia4j.framework.reporting.ReportTheme;
 import com.autopia4j.framework.reporting.ReportType;
 import com.autopia4j.framework.reporting.Status;
+import com.autopia4j.framework.reporting.event.LatencyStatistics;
+import com.autopia4j.framework.reporting.event.ReportEvent;
 import com.autopia4j.framework.utils.Util;
 
 
 /**
- * Class to encapsulate the HTML report generation functions of the framework
+ * Class to encapsulate the HTML report generation functions of the framework<br>
+ * The test log and the result summary files are held open until their footers are added,
+ * and are flushed as per the {@link FlushPolicy} specified within the {@link ReportSettings}
  * @author Cognizant
  */
 public class HtmlReport implements ReportType {
-	private static final String UTF_ENCODING = "UTF-8";
 	private static final String NON_BREAKING_SPACE = "&nbsp;";
 	private final Logger logger = LoggerFactory.getLogger(HtmlReport.class);
-	private String testLogPath;
-	private String resultSummaryPath;
+	private HtmlReportFile testLogFile;
+	private HtmlReportFile resultSummaryFile;
 	private ReportSettings reportSettings;
 	private ReportTheme reportTheme;
 	
@@ -44,6 +47,8 @@ public class HtmlReport implements ReportType {
 	private String currentSubSection = "";
 	private int currentContentNumber = 1;
 	
+	private String performanceSummaryTable = "";
+	
 	
 	/**
 	 * Constructor to initialize the HTML report
@@ -54,11 +59,33 @@ public class HtmlReport implements ReportType {
 		this.reportSettings = reportSettings;
 		this.reportTheme = reportTheme;
 		
-		testLogPath = reportSettings.getReportPath() + Util.getFileSeparator() + "HTML Results"
+		String testLogPath = reportSettings.getReportPath() + Util.getFileSeparator() + "HTML Results"
 							+ Util.getFileSeparator() + reportSettings.getReportName() + ".html";
+		testLogFile = new HtmlReportFile(testLogPath, reportSettings);
 		
-		resultSummaryPath = reportSettings.getReportPath() + Util.getFileSeparator() +
+		String resultSummaryPath = reportSettings.getReportPath() + Util.getFileSeparator() +
 								"HTML Results" + Util.getFileSeparator() + "Summary" + ".html";
+		resultSummaryFile = new HtmlReportFile(resultSummaryPath, reportSettings);
+	}
+	
+	@Override
+	public void consume(List<ReportEvent> events) {
+		// The report files are flushed (as per the flush policy) only once per batch of events
+		testLogFile.beginBatch();
+		resultSummaryFile.beginBatch();
+		
+		try {
+			ReportType.super.consume(events);
+		} finally {
+			try {
+				testLogFile.endBatch();
+				resultSummaryFile.endBatch();
+			} catch (IOException e) {
+				String errorDescription = "Error while flushing HTML report";
+				logger.error(errorDescription, e);
+				throw new AutopiaException(errorDescription);
+			}
+		}
 	}
 	
 	private String getThemeCss() {
@@ -205,9 +232,8 @@ public class HtmlReport implements ReportType {
 	
 	@Override
 	public void initializeTestLog() {
-		File testLogFile = new File(testLogPath);
 		try {
-			testLogFile.createNewFile();
+			testLogFile.open();
 		} catch (IOException e) {
 			String errorDescription = "Error while creating HTML test log file";
 			logger.error(errorDescription, e);
@@ -228,9 +254,9 @@ public class HtmlReport implements ReportType {
 									getJavascriptFunctions() +
 								"\t </head> \n";
 		
-		try (PrintStream printStream = new PrintStream(testLogFile, UTF_ENCODING)) {
-			printStream.println(testLogHeadSection);
-		} catch (FileNotFoundException | UnsupportedEncodingException e) {
+		try {
+			testLogFile.write(testLogHeadSection + System.lineSeparator(), true);
+		} catch (IOException e) {
 			String errorDescription = "Error while writing into HTML test log file";
 			logger.error(errorDescription, e);
 			throw new AutopiaException(errorDescription);
@@ -245,18 +271,12 @@ public class HtmlReport implements ReportType {
 		}
 		
 		try {
-			FileOutputStream outputStream = new FileOutputStream(testLogPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String testLogHeading =	"\t\t\t\t <tr class='heading'> \n" +
 										"\t\t\t\t\t <th colspan='4' style='font-family:Copperplate Gothic; font-size:1.4em;'> \n" + 
 											"\t\t\t\t\t\t " + heading + " \n" +
 										"\t\t\t\t\t </th> \n" +
 									"\t\t\t\t </tr> \n";
-		    bufferedWriter.append(testLogHeading);
-		    bufferedWriter.close();
+		    testLogFile.write(testLogHeading, true);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding heading to HTML test log";
 			logger.error(errorDescription, e);
@@ -266,16 +286,10 @@ public class HtmlReport implements ReportType {
 	
 	private void createTestLogHeaderTable() {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(testLogPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String testLogHeaderTable =	"\t <body> \n" +
 											"\t\t <table id='header'> \n" +
 												"\t\t\t <thead> \n";
-		    bufferedWriter.append(testLogHeaderTable);
-		    bufferedWriter.close();
+		    testLogFile.write(testLogHeaderTable, false);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding header table to HTML test log";
 			logger.error(errorDescription, e);
@@ -287,19 +301,13 @@ public class HtmlReport implements ReportType {
 	public void addTestLogSubHeading(String subHeading1, String subHeading2,
 										String subHeading3, String subHeading4) {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(testLogPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String testLogSubHeading =	"\t\t\t\t <tr class='subheading'> \n" +
 											"\t\t\t\t\t <th>&nbsp;" + subHeading1.replace(" ", NON_BREAKING_SPACE) + "</th> \n" +
 											"\t\t\t\t\t <th>&nbsp;" + subHeading2.replace(" ", NON_BREAKING_SPACE) + "</th> \n" +
 											"\t\t\t\t\t <th>&nbsp;" + subHeading3.replace(" ", NON_BREAKING_SPACE) + "</th> \n" +
 											"\t\t\t\t\t <th>&nbsp;" + subHeading4.replace(" ", NON_BREAKING_SPACE) + "</th> \n" +
 										"\t\t\t\t </tr> \n";
-		    bufferedWriter.append(testLogSubHeading);
-		    bufferedWriter.close();
+		    testLogFile.write(testLogSubHeading, true);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding sub-heading to HTML test log";
 			logger.error(errorDescription, e);
@@ -309,18 +317,12 @@ public class HtmlReport implements ReportType {
 	
 	private void createTestLogMainTable() {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(testLogPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String testLogMainTable =		"\t\t\t </thead> \n" +
 										 "\t\t </table> \n\n" +
 										 
 										 "\t\t <table id='main'> \n";
 			
-		    bufferedWriter.append(testLogMainTable);
-		    bufferedWriter.close();
+		    testLogFile.write(testLogMainTable, false);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding main table to HTML test log";
 			logger.error(errorDescription, e);
@@ -336,11 +338,6 @@ public class HtmlReport implements ReportType {
 		}
 		
 		try {
-			FileOutputStream outputStream = new FileOutputStream(testLogPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String testLogTableHeading =	"\t\t\t <thead> \n" +
 												"\t\t\t\t <tr class='heading'> \n" + 
 													"\t\t\t\t\t <th>Step No</th> \n" +
@@ -348,10 +345,11 @@ public class HtmlReport implements ReportType {
 													"\t\t\t\t\t <th>Description</th> \n" +
 													"\t\t\t\t\t <th>Status</th> \n" +
 													"\t\t\t\t\t <th>Step Time</th> \n" +
+													"\t\t\t\t\t <th>Step Duration (s)</th> \n" +
+													"\t\t\t\t\t <th>Elapsed Time (s)</th> \n" +
 												"\t\t\t\t </tr> \n" +
 											"\t\t\t </thead> \n\n";
-		    bufferedWriter.append(testLogTableHeading);
-		    bufferedWriter.close();
+		    testLogFile.write(testLogTableHeading, true);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding main table headings to HTML test log";
 			logger.error(errorDescription, e);
@@ -369,20 +367,14 @@ public class HtmlReport implements ReportType {
 		currentSection = section.replaceAll("[^a-zA-Z0-9]", "");
 		
 		try {
-			FileOutputStream outputStream = new FileOutputStream(testLogPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    testLogSection +=	"\t\t\t <tbody> \n" +
 										"\t\t\t\t <tr class='section'> \n" +
-											"\t\t\t\t\t <td colspan='5' onclick=\"toggleMenu('" + currentSection + "')\">+ " +
+											"\t\t\t\t\t <td colspan='7' onclick=\"toggleMenu('" + currentSection + "')\">+ " +
 												section + "</td> \n" +
 										"\t\t\t\t </tr> \n" +
 									"\t\t\t </tbody> \n" +
 									"\t\t\t <tbody id='" + currentSection + "' style='display:table-row-group'> \n";
-		    bufferedWriter.append(testLogSection);
-		    bufferedWriter.close();
+		    testLogFile.write(testLogSection, true);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding section to HTML test log";
 			logger.error(errorDescription, e);
@@ -396,17 +388,11 @@ public class HtmlReport implements ReportType {
 		currentContentNumber = 1;
 		
 		try {
-			FileOutputStream outputStream = new FileOutputStream(testLogPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String testLogSubSection =	"\t\t\t\t <tr class='subheading subsection'> \n" +
-											"\t\t\t\t\t <td colspan='5' onclick=\"toggleSubMenu('" + currentSection + currentSubSection + "')\">&nbsp;+ " +
+											"\t\t\t\t\t <td colspan='7' onclick=\"toggleSubMenu('" + currentSection + currentSubSection + "')\">&nbsp;+ " +
 												subSection + "</td> \n" +
 										"\t\t\t\t </tr> \n";
-		    bufferedWriter.append(testLogSubSection);
-		    bufferedWriter.close();
+		    testLogFile.write(testLogSubSection, true);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding sub-section to HTML test log";
 			logger.error(errorDescription, e);
@@ -417,12 +403,24 @@ public class HtmlReport implements ReportType {
 	@Override
 	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus,
 																Boolean shouldTakeScreenshot, String screenShotName) {
+		updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+						shouldTakeScreenshot, screenShotName, -1, -1);
+	}
+	
+	@Override
+	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus,
+								Boolean shouldTakeScreenshot, String screenShotName,
+								long stepDuration, long elapsedTime) {
+		updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+						shouldTakeScreenshot, screenShotName, stepDuration, elapsedTime,
+						Util.getClock().millis());
+	}
+	
+	@Override
+	public void updateTestLog(String stepNumber, String stepName, String stepDescription, Status stepStatus,
+								Boolean shouldTakeScreenshot, String screenShotName,
+								long stepDuration, long elapsedTime, long stepTime) {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(testLogPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 			String testStepRow = "\t\t\t\t <tr class='content' id='" + currentSection + currentSubSection + currentContentNumber + "'> \n" +
 									"\t\t\t\t\t <td>" + stepNumber + "</td> \n" +
 									"\t\t\t\t\t <td class='justified'>" + stepName + "</td> \n";
@@ -434,12 +432,13 @@ public class HtmlReport implements ReportType {
 				testStepRow += getTestStepWithoutScreenshot(stepDescription, stepStatus);
 			}
 	       	testStepRow +=	 "\t\t\t\t\t <td>" +
-       										"<small>" + Util.getCurrentFormattedTime(reportSettings.getDateFormatString()) + "</small>" +
+       										"<small>" + Util.getFormattedTime(new Date(stepTime), reportSettings.getDateFormatString()) + "</small>" +
        									"</td> \n" +
+							"\t\t\t\t\t <td><small>" + formatDuration(stepDuration) + "</small></td> \n" +
+							"\t\t\t\t\t <td><small>" + formatDuration(elapsedTime) + "</small></td> \n" +
 							"\t\t\t\t </tr> \n";
 	       	
-		    bufferedWriter.append(testStepRow);
-		    bufferedWriter.close();
+		    testLogFile.write(testStepRow, false);
 		} catch (IOException e) {
 			String errorDescription = "Error while updating HTML test log";
 			logger.error(errorDescription, e);
@@ -447,6 +446,13 @@ public class HtmlReport implements ReportType {
 		}
 	}
 	
+	private static String formatDuration(long duration) {
+		if (duration < 0) {
+			return "";	// The duration is not known
+		}
+		return Double.toString(Util.getDurationInSeconds(duration));
+	}
+	
 	private String getTestStepWithScreenshot(String stepDescription, Status stepStatus, String screenShotName) {
 		String testStepRow;
 		
@@ -490,11 +496,6 @@ public class HtmlReport implements ReportType {
 	@Override
 	public void addTestLogFooter(String executionTime, int nStepsPassed, int nStepsFailed) {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(testLogPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-		    
 			String testLogFooter =	"\t\t\t </tbody> \n" +
 								"\t\t </table> \n\n" +
 								
@@ -521,8 +522,8 @@ public class HtmlReport implements ReportType {
 							"\t </body> \n" +
 						"</html>";
 		    
-		    bufferedWriter.append(testLogFooter);
-		    bufferedWriter.close();
+		    testLogFile.write(testLogFooter, true);
+		    testLogFile.close();
 		} catch (IOException e) {
 			String errorDescription = "Error while adding footer to HTML test log";
 			logger.error(errorDescription, e);
@@ -535,10 +536,8 @@ public class HtmlReport implements ReportType {
 	
 	@Override
 	public void initializeResultSummary() {
-		File resultSummaryFile = new File(resultSummaryPath);
-		
 		try {
-			resultSummaryFile.createNewFile();
+			resultSummaryFile.open();
 		} catch (IOException e) {
 			String errorDescription = "Error while creating HTML result summary file";
 			logger.error(errorDescription, e);
@@ -558,9 +557,9 @@ public class HtmlReport implements ReportType {
 									getJavascriptFunctions() +
 								"\t </head> \n";
 		
-		try (PrintStream printStream = new PrintStream(resultSummaryFile, UTF_ENCODING)) {
-			printStream.println (resultSummaryHeader);
-		} catch (FileNotFoundException | UnsupportedEncodingException e) {
+		try {
+			resultSummaryFile.write(resultSummaryHeader + System.lineSeparator(), true);
+		} catch (IOException e) {
 			String errorDescription = "Error while writing into HTML result summary file";
 			logger.error(errorDescription, e);
 			throw new AutopiaException(errorDescription);
@@ -575,18 +574,12 @@ public class HtmlReport implements ReportType {
 		}
 		
 		try {
-			FileOutputStream outputStream = new FileOutputStream(resultSummaryPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String resultSummaryHeading =	"\t\t\t\t <tr class='heading'> \n" +
 												"\t\t\t\t\t <th colspan='4' style='font-family:Copperplate Gothic; font-size:1.4em;'> \n" + 
 													"\t\t\t\t\t\t " + heading + " \n" +
 												"\t\t\t\t\t </th> \n" +
 											"\t\t\t\t </tr> \n";
-		    bufferedWriter.append(resultSummaryHeading);
-		    bufferedWriter.close();
+		    resultSummaryFile.write(resultSummaryHeading, true);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding heading to HTML result summary";
 			logger.error(errorDescription, e);
@@ -596,16 +589,10 @@ public class HtmlReport implements ReportType {
 	
 	private void createResultSummaryHeaderTable() {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(resultSummaryPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String resultSummaryHeaderTable =	"\t <body> \n" +
 													"\t\t <table id='header'> \n" +
 														"\t\t\t <thead> \n";
-		    bufferedWriter.append(resultSummaryHeaderTable);
-		    bufferedWriter.close();
+		    resultSummaryFile.write(resultSummaryHeaderTable, false);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding header table to HTML result summary";
 			logger.error(errorDescription, e);
@@ -617,19 +604,13 @@ public class HtmlReport implements ReportType {
 	public void addResultSummarySubHeading(String subHeading1, String subHeading2,
 											String subHeading3, String subHeading4) {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(resultSummaryPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String resultSummarySubHeading =	"\t\t\t\t <tr class='subheading'> \n" +
 													"\t\t\t\t\t <th>&nbsp;" + subHeading1.replace(" ", NON_BREAKING_SPACE) + "</th> \n" +
 													"\t\t\t\t\t <th>&nbsp;" + subHeading2.replace(" ", NON_BREAKING_SPACE) + "</th> \n" +
 													"\t\t\t\t\t <th>&nbsp;" + subHeading3.replace(" ", NON_BREAKING_SPACE) + "</th> \n" +
 													"\t\t\t\t\t <th>&nbsp;" + subHeading4.replace(" ", NON_BREAKING_SPACE) + "</th> \n" +
 												"\t\t\t\t </tr> \n";
-		    bufferedWriter.append(resultSummarySubHeading);
-		    bufferedWriter.close();
+		    resultSummaryFile.write(resultSummarySubHeading, true);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding sub-heading to HTML result summary";
 			logger.error(errorDescription, e);
@@ -639,19 +620,13 @@ public class HtmlReport implements ReportType {
 	
 	private void createResultSummaryMainTable() {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(resultSummaryPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String resultSummaryMainTable =	"\t\t\t </thead> \n" +
 										 "\t\t </table> \n\n" +
 										 
 										 "\t\t <table id='main'> \n" + 
 											"\t\t\t <colgroup> \n";
 		    
-		    bufferedWriter.append(resultSummaryMainTable);
-		    bufferedWriter.close();
+		    resultSummaryFile.write(resultSummaryMainTable, false);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding main table to HTML result summary";
 			logger.error(errorDescription, e);
@@ -667,11 +642,6 @@ public class HtmlReport implements ReportType {
 		}
 		
 		try {
-			FileOutputStream outputStream = new FileOutputStream(resultSummaryPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String resultSummaryTableHeading =	"\t\t\t <thead> \n" +
 												"\t\t\t\t <tr class='heading'> \n" + 
 													"\t\t\t\t\t <th>Module</th> \n" +
@@ -681,10 +651,10 @@ public class HtmlReport implements ReportType {
 													"\t\t\t\t\t <th>Additional Details</th> \n" +
 													"\t\t\t\t\t <th>Execution Time</th> \n" +
 													"\t\t\t\t\t <th>Test Status</th> \n" +
+													"\t\t\t\t\t <th>Duration (s)</th> \n" +
 												"\t\t\t\t </tr> \n" +
 											"\t\t\t </thead> \n\n";
-		    bufferedWriter.append(resultSummaryTableHeading);
-		    bufferedWriter.close();
+		    resultSummaryFile.write(resultSummaryTableHeading, true);
 		} catch (IOException e) {
 			String errorDescription = "Error while adding main table headings to HTML result summary";
 			logger.error(errorDescription, e);
@@ -695,12 +665,14 @@ public class HtmlReport implements ReportType {
 	@Override
 	public void updateResultSummary(TestParameters testParameters, String testReportName,
 												String executionTime, String testStatus) {
+		updateResultSummary(testParameters, testReportName, executionTime, testStatus, -1);
+	}
+	
+	@Override
+	public void updateResultSummary(TestParameters testParameters, String testReportName,
+												String executionTime, String testStatus,
+												long testDuration) {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(resultSummaryPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-		    
 			String testcaseRow;
 			String moduleName = testParameters.getCurrentModule();
 			String testcaseName = testParameters.getCurrentTestcase();
@@ -729,15 +701,14 @@ public class HtmlReport implements ReportType {
 			}
 		    
 			if("passed".equalsIgnoreCase(testStatus)) {
-				testcaseRow += 		"\t\t\t\t\t <td class='pass'>" + testStatus + "</td> \n" +
-								"\t\t\t\t </tr> \n";
+				testcaseRow += 		"\t\t\t\t\t <td class='pass'>" + testStatus + "</td> \n";
 			} else {
-				testcaseRow += 		"\t\t\t\t\t <td class='fail'>" + testStatus + "</td> \n" +
-								"\t\t\t\t </tr> \n";
+				testcaseRow += 		"\t\t\t\t\t <td class='fail'>" + testStatus + "</td> \n";
 			}
+			testcaseRow +=			"\t\t\t\t\t <td>" + formatDuration(testDuration) + "</td> \n" +
+								"\t\t\t\t </tr> \n";
 			
-		    bufferedWriter.append(testcaseRow);
-		   	bufferedWriter.close();
+		    resultSummaryFile.write(testcaseRow, false);
 		} catch (IOException e) {
 			String errorDescription = "Error while updating HTML result summary";
 			logger.error(errorDescription, e);
@@ -745,18 +716,60 @@ public class HtmlReport implements ReportType {
 		}
 	}
 	
+	@Override
+	public void addPerformanceSummary(List<LatencyStatistics> stepNameStatistics,
+										List<LatencyStatistics> stepStatusStatistics) {
+		// The performance summary is written along with the footer, once the main table is closed
+		performanceSummaryTable =	"\t\t <table id='performance'> \n" +
+										"\t\t\t <thead> \n" +
+											"\t\t\t\t <tr class='heading'> \n" + 
+												"\t\t\t\t\t <th colspan='6'>Performance Summary</th> \n" + 
+											"\t\t\t\t </tr> \n" +
+										"\t\t\t </thead> \n" +
+										getPerformanceSummaryRows("Step Name", stepNameStatistics, false) +
+										getPerformanceSummaryRows("Step Status", stepStatusStatistics, true) +
+									"\t\t </table> \n\n";
+	}
+	
+	private static String getPerformanceSummaryRows(String groupHeading,
+													List<LatencyStatistics> latencyStatistics,
+													boolean isGroupedByStatus) {
+		String performanceSummaryRows =	"\t\t\t <tbody> \n" +
+											"\t\t\t\t <tr class='subheading'> \n" +
+												"\t\t\t\t\t <th>&nbsp;" + groupHeading.replace(" ", NON_BREAKING_SPACE) + "</th> \n" +
+												"\t\t\t\t\t <th>Count</th> \n" +
+												"\t\t\t\t\t <th>p50 (ms)</th> \n" +
+												"\t\t\t\t\t <th>p90 (ms)</th> \n" +
+												"\t\t\t\t\t <th>p99 (ms)</th> \n" +
+												"\t\t\t\t\t <th>Max (ms)</th> \n" +
+											"\t\t\t\t </tr> \n";
+		
+		for (LatencyStatistics statistics : latencyStatistics) {
+			String nameCell = isGroupedByStatus?
+					"\t\t\t\t\t <td class='" + statistics.getName().toLowerCase() + "'>" + statistics.getName() + "</td> \n" :
+					"\t\t\t\t\t <td class='justified'>" + statistics.getName() + "</td> \n";
+			performanceSummaryRows +=	"\t\t\t\t <tr class='content'> \n" +
+											nameCell +
+											"\t\t\t\t\t <td>" + statistics.getCount() + "</td> \n" +
+											"\t\t\t\t\t <td>" + StepLatencyRecorder.toMilliseconds(statistics.getP50()) + "</td> \n" +
+											"\t\t\t\t\t <td>" + StepLatencyRecorder.toMilliseconds(statistics.getP90()) + "</td> \n" +
+											"\t\t\t\t\t <td>" + StepLatencyRecorder.toMilliseconds(statistics.getP99()) + "</td> \n" +
+											"\t\t\t\t\t <td>" + StepLatencyRecorder.toMilliseconds(statistics.getMax()) + "</td> \n" +
+										"\t\t\t\t </tr> \n";
+		}
+		
+		return performanceSummaryRows + "\t\t\t </tbody> \n";
+	}
+	
 	@Override
 	public void addResultSummaryFooter(String totalExecutionTime,
 										int nTestsPassed, int nTestsFailed) {
 		try {
-			FileOutputStream outputStream = new FileOutputStream(resultSummaryPath, true);
-			OutputStreamWriter outputStreamWriter =
-					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-			BufferedWriter bufferedWriter = new BufferedWriter(outputStreamWriter);
-			
 		    String resultSummaryFooter =	"\t\t\t </tbody> \n" +
 										"\t\t </table> \n\n" +
 										
+										performanceSummaryTable +
+										
 										"\t\t <table id='footer'> \n" +
 											"\t\t\t <colgroup> \n" +
 												"\t\t\t\t <col style='width: 25%' /> \n" +
@@ -780,12 +793,128 @@ public class HtmlReport implements ReportType {
 									"\t </body> \n" +
 								"</html>";
 		    
-		    bufferedWriter.append(resultSummaryFooter);
-			bufferedWriter.close();
+		    resultSummaryFile.write(resultSummaryFooter, true);
+		    resultSummaryFile.close();
 		} catch (IOException e) {
 			String errorDescription = "Error while adding footer to HTML result summary";
 			logger.error(errorDescription, e);
 			throw new AutopiaException(errorDescription);
 		}
 	}
+	
+	
+	/**
+	 * Class to encapsulate a HTML report file, which is held open until the report is completed
+	 */
+	private static final class HtmlReportFile {
+		private final String filePath;
+		private final FlushPolicy flushPolicy;
+		private final long flushIntervalNanos;
+		private BufferedWriter bufferedWriter;
+		private long lastFlushTime;
+		private boolean isWithinBatch = false;
+		private boolean isFlushPending = false;
+		
+		private HtmlReportFile(String filePath, ReportSettings reportSettings) {
+			this.filePath = filePath;
+			this.flushPolicy = reportSettings.getHtmlReportFlushPolicy();
+			this.flushIntervalNanos =
+					TimeUnit.MILLISECONDS.toNanos(reportSettings.getHtmlReportFlushInterval());
+		}
+		
+		/**
+		 * Function to create the report file, overwriting any existing file
+		 * @throws IOException If the file cannot be created
+		 */
+		private void open() throws IOException {
+			close();
+			open(false);
+		}
+		
+		private void open(boolean append) throws IOException {
+			FileOutputStream outputStream = new FileOutputStream(filePath, append);
+			OutputStreamWriter outputStreamWriter =
+					new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+			bufferedWriter = new BufferedWriter(outputStreamWriter);
+			lastFlushTime = System.nanoTime();
+		}
+		
+		/**
+		 * Function to write the specified content into the report file, flushing it if required by the {@link FlushPolicy}
+		 * @param content The content to be written
+		 * @param isSectionBoundary Boolean value indicating whether the content starts a heading, section or sub-section
+		 * @throws IOException If the content cannot be written
+		 */
+		private void write(String content, boolean isSectionBoundary) throws IOException {
+			if (bufferedWriter == null) {
+				open(true);	// The report file was not created (or was already completed) by this object
+			}
+			
+			bufferedWriter.append(content);
+			
+			if (shouldFlush(isSectionBoundary)) {
+				if (isWithinBatch) {
+					isFlushPending = true;	// Deferred until the end of the batch
+				} else {
+					flush();
+				}
+			}
+		}
+		
+		private void flush() throws IOException {
+			bufferedWriter.flush();
+			lastFlushTime = System.nanoTime();
+		}
+		
+		/**
+		 * Function to begin a batch of writes, within which the flushes required by the {@link FlushPolicy} are deferred
+		 */
+		private void beginBatch() {
+			isWithinBatch = true;
+		}
+		
+		/**
+		 * Function to end the current batch of writes, flushing the report file if any flush was deferred within the batch
+		 * @throws IOException If the file cannot be flushed
+		 */
+		private void endBatch() throws IOException {
+			isWithinBatch = false;
+			
+			if (isFlushPending) {
+				isFlushPending = false;
+				if (bufferedWriter != null) {
+					flush();
+				}
+			}
+		}
+		
+		private boolean shouldFlush(boolean isSectionBoundary) {
+			switch (flushPolicy) {
+			case PER_SECTION:
+				return isSectionBoundary;
+				
+			case TIME_BASED:
+				return System.nanoTime() - lastFlushTime >= flushIntervalNanos;
+				
+			default:
+				return true;
+			}
+		}
+		
+		/**
+		 * Function to flush and close the report file
+		 * @throws IOException If the file cannot be closed
+		 */
+		private void close() throws IOException {
+			isFlushPending = false;	// Closing the file flushes it
+			
+			if (bufferedWriter != null) {
+				try {
+					bufferedWriter.close();
+				} finally {
+					bufferedWriter = null;
+				}
+			}
+		}
+	}
 }
\ No newline at end of file
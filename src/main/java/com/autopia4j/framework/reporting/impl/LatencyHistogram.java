@@ -0,0 +1,99 @@
+package com.autopia4j.framework.reporting.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.autopia4j.framework.reporting.event.LatencyStatistics;
+
+
+/**
+ * Class to record latencies into a fixed set of buckets, so that their percentiles can be estimated<br>
+ * The latencies are recorded in microseconds, into log-linear buckets (as in HdrHistogram): each power of two
+ * is split into 16 equal buckets, which bounds the error of the estimated percentiles to about 6%.
+ * Latencies of up to 2^40 microseconds (over 12 days) are recorded; longer latencies are clamped.
+ * Recording is lock-free (a single atomic increment), so that concurrent tests can share the histogram
+ * @author vj
+ */
+final class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+	private static final int MAX_VALUE_BITS = 40;
+	private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+	private static final int BUCKET_COUNT =
+			(MAX_VALUE_BITS - SUB_BUCKET_BITS + 2) * SUB_BUCKET_HALF_COUNT;
+	
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong maxLatency = new AtomicLong();
+	
+	
+	/**
+	 * Function to record the specified latency
+	 * @param latency The latency in nanoseconds
+	 */
+	void record(long latency) {
+		counts.incrementAndGet(getBucketIndex(Math.min(latency / 1000, MAX_VALUE)));
+		
+		long currentMaxLatency = maxLatency.get();
+		while (latency > currentMaxLatency &&
+				!maxLatency.compareAndSet(currentMaxLatency, latency)) {
+			currentMaxLatency = maxLatency.get();
+		}
+	}
+	
+	private static int getBucketIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		
+		int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+		return (shift + 1) * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift) - SUB_BUCKET_HALF_COUNT;
+	}
+	
+	private static long getHighestValueInBucket(int bucketIndex) {
+		if (bucketIndex < SUB_BUCKET_COUNT) {
+			return bucketIndex;
+		}
+		
+		int shift = bucketIndex / SUB_BUCKET_HALF_COUNT - 1;
+		long subBucket = bucketIndex % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+		return ((subBucket + 1) << shift) - 1;
+	}
+	
+	/**
+	 * Function to get the statistics of the latencies recorded so far
+	 * @param name The name to be given to the statistics
+	 * @return The {@link LatencyStatistics}
+	 */
+	LatencyStatistics getStatistics(String name) {
+		// Take a snapshot of the counts, so that all the percentiles are consistent with each other
+		long[] countsSnapshot = new long[BUCKET_COUNT];
+		long totalCount = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			countsSnapshot[i] = counts.get(i);
+			totalCount += countsSnapshot[i];
+		}
+		long max = maxLatency.get();
+		
+		return new LatencyStatistics(name, totalCount,
+										getPercentile(countsSnapshot, totalCount, 50, max),
+										getPercentile(countsSnapshot, totalCount, 90, max),
+										getPercentile(countsSnapshot, totalCount, 99, max),
+										max);
+	}
+	
+	private static long getPercentile(long[] countsSnapshot, long totalCount,
+										double percentile, long max) {
+		long rank = Math.max(1, (long) Math.ceil(percentile * totalCount / 100));
+		long cumulativeCount = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			cumulativeCount += countsSnapshot[i];
+			if (cumulativeCount >= rank) {
+				// Report the highest latency within the bucket (up to the actual maximum)
+				return Math.min(getHighestValueInBucket(i) * 1000 + 999, max);
+			}
+		}
+		
+		return max;
+	}
+}
\ No newline at end of file
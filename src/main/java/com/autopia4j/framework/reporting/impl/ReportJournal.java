@@ -0,0 +1,153 @@
+package com.autopia4j.framework.reporting.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.reporting.ReportSettings;
+import com.autopia4j.framework.reporting.ReportSink;
+import com.autopia4j.framework.reporting.event.FooterEvent;
+import com.autopia4j.framework.reporting.event.ReportEvent;
+import com.autopia4j.framework.utils.Util;
+
+
+/**
+ * Class to append the report events to a binary journal, which is shared by all the tests within the run<br>
+ * Each batch of events is encoded into length-prefixed records (as described in {@link ReportJournalCodec}),
+ * and appended to the journal using a single sequential write, so that the tests do not pay for
+ * rendering the reports. The reports can be rendered from the journal after the run
+ * (as many times as required, and with any layout) using the {@link ReportJournalRenderer}
+ * @author vj
+ */
+public class ReportJournal implements ReportSink {
+	/**
+	 * The name of the journal file, which is created within the report path
+	 */
+	public static final String JOURNAL_FILE_NAME = "Report Journal.bin";
+	
+	private static final Map<String, JournalFile> OPEN_JOURNAL_FILES = new HashMap<>();
+	
+	private final Logger logger = LoggerFactory.getLogger(ReportJournal.class);
+	private final ReportJournalCodec codec = new ReportJournalCodec();
+	private final String journalPath;
+	private final String reportName;
+	private JournalFile journalFile;
+	
+	
+	/**
+	 * Constructor to initialize the report journal
+	 * @param reportSettings The {@link ReportSettings} object
+	 */
+	public ReportJournal(ReportSettings reportSettings) {
+		journalPath = getJournalPath(reportSettings.getReportPath());
+		reportName = reportSettings.getReportName();
+	}
+	
+	/**
+	 * Function to get the path of the journal file within the specified report path
+	 * @param reportPath The report path
+	 * @return The journal file path
+	 */
+	public static String getJournalPath(String reportPath) {
+		return reportPath + Util.getFileSeparator() + JOURNAL_FILE_NAME;
+	}
+	
+	@Override
+	public void consume(List<ReportEvent> events) {
+		boolean isReportLogCompleted = false;
+		
+		codec.clear();
+		for (ReportEvent event : events) {
+			codec.encode(reportName, event);
+			if (event instanceof FooterEvent) {
+				isReportLogCompleted = true;
+			}
+		}
+		
+		try {
+			if (journalFile == null) {
+				journalFile = JournalFile.acquire(journalPath);
+			}
+			journalFile.append(codec.getRecords());
+			
+			if (isReportLogCompleted) {
+				// The journal file is closed once all the report logs writing into it are completed
+				journalFile.release();
+				journalFile = null;
+			}
+		} catch (IOException e) {
+			String errorDescription = "Error while writing into the report journal";
+			logger.error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		}
+	}
+	
+	
+	/**
+	 * Class to encapsulate a journal file, which is held open as long as any report log is writing into it
+	 */
+	private static final class JournalFile {
+		private final String filePath;
+		private final FileChannel fileChannel;
+		private int nReferences = 0;
+		
+		private JournalFile(String filePath, FileChannel fileChannel) {
+			this.filePath = filePath;
+			this.fileChannel = fileChannel;
+		}
+		
+		private static JournalFile acquire(String filePath) throws IOException {
+			synchronized (OPEN_JOURNAL_FILES) {
+				JournalFile journalFile = OPEN_JOURNAL_FILES.get(filePath);
+				if (journalFile == null) {
+					FileChannel fileChannel = FileChannel.open(Paths.get(filePath),
+											StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+											StandardOpenOption.APPEND);
+					journalFile = new JournalFile(filePath, fileChannel);
+					
+					if (fileChannel.size() == 0) {
+						ByteBuffer header = ByteBuffer.allocate(ReportJournalCodec.HEADER_LENGTH);
+						ReportJournalCodec.writeHeader(header);
+						header.flip();
+						journalFile.append(header);
+					}
+					
+					OPEN_JOURNAL_FILES.put(filePath, journalFile);
+				}
+				
+				journalFile.nReferences++;
+				return journalFile;
+			}
+		}
+		
+		/**
+		 * Function to append the specified records to the journal file
+		 * (the records are written contiguously, even if other report logs append to the file at the same time)
+		 * @param records The records to be appended
+		 * @throws IOException If the records cannot be written
+		 */
+		private synchronized void append(ByteBuffer records) throws IOException {
+			while (records.hasRemaining()) {
+				fileChannel.write(records);
+			}
+		}
+		
+		private void release() throws IOException {
+			synchronized (OPEN_JOURNAL_FILES) {
+				if (--nReferences == 0) {
+					OPEN_JOURNAL_FILES.remove(filePath);
+					fileChannel.close();
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,357 @@
+package com.autopia4j.framework.reporting.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.core.TestParameters;
+import com.autopia4j.framework.reporting.Status;
+import com.autopia4j.framework.reporting.event.FooterEvent;
+import com.autopia4j.framework.reporting.event.HeadingEvent;
+import com.autopia4j.framework.reporting.event.InitializationEvent;
+import com.autopia4j.framework.reporting.event.LatencyStatistics;
+import com.autopia4j.framework.reporting.event.PerformanceSummaryEvent;
+import com.autopia4j.framework.reporting.event.ReportEvent;
+import com.autopia4j.framework.reporting.event.ReportLog;
+import com.autopia4j.framework.reporting.event.SectionEvent;
+import com.autopia4j.framework.reporting.event.StepEvent;
+import com.autopia4j.framework.reporting.event.SubHeadingEvent;
+import com.autopia4j.framework.reporting.event.SummaryRowEvent;
+import com.autopia4j.framework.reporting.event.TableHeadingsEvent;
+
+
+/**
+ * Class to encode the {@link ReportEvent}s into the binary records of the report journal, and decode them back<br>
+ * The journal starts with a header (magic number and format version), followed by the records.
+ * Each record is laid out as follows (all numbers are big-endian):
+ * <ul>
+ * <li>int: the length of the rest of the record, in bytes</li>
+ * <li>byte: the record type</li>
+ * <li>long: the monotonic timestamp at which the event was raised</li>
+ * <li>string: the name of the report which raised the event</li>
+ * <li>the fields of the event, in the order of its constructor arguments</li>
+ * </ul>
+ * Strings are written as an int length (-1 for null) followed by the UTF-8 bytes,
+ * Booleans as a single byte, enumerations as a single byte containing the ordinal,
+ * and lists as an int size followed by the elements
+ * @author vj
+ */
+final class ReportJournalCodec {
+	static final int MAGIC_NUMBER = 0x414A524E;	// "AJRN"
+	static final int FORMAT_VERSION = 4;
+	static final int HEADER_LENGTH = 8;
+	
+	private static final byte INITIALIZATION_RECORD = 1;
+	private static final byte HEADING_RECORD = 2;
+	private static final byte SUB_HEADING_RECORD = 3;
+	private static final byte TABLE_HEADINGS_RECORD = 4;
+	private static final byte SECTION_RECORD = 5;
+	private static final byte STEP_RECORD = 6;
+	private static final byte FOOTER_RECORD = 7;
+	private static final byte SUMMARY_ROW_RECORD = 8;
+	private static final byte PERFORMANCE_SUMMARY_RECORD = 9;
+	
+	private static final int INITIAL_BUFFER_SIZE = 8192;
+	
+	private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+	
+	
+	/**
+	 * Function to write the journal header into the specified buffer
+	 * @param headerBuffer The buffer into which the header is to be written
+	 */
+	static void writeHeader(ByteBuffer headerBuffer) {
+		headerBuffer.putInt(MAGIC_NUMBER);
+		headerBuffer.putInt(FORMAT_VERSION);
+	}
+	
+	/**
+	 * Function to clear the records encoded so far
+	 */
+	void clear() {
+		buffer.clear();
+	}
+	
+	/**
+	 * Function to get the records encoded since the last call to {@link #clear()}
+	 * @return A buffer containing the encoded records, ready to be written
+	 */
+	ByteBuffer getRecords() {
+		ByteBuffer records = buffer.duplicate();
+		records.flip();
+		return records;
+	}
+	
+	/**
+	 * Function to encode the specified {@link ReportEvent} into a record
+	 * @param reportName The name of the report which raised the event
+	 * @param event The {@link ReportEvent} to be encoded
+	 */
+	void encode(String reportName, ReportEvent event) {
+		int recordStart = buffer.position();
+		putInt(0);	// Placeholder for the record length
+		putByte(getRecordType(event));
+		putLong(event.getTimestamp());
+		putString(reportName);
+		
+		if (event instanceof InitializationEvent) {
+			putByte((byte) ((InitializationEvent) event).getReportLog().ordinal());
+		} else if (event instanceof HeadingEvent) {
+			HeadingEvent headingEvent = (HeadingEvent) event;
+			putByte((byte) headingEvent.getReportLog().ordinal());
+			putString(headingEvent.getHeading());
+		} else if (event instanceof SubHeadingEvent) {
+			SubHeadingEvent subHeadingEvent = (SubHeadingEvent) event;
+			putByte((byte) subHeadingEvent.getReportLog().ordinal());
+			putString(subHeadingEvent.getSubHeading1());
+			putString(subHeadingEvent.getSubHeading2());
+			putString(subHeadingEvent.getSubHeading3());
+			putString(subHeadingEvent.getSubHeading4());
+		} else if (event instanceof TableHeadingsEvent) {
+			putByte((byte) ((TableHeadingsEvent) event).getReportLog().ordinal());
+		} else if (event instanceof SectionEvent) {
+			SectionEvent sectionEvent = (SectionEvent) event;
+			putString(sectionEvent.getSection());
+			putByte((byte) (sectionEvent.isSubSection()? 1 : 0));
+		} else if (event instanceof StepEvent) {
+			StepEvent stepEvent = (StepEvent) event;
+			putString(stepEvent.getStepNumber());
+			putString(stepEvent.getStepName());
+			putString(stepEvent.getStepDescription());
+			putByte((byte) stepEvent.getStepStatus().ordinal());
+			putByte((byte) (stepEvent.isScreenshotTaken()? 1 : 0));
+			putString(stepEvent.getScreenshotName());
+			putLong(stepEvent.getStepDuration());
+			putLong(stepEvent.getElapsedTime());
+			putLong(stepEvent.getStepTime());
+		} else if (event instanceof FooterEvent) {
+			FooterEvent footerEvent = (FooterEvent) event;
+			putByte((byte) footerEvent.getReportLog().ordinal());
+			putString(footerEvent.getExecutionTime());
+			putInt(footerEvent.getPassedCount());
+			putInt(footerEvent.getFailedCount());
+		} else if (event instanceof PerformanceSummaryEvent) {
+			PerformanceSummaryEvent performanceSummaryEvent = (PerformanceSummaryEvent) event;
+			putLatencyStatistics(performanceSummaryEvent.getStepNameStatistics());
+			putLatencyStatistics(performanceSummaryEvent.getStepStatusStatistics());
+		} else {
+			SummaryRowEvent summaryRowEvent = (SummaryRowEvent) event;
+			TestParameters testParameters = summaryRowEvent.getTestParameters();
+			putString(testParameters.getCurrentModule());
+			putString(testParameters.getCurrentTestcase());
+			putString(testParameters.getCurrentTestInstance());
+			putString(testParameters.getCurrentTestDescription());
+			putString(testParameters.getAdditionalDetails());
+			putString(summaryRowEvent.getTestReportName());
+			putString(summaryRowEvent.getExecutionTime());
+			putString(summaryRowEvent.getTestStatus());
+			putLong(summaryRowEvent.getTestDuration());
+		}
+		
+		buffer.putInt(recordStart, buffer.position() - recordStart - 4);
+	}
+	
+	private static byte getRecordType(ReportEvent event) {
+		if (event instanceof InitializationEvent) {
+			return INITIALIZATION_RECORD;
+		} else if (event instanceof HeadingEvent) {
+			return HEADING_RECORD;
+		} else if (event instanceof SubHeadingEvent) {
+			return SUB_HEADING_RECORD;
+		} else if (event instanceof TableHeadingsEvent) {
+			return TABLE_HEADINGS_RECORD;
+		} else if (event instanceof SectionEvent) {
+			return SECTION_RECORD;
+		} else if (event instanceof StepEvent) {
+			return STEP_RECORD;
+		} else if (event instanceof FooterEvent) {
+			return FOOTER_RECORD;
+		} else if (event instanceof SummaryRowEvent) {
+			return SUMMARY_ROW_RECORD;
+		} else if (event instanceof PerformanceSummaryEvent) {
+			return PERFORMANCE_SUMMARY_RECORD;
+		} else {
+			throw new AutopiaException("Unsupported report event: " + event.getClass().getName());
+		}
+	}
+	
+	private void ensureCapacity(int nBytes) {
+		if (buffer.remaining() < nBytes) {
+			int newCapacity = Math.max(buffer.capacity() * 2, buffer.position() + nBytes);
+			ByteBuffer newBuffer = ByteBuffer.allocate(newCapacity);
+			buffer.flip();
+			newBuffer.put(buffer);
+			buffer = newBuffer;
+		}
+	}
+	
+	private void putByte(byte value) {
+		ensureCapacity(1);
+		buffer.put(value);
+	}
+	
+	private void putInt(int value) {
+		ensureCapacity(4);
+		buffer.putInt(value);
+	}
+	
+	private void putLong(long value) {
+		ensureCapacity(8);
+		buffer.putLong(value);
+	}
+	
+	private void putLatencyStatistics(List<LatencyStatistics> latencyStatistics) {
+		putInt(latencyStatistics.size());
+		for (LatencyStatistics statistics : latencyStatistics) {
+			putString(statistics.getName());
+			putLong(statistics.getCount());
+			putLong(statistics.getP50());
+			putLong(statistics.getP90());
+			putLong(statistics.getP99());
+			putLong(statistics.getMax());
+		}
+	}
+	
+	private void putString(String value) {
+		if (value == null) {
+			putInt(-1);
+			return;
+		}
+		
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		putInt(bytes.length);
+		ensureCapacity(bytes.length);
+		buffer.put(bytes);
+	}
+	
+	/**
+	 * Function to decode the specified record
+	 * @param record A buffer containing the record, excluding its length prefix
+	 * @return The decoded {@link JournalRecord}
+	 */
+	static JournalRecord decode(ByteBuffer record) {
+		byte recordType = record.get();
+		long timestamp = record.getLong();
+		String reportName = getString(record);
+		ReportEvent event;
+		
+		switch (recordType) {
+		case INITIALIZATION_RECORD:
+			event = new InitializationEvent(getReportLog(record));
+			break;
+		
+		case HEADING_RECORD:
+			event = new HeadingEvent(getReportLog(record), getString(record));
+			break;
+		
+		case SUB_HEADING_RECORD:
+			event = new SubHeadingEvent(getReportLog(record), getString(record), getString(record),
+											getString(record), getString(record));
+			break;
+		
+		case TABLE_HEADINGS_RECORD:
+			event = new TableHeadingsEvent(getReportLog(record));
+			break;
+		
+		case SECTION_RECORD:
+			event = new SectionEvent(getString(record), record.get() != 0);
+			break;
+		
+		case STEP_RECORD:
+			event = new StepEvent(getString(record), getString(record), getString(record),
+									Status.values()[record.get()], record.get() != 0, getString(record),
+									record.getLong(), record.getLong(), record.getLong());
+			break;
+		
+		case FOOTER_RECORD:
+			event = new FooterEvent(getReportLog(record), getString(record),
+										record.getInt(), record.getInt());
+			break;
+		
+		case SUMMARY_ROW_RECORD:
+			TestParameters testParameters = new TestParameters(getString(record), getString(record));
+			testParameters.setCurrentTestInstance(getString(record));
+			testParameters.setCurrentTestDescription(getString(record));
+			testParameters.setAdditionalDetails(getString(record));
+			event = new SummaryRowEvent(testParameters, getString(record),
+											getString(record), getString(record), record.getLong());
+			break;
+		
+		case PERFORMANCE_SUMMARY_RECORD:
+			event = new PerformanceSummaryEvent(getLatencyStatistics(record), getLatencyStatistics(record));
+			break;
+		
+		default:
+			throw new AutopiaException("Unsupported record type in the report journal: " + recordType);
+		}
+		
+		return new JournalRecord(reportName, timestamp, event);
+	}
+	
+	private static ReportLog getReportLog(ByteBuffer record) {
+		return ReportLog.values()[record.get()];
+	}
+	
+	private static List<LatencyStatistics> getLatencyStatistics(ByteBuffer record) {
+		int size = record.getInt();
+		List<LatencyStatistics> latencyStatistics = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			latencyStatistics.add(new LatencyStatistics(getString(record), record.getLong(), record.getLong(),
+															record.getLong(), record.getLong(), record.getLong()));
+		}
+		return latencyStatistics;
+	}
+	
+	private static String getString(ByteBuffer record) {
+		int length = record.getInt();
+		if (length < 0) {
+			return null;
+		}
+		
+		byte[] bytes = new byte[length];
+		record.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	
+	/**
+	 * Class to represent a record decoded from the report journal
+	 */
+	static final class JournalRecord {
+		private final String reportName;
+		private final long timestamp;
+		private final ReportEvent event;
+		
+		private JournalRecord(String reportName, long timestamp, ReportEvent event) {
+			this.reportName = reportName;
+			this.timestamp = timestamp;
+			this.event = event;
+		}
+		
+		/**
+		 * Function to get the name of the report which raised the event
+		 * @return The report name
+		 */
+		String getReportName() {
+			return reportName;
+		}
+		
+		/**
+		 * Function to get the monotonic time at which the event was raised
+		 * @return The timestamp (as per {@link System#nanoTime()} within the JVM which raised the event)
+		 */
+		long getTimestamp() {
+			return timestamp;
+		}
+		
+		/**
+		 * Function to get the decoded {@link ReportEvent}
+		 * @return The {@link ReportEvent}
+		 */
+		ReportEvent getEvent() {
+			return event;
+		}
+	}
+}
\ No newline at end of file
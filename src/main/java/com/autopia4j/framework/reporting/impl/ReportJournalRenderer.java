@@ -0,0 +1,245 @@
+package com.autopia4j.framework.reporting.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.reporting.ReportSettings;
+import com.autopia4j.framework.reporting.ReportTheme;
+import com.autopia4j.framework.reporting.ReportType;
+import com.autopia4j.framework.reporting.event.FooterEvent;
+import com.autopia4j.framework.reporting.event.HeadingEvent;
+import com.autopia4j.framework.reporting.event.InitializationEvent;
+import com.autopia4j.framework.reporting.event.PerformanceSummaryEvent;
+import com.autopia4j.framework.reporting.event.ReportEvent;
+import com.autopia4j.framework.reporting.event.ReportLog;
+import com.autopia4j.framework.reporting.event.SubHeadingEvent;
+import com.autopia4j.framework.reporting.event.SummaryRowEvent;
+import com.autopia4j.framework.reporting.event.TableHeadingsEvent;
+import com.autopia4j.framework.utils.Util;
+
+
+/**
+ * Class to render the HTML and Excel reports of a run from its {@link ReportJournal}, after the run<br>
+ * The test logs (and the result summary) are rendered in parallel, each as a single batch of events.
+ * The reports generated are as per the {@link ReportSettings} specified for rendering (and not those
+ * used during the run), so that the report layouts can be regenerated without re-running the tests
+ * @author vj
+ */
+public class ReportJournalRenderer {
+	private final Logger logger = LoggerFactory.getLogger(ReportJournalRenderer.class);
+	private final ReportSettings reportSettings;
+	private final ReportTheme reportTheme;
+	
+	
+	/**
+	 * Constructor to initialize the report journal renderer
+	 * @param reportSettings The {@link ReportSettings} object, which specifies the report path (containing the journal)
+	 * and the reports to be generated
+	 * @param reportTheme The {@link ReportTheme} object
+	 */
+	public ReportJournalRenderer(ReportSettings reportSettings, ReportTheme reportTheme) {
+		this.reportSettings = reportSettings;
+		this.reportTheme = reportTheme;
+	}
+	
+	/**
+	 * Function to render the reports from the journal
+	 * @param nThreads The number of test logs to be rendered in parallel
+	 */
+	public void render(int nThreads) {
+		final Map<String, List<ReportEvent>> testLogEvents = new LinkedHashMap<>();
+		final List<ReportEvent> resultSummaryEvents = new ArrayList<>();
+		readJournal(testLogEvents, resultSummaryEvents);
+		
+		createResultsFolders();
+		
+		ExecutorService executorService = Executors.newFixedThreadPool(nThreads);
+		List<Future<?>> renderTasks = new ArrayList<>();
+		try {
+			for (final Map.Entry<String, List<ReportEvent>> entry : testLogEvents.entrySet()) {
+				renderTasks.add(executorService.submit(new Runnable() {
+					@Override
+					public void run() {
+						renderReports(createReportSettings(entry.getKey()), entry.getValue());
+					}
+				}));
+			}
+			
+			if (!resultSummaryEvents.isEmpty()) {
+				renderTasks.add(executorService.submit(new Runnable() {
+					@Override
+					public void run() {
+						renderReports(createReportSettings(reportSettings.getReportName()),
+																	resultSummaryEvents);
+					}
+				}));
+			}
+			
+			for (Future<?> renderTask : renderTasks) {
+				renderTask.get();
+			}
+		} catch (ExecutionException e) {
+			String errorDescription = "Error while rendering the reports from the journal";
+			logger.error(errorDescription, e.getCause());
+			throw new AutopiaException(errorDescription);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			String errorDescription = "Interrupted while rendering the reports from the journal";
+			logger.error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+	
+	private void readJournal(Map<String, List<ReportEvent>> testLogEvents,
+												List<ReportEvent> resultSummaryEvents) {
+		String journalPath = ReportJournal.getJournalPath(reportSettings.getReportPath());
+		ByteBuffer journal;
+		
+		try (FileChannel fileChannel = FileChannel.open(Paths.get(journalPath), StandardOpenOption.READ)) {
+			journal = ByteBuffer.allocate((int) fileChannel.size());
+			while (journal.hasRemaining() && fileChannel.read(journal) >= 0) {
+				// Read the entire journal
+			}
+			journal.flip();
+		} catch (IOException e) {
+			String errorDescription = "Error while reading the report journal";
+			logger.error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		if (journal.remaining() < ReportJournalCodec.HEADER_LENGTH ||
+				journal.getInt() != ReportJournalCodec.MAGIC_NUMBER ||
+				journal.getInt() != ReportJournalCodec.FORMAT_VERSION) {
+			String errorDescription = "The report journal is invalid or of an unsupported version!";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		while (journal.remaining() >= 4) {
+			int recordLength = journal.getInt();
+			if (recordLength > journal.remaining()) {
+				// The run was interrupted while the record was being written
+				logger.warn("Ignoring the incomplete record at the end of the report journal");
+				break;
+			}
+			
+			ByteBuffer record = journal.slice();
+			record.limit(recordLength);
+			journal.position(journal.position() + recordLength);
+			
+			ReportJournalCodec.JournalRecord journalRecord = ReportJournalCodec.decode(record);
+			ReportEvent event = journalRecord.getEvent();
+			if (isResultSummaryEvent(event)) {
+				resultSummaryEvents.add(event);
+			} else {
+				List<ReportEvent> events = testLogEvents.get(journalRecord.getReportName());
+				if (events == null) {
+					events = new ArrayList<>();
+					testLogEvents.put(journalRecord.getReportName(), events);
+				}
+				events.add(event);
+			}
+		}
+	}
+	
+	private static boolean isResultSummaryEvent(ReportEvent event) {
+		ReportLog reportLog;
+		if (event instanceof InitializationEvent) {
+			reportLog = ((InitializationEvent) event).getReportLog();
+		} else if (event instanceof HeadingEvent) {
+			reportLog = ((HeadingEvent) event).getReportLog();
+		} else if (event instanceof SubHeadingEvent) {
+			reportLog = ((SubHeadingEvent) event).getReportLog();
+		} else if (event instanceof TableHeadingsEvent) {
+			reportLog = ((TableHeadingsEvent) event).getReportLog();
+		} else if (event instanceof FooterEvent) {
+			reportLog = ((FooterEvent) event).getReportLog();
+		} else {
+			return event instanceof SummaryRowEvent || event instanceof PerformanceSummaryEvent;
+		}
+		
+		return reportLog == ReportLog.RESULT_SUMMARY;
+	}
+	
+	private void createResultsFolders() {
+		if (reportSettings.shouldGenerateExcelReports() || reportSettings.shouldGenerateXlsxReports()) {
+			new File(reportSettings.getReportPath() +
+						Util.getFileSeparator() + "Excel Results").mkdir();
+		}
+		
+		if (reportSettings.shouldGenerateHtmlReports()) {
+			new File(reportSettings.getReportPath() +
+						Util.getFileSeparator() + "HTML Results").mkdir();
+		}
+	}
+	
+	private ReportSettings createReportSettings(String reportName) {
+		ReportSettings testReportSettings =
+				new ReportSettings(reportSettings.getReportPath(), reportName);
+		testReportSettings.setProjectName(reportSettings.getProjectName());
+		testReportSettings.setLogLevel(reportSettings.getLogLevel());
+		testReportSettings.setDateFormatString(reportSettings.getDateFormatString());
+		testReportSettings.setGenerateExcelReports(reportSettings.shouldGenerateExcelReports());
+		testReportSettings.setGenerateXlsxReports(reportSettings.shouldGenerateXlsxReports());
+		testReportSettings.setGenerateHtmlReports(reportSettings.shouldGenerateHtmlReports());
+		testReportSettings.setLinkScreenshotsToTestLog(reportSettings.shouldLinkScreenshotsToTestLog());
+		testReportSettings.setLinkTestLogsToSummary(reportSettings.shouldLinkTestLogsToSummary());
+		testReportSettings.setHtmlReportFlushPolicy(reportSettings.getHtmlReportFlushPolicy());
+		testReportSettings.setHtmlReportFlushInterval(reportSettings.getHtmlReportFlushInterval());
+		return testReportSettings;
+	}
+	
+	private void renderReports(ReportSettings testReportSettings, List<ReportEvent> events) {
+		List<ReportType> reportTypes = new ArrayList<>();
+		if (testReportSettings.shouldGenerateExcelReports()) {
+			reportTypes.add(new ExcelReport(testReportSettings, reportTheme));
+		}
+		if (testReportSettings.shouldGenerateXlsxReports()) {
+			reportTypes.add(new XlsxReport(testReportSettings, reportTheme));
+		}
+		if (testReportSettings.shouldGenerateHtmlReports()) {
+			reportTypes.add(new HtmlReport(testReportSettings, reportTheme));
+		}
+		
+		int batchStart = 0;
+		for (int i = 0; i < events.size(); i++) {
+			ReportEvent event = events.get(i);
+			if (event instanceof SummaryRowEvent &&
+					"aborted".equalsIgnoreCase(((SummaryRowEvent) event).getTestStatus())) {
+				// As during the run, the test logs are not linked to the summary after any test is aborted
+				consume(reportTypes, events.subList(batchStart, i));
+				testReportSettings.setLinkTestLogsToSummary(false);
+				batchStart = i;
+			}
+		}
+		consume(reportTypes, events.subList(batchStart, events.size()));
+	}
+	
+	private static void consume(List<ReportType> reportTypes, List<ReportEvent> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		
+		for (ReportType reportType : reportTypes) {
+			reportType.consume(events);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.autopia4j.framework.reporting.impl;
+
+import java.awt.AWTException;
+import java.awt.Rectangle;
+import java.awt.Robot;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+
+
+/**
+ * Class to capture screenshots of the screen, and encode them into image files in the background<br>
+ * A single {@link Robot} (the capture device) is shared by all the tests within the JVM. The captured frames
+ * are encoded (as PNG) by a small pool of daemon threads, so that the test thread returns as soon as the frame
+ * is captured. The pool queues only a few frames (each of which holds the raw pixels of the entire screen);
+ * once the queue is full, the test thread encodes its frame itself, which bounds the memory used
+ * @author vj
+ */
+public final class ScreenshotService {
+	private static final String IMAGE_FORMAT = "png";
+	private static final int N_ENCODER_THREADS =
+			Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+	private static final int MAX_PENDING_FRAMES = 2 * N_ENCODER_THREADS;
+	
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+	
+	private static final ScreenshotService INSTANCE = new ScreenshotService();
+	
+	private final Logger logger = LoggerFactory.getLogger(ScreenshotService.class);
+	private final ThreadPoolExecutor encoderPool;
+	private Robot robot;
+	
+	
+	private ScreenshotService() {
+		final AtomicInteger nThreadsCreated = new AtomicInteger();
+		ThreadFactory threadFactory = new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread encoderThread = new Thread(runnable, "autopia4j-screenshot-encoder-" +
+																nThreadsCreated.incrementAndGet());
+				encoderThread.setDaemon(true);
+				return encoderThread;
+			}
+		};
+		
+		encoderPool = new ThreadPoolExecutor(N_ENCODER_THREADS, N_ENCODER_THREADS,
+												0L, TimeUnit.MILLISECONDS,
+												new ArrayBlockingQueue<Runnable>(MAX_PENDING_FRAMES),
+												threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+	
+	/**
+	 * Function to get the screenshot service shared by all the tests within the JVM
+	 * @return The {@link ScreenshotService}
+	 */
+	public static ScreenshotService getInstance() {
+		return INSTANCE;
+	}
+	
+	private synchronized Robot getRobot() {
+		if (robot == null) {
+			try {
+				robot = new Robot();
+			} catch (AWTException e) {
+				String errorDescription = "Error while creating Robot object (for taking screenshot)";
+				logger.error(errorDescription, e);
+				throw new AutopiaException(errorDescription);
+			}
+		}
+		return robot;
+	}
+	
+	/**
+	 * Function to capture a frame of the entire screen
+	 * @return The captured frame
+	 */
+	public BufferedImage captureFrame() {
+		Rectangle screenRectangle = new Rectangle(Toolkit.getDefaultToolkit().getScreenSize());
+		return getRobot().createScreenCapture(screenRectangle);
+	}
+	
+	/**
+	 * Function to capture a screenshot of the entire screen, and encode it into the specified file in the background
+	 * @param screenshotPath The path where the screenshot should be saved (as a PNG file)
+	 * @return A {@link Future} which completes once the screenshot file is written
+	 */
+	public Future<?> captureScreen(String screenshotPath) {
+		return encode(captureFrame(), screenshotPath);
+	}
+	
+	/**
+	 * Function to compute a SHA-256 digest of the dimensions and pixels of the specified image,
+	 * so that identical screenshots can be detected before they are encoded
+	 * (a cryptographic digest is used, so that two different screenshots never share the same digest in practice)
+	 * @param image The image
+	 * @return The digest, as a hexadecimal string
+	 */
+	public static String digest(BufferedImage image) {
+		MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			String errorDescription = "The " + DIGEST_ALGORITHM + " algorithm is not available";
+			LoggerFactory.getLogger(ScreenshotService.class).error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		int width = image.getWidth();
+		int height = image.getHeight();
+		ByteBuffer byteBuffer = ByteBuffer.allocate(DIGEST_BUFFER_SIZE);
+		IntBuffer intBuffer = byteBuffer.asIntBuffer();
+		intBuffer.put(width).put(height);
+		
+		DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+		if (image.getType() == BufferedImage.TYPE_INT_RGB && dataBuffer.getNumBanks() == 1 &&
+				image.getRaster().getParent() == null) {
+			// Frames captured from the screen are backed by a single array of pixels, which can be read in place
+			// (the pixels are made opaque, as they would be if read using getRGB)
+			for (int pixel : ((DataBufferInt) dataBuffer).getData()) {
+				update(messageDigest, byteBuffer, intBuffer, pixel | 0xFF000000);
+			}
+		} else {
+			int[] rowPixels = new int[width];
+			for (int y = 0; y < height; y++) {
+				image.getRGB(0, y, width, 1, rowPixels, 0, width);
+				for (int pixel : rowPixels) {
+					update(messageDigest, byteBuffer, intBuffer, pixel);
+				}
+			}
+		}
+		messageDigest.update(byteBuffer.array(), 0, intBuffer.position() * 4);
+		
+		StringBuilder digest = new StringBuilder();
+		for (byte digestByte : messageDigest.digest()) {
+			digest.append(Character.forDigit((digestByte >> 4) & 0xF, 16));
+			digest.append(Character.forDigit(digestByte & 0xF, 16));
+		}
+		return digest.toString();
+	}
+	
+	private static void update(MessageDigest messageDigest, ByteBuffer byteBuffer, IntBuffer intBuffer, int pixel) {
+		if (!intBuffer.hasRemaining()) {
+			messageDigest.update(byteBuffer.array());
+			intBuffer.clear();
+		}
+		intBuffer.put(pixel);
+	}
+	
+	/**
+	 * Function to encode the specified image into the specified file in the background
+	 * @param image The image to be encoded (which must not be modified thereafter)
+	 * @param screenshotPath The path where the screenshot should be saved (as a PNG file)
+	 * @return A {@link Future} which completes once the screenshot file is written
+	 */
+	public Future<?> encode(final BufferedImage image, final String screenshotPath) {
+		return encoderPool.submit(new Callable<Void>() {
+			@Override
+			public Void call() throws IOException {
+				if (!ImageIO.write(image, IMAGE_FORMAT, new File(screenshotPath))) {
+					throw new IOException("No image writer is available for the " + IMAGE_FORMAT + " format");
+				}
+				return null;
+			}
+		});
+	}
+}
\ No newline at end of file
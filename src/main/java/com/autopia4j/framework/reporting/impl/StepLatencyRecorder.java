@@ -0,0 +1,204 @@
+package com.autopia4j.framework.reporting.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.reporting.Status;
+import com.autopia4j.framework.reporting.event.LatencyStatistics;
+import com.autopia4j.framework.utils.Util;
+
+
+/**
+ * Class to aggregate the durations of the test steps within a run, by step name and by step status<br>
+ * A single recorder is shared by all the tests which report into the same report path,
+ * so that the performance summary covers the entire run. The durations are recorded into
+ * lock-free {@link LatencyHistogram}s, so that the tests do not contend with each other
+ * @author vj
+ */
+public class StepLatencyRecorder {
+	/**
+	 * The name of the JSON file into which the performance summary is written, within the report path
+	 */
+	public static final String PERFORMANCE_SUMMARY_FILE_NAME = "Performance Summary.json";
+	
+	private static final ConcurrentMap<String, StepLatencyRecorder> RUN_RECORDERS =
+															new ConcurrentHashMap<>();
+	
+	private final Logger logger = LoggerFactory.getLogger(StepLatencyRecorder.class);
+	private final ConcurrentMap<String, LatencyHistogram> stepNameHistograms = new ConcurrentHashMap<>();
+	private final LatencyHistogram[] stepStatusHistograms = new LatencyHistogram[Status.values().length];
+	
+	
+	private StepLatencyRecorder() {
+		for (int i = 0; i < stepStatusHistograms.length; i++) {
+			stepStatusHistograms[i] = new LatencyHistogram();
+		}
+	}
+	
+	/**
+	 * Function to get the recorder shared by all the tests which report into the specified report path
+	 * @param reportPath The report path
+	 * @return The {@link StepLatencyRecorder} for the run
+	 */
+	public static StepLatencyRecorder getInstance(String reportPath) {
+		StepLatencyRecorder stepLatencyRecorder = RUN_RECORDERS.get(reportPath);
+		if (stepLatencyRecorder == null) {
+			StepLatencyRecorder newStepLatencyRecorder = new StepLatencyRecorder();
+			stepLatencyRecorder = RUN_RECORDERS.putIfAbsent(reportPath, newStepLatencyRecorder);
+			if (stepLatencyRecorder == null) {
+				stepLatencyRecorder = newStepLatencyRecorder;
+			}
+		}
+		return stepLatencyRecorder;
+	}
+	
+	/**
+	 * Function to release the recorder for the specified report path, once the run is completed
+	 * @param reportPath The report path
+	 */
+	public static void release(String reportPath) {
+		RUN_RECORDERS.remove(reportPath);
+	}
+	
+	/**
+	 * Function to record the duration of a test step
+	 * @param stepName The test step name
+	 * @param stepStatus The {@link Status} of the test step
+	 * @param stepDuration The duration of the test step, in nanoseconds (ignored if negative)
+	 */
+	public void recordStep(String stepName, Status stepStatus, long stepDuration) {
+		if (stepDuration < 0) {
+			return;
+		}
+		
+		LatencyHistogram stepNameHistogram = stepNameHistograms.get(stepName);
+		if (stepNameHistogram == null) {
+			LatencyHistogram newStepNameHistogram = new LatencyHistogram();
+			stepNameHistogram = stepNameHistograms.putIfAbsent(stepName, newStepNameHistogram);
+			if (stepNameHistogram == null) {
+				stepNameHistogram = newStepNameHistogram;
+			}
+		}
+		stepNameHistogram.record(stepDuration);
+		
+		stepStatusHistograms[stepStatus.ordinal()].record(stepDuration);
+	}
+	
+	/**
+	 * Function to get the latency statistics of the test steps recorded so far, grouped by step name
+	 * @return The {@link LatencyStatistics}, in the order of the step names
+	 */
+	public List<LatencyStatistics> getStepNameStatistics() {
+		List<LatencyStatistics> stepNameStatistics = new ArrayList<>();
+		Map<String, LatencyHistogram> sortedHistograms = new TreeMap<>(stepNameHistograms);
+		for (Map.Entry<String, LatencyHistogram> entry : sortedHistograms.entrySet()) {
+			stepNameStatistics.add(entry.getValue().getStatistics(entry.getKey()));
+		}
+		return stepNameStatistics;
+	}
+	
+	/**
+	 * Function to get the latency statistics of the test steps recorded so far, grouped by step status
+	 * @return The {@link LatencyStatistics}, in the order of the {@link Status} values
+	 * (statuses without any recorded step are omitted)
+	 */
+	public List<LatencyStatistics> getStepStatusStatistics() {
+		List<LatencyStatistics> stepStatusStatistics = new ArrayList<>();
+		for (Status status : Status.values()) {
+			LatencyStatistics statistics =
+					stepStatusHistograms[status.ordinal()].getStatistics(status.toString());
+			if (statistics.getCount() > 0) {
+				stepStatusStatistics.add(statistics);
+			}
+		}
+		return stepStatusStatistics;
+	}
+	
+	/**
+	 * Function to write the performance summary into a machine-readable JSON file within the specified report path
+	 * (the latencies are written in milliseconds, so that the summaries of successive runs can be compared)
+	 * @param reportPath The report path
+	 */
+	public void writePerformanceSummary(String reportPath) {
+		String performanceSummary = "{\n" +
+										"\t\"steps\": " + toJson(getStepNameStatistics()) + ",\n" +
+										"\t\"statuses\": " + toJson(getStepStatusStatistics()) + "\n" +
+									"}\n";
+		
+		try {
+			Files.write(Paths.get(reportPath + Util.getFileSeparator() + PERFORMANCE_SUMMARY_FILE_NAME),
+							performanceSummary.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			String errorDescription = "Error while writing the performance summary";
+			logger.error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		}
+	}
+	
+	private static String toJson(List<LatencyStatistics> latencyStatistics) {
+		if (latencyStatistics.isEmpty()) {
+			return "[]";
+		}
+		
+		StringBuilder json = new StringBuilder("[\n");
+		for (int i = 0; i < latencyStatistics.size(); i++) {
+			LatencyStatistics statistics = latencyStatistics.get(i);
+			json.append("\t\t{\"name\": ").append(toJsonString(statistics.getName()))
+				.append(", \"count\": ").append(statistics.getCount())
+				.append(", \"p50_ms\": ").append(toMilliseconds(statistics.getP50()))
+				.append(", \"p90_ms\": ").append(toMilliseconds(statistics.getP90()))
+				.append(", \"p99_ms\": ").append(toMilliseconds(statistics.getP99()))
+				.append(", \"max_ms\": ").append(toMilliseconds(statistics.getMax()))
+				.append((i < latencyStatistics.size() - 1)? "},\n" : "}\n");
+		}
+		return json.append("\t]").toString();
+	}
+	
+	/**
+	 * Function to convert the specified latency from nanoseconds to milliseconds, rounded to the nearest microsecond
+	 * @param latency The latency in nanoseconds
+	 * @return The latency in milliseconds
+	 */
+	static double toMilliseconds(long latency) {
+		return Math.round(latency / 1e3) / 1e3;
+	}
+	
+	private static String toJsonString(String value) {
+		if (value == null) {
+			return "null";
+		}
+		
+		StringBuilder jsonString = new StringBuilder("\"");
+		for (char character : value.toCharArray()) {
+			switch (character) {
+			case '"':
+				jsonString.append("\\\"");
+				break;
+			
+			case '\\':
+				jsonString.append("\\\\");
+				break;
+			
+			default:
+				if (character < 0x20) {
+					jsonString.append(String.format("\\u%04x", (int) character));
+				} else {
+					jsonString.append(character);
+				}
+			}
+		}
+		return jsonString.append('"').toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,726 @@
+package com.autopia4j.framework.reporting.impl;
+
+import java.awt.Color;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Hyperlink;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+import com.autopia4j.framework.core.TestParameters;
+import com.autopia4j.framework.reporting.ReportSettings;
+import com.autopia4j.framework.reporting.ReportTheme;
+import com.autopia4j.framework.reporting.ReportType;
+import com.autopia4j.framework.reporting.Status;
+import com.autopia4j.framework.utils.ExcelCellFormatting;
+import com.autopia4j.framework.utils.ExcelColumnWidthTracker;
+import com.autopia4j.framework.utils.Util;
+
+/**
+ * Class to encapsulate the .xlsx report generation functions of the framework<br>
+ * The test log and the result summary are streamed into .xlsx files using a {@link SXSSFWorkbook},
+ * so that only a sliding window of rows is held in memory, regardless of the number of test steps.
+ * The column widths are fitted to the contents using an {@link ExcelColumnWidthTracker}.
+ * Since rows which have been flushed out of the window cannot be modified any more,
+ * each row is grouped (outlined) within its section and sub-section as soon as it is created,
+ * and the files are written when the footers are added
+ * @author vj
+ */
+public class XlsxReport implements ReportType {
+	private static final String COVER_PAGE = "Cover_Page";
+	private static final String TEST_LOG = "Test_Log";
+	private static final String RESULT_SUMMARY = "Result_Summary";
+	
+	private static final String FONT_NAME = "Verdana";
+	private static final int ROW_ACCESS_WINDOW_SIZE = 100;
+	private static final int COVER_PAGE_LAST_COLUMN = 4;
+	
+	private static final String[] TEST_LOG_COLUMNS =
+		{"Step_No", "Step_Name", "Description", "Status", "Step_Time",
+			"Step_Duration_s", "Elapsed_Time_s"};
+	private static final int STEP_NO = 0;
+	private static final int STEP_NAME = 1;
+	private static final int STEP_DESCRIPTION = 2;
+	private static final int STATUS = 3;
+	private static final int STEP_TIME = 4;
+	private static final int STEP_DURATION = 5;
+	private static final int ELAPSED_TIME = 6;
+	
+	private static final String[] RESULT_SUMMARY_COLUMNS =
+		{"Module", "Test_Case", "Test_Instance", "Test_Description",
+			"Additional_Details", "Execution_Time", "Test_Status", "Duration_s"};
+	private static final int MODULE = 0;
+	private static final int TEST_CASE = 1;
+	private static final int TEST_INSTANCE = 2;
+	private static final int TEST_DESCRIPTION = 3;
+	private static final int ADDITIONAL_DETAILS = 4;
+	private static final int EXECUTION_TIME = 5;
+	private static final int TEST_STATUS = 6;
+	private static final int TEST_DURATION = 7;
+	
+	private final String excelResultsPath;
+	private ReportSettings reportSettings;
+	private ReportTheme reportTheme;
+	private ExcelCellFormatting cellFormatting = new ExcelCellFormatting();
+	
+	private StreamingWorkbook testLog;
+	private StreamingWorkbook resultSummary;
+	
+	private boolean isWithinSection = false;
+	private int currentOutlineLevel = 0;
+	
+	
+	/**
+	 * Constructor to initialize the .xlsx report path and name
+	 * @param reportSettings The {@link ReportSettings} object
+	 * @param reportTheme The {@link ReportTheme} object
+	 */
+	public XlsxReport(ReportSettings reportSettings, ReportTheme reportTheme) {
+		this.reportSettings = reportSettings;
+		this.reportTheme = reportTheme;
+		
+		excelResultsPath = reportSettings.getReportPath() +
+								Util.getFileSeparator() + "Excel Results";
+	}
+	
+	private static String getRelativeLinkAddress(String linkAddress) {
+		return linkAddress.replace(" ", "%20");	// Hyperlink addresses must be valid URIs
+	}
+	
+	
+	/* TEST LOG FUNCTIONS */
+	
+	@Override
+	public void initializeTestLog() {
+		testLog = new StreamingWorkbook(excelResultsPath + Util.getFileSeparator() +
+											reportSettings.getReportName() + ".xlsx");
+		testLog.createSheet(COVER_PAGE, COVER_PAGE_LAST_COLUMN);
+		testLog.createSheet(TEST_LOG, TEST_LOG_COLUMNS.length - 1).setRowSumsBelow(false);
+		
+		initializeColorPalette(testLog);
+		testLog.setPaletteColor((short) 0x10, "#FF8000");	//Orange (Warning)
+		testLog.setPaletteColor((short) 0x11, "#000000");	//Black (Done)
+		testLog.setPaletteColor((short) 0x12, "#00FF80");	//Blue (Screenshot)
+	}
+	
+	private void initializeColorPalette(StreamingWorkbook streamingWorkbook) {
+		streamingWorkbook.setPaletteColor((short) 0x8, reportTheme.getHeadingBackColor());
+		streamingWorkbook.setPaletteColor((short) 0x9, reportTheme.getHeadingForeColor());
+		streamingWorkbook.setPaletteColor((short) 0xA, reportTheme.getSectionBackColor());
+		streamingWorkbook.setPaletteColor((short) 0xB, reportTheme.getSectionForeColor());
+		streamingWorkbook.setPaletteColor((short) 0xC, reportTheme.getContentBackColor());
+		streamingWorkbook.setPaletteColor((short) 0xD, reportTheme.getContentForeColor());
+		streamingWorkbook.setPaletteColor((short) 0xE, "#008000");	//Green (Pass)
+		streamingWorkbook.setPaletteColor((short) 0xF, "#FF0000");	//Red (Fail)
+	}
+	
+	@Override
+	public void addTestLogHeading(String heading) {
+		setHeadingFormatting();
+		
+		Row row = testLog.addRow(COVER_PAGE, 0);
+		testLog.setMergedValue(row, 0, COVER_PAGE_LAST_COLUMN, heading, cellFormatting);
+	}
+	
+	private void setHeadingFormatting() {
+		cellFormatting.setFontName("Copperplate Gothic Bold");
+		cellFormatting.setFontSize((short) 12);
+		cellFormatting.setBold(true);
+		cellFormatting.setCentered(true);
+		cellFormatting.setBackColorIndex((short) 0x8);
+		cellFormatting.setForeColorIndex((short) 0x9);
+	}
+	
+	@Override
+	public void addTestLogSubHeading(String subHeading1, String subHeading2,
+										String subHeading3, String subHeading4) {
+		addSubHeading(testLog, subHeading1, subHeading2, subHeading3, subHeading4);
+	}
+	
+	private void addSubHeading(StreamingWorkbook streamingWorkbook,
+								String subHeading1, String subHeading2,
+								String subHeading3, String subHeading4) {
+		cellFormatting.setFontName(FONT_NAME);
+		cellFormatting.setFontSize((short) 10);
+		cellFormatting.setBold(true);
+		cellFormatting.setCentered(false);
+		cellFormatting.setBackColorIndex((short) 0x9);
+		cellFormatting.setForeColorIndex((short) 0x8);
+		
+		Row row = streamingWorkbook.addRow(COVER_PAGE, 0);
+		streamingWorkbook.setValue(row, 0, subHeading1, cellFormatting);
+		streamingWorkbook.setValue(row, 1, subHeading2, cellFormatting);
+		streamingWorkbook.setValue(row, 2, "", cellFormatting);
+		streamingWorkbook.setValue(row, 3, subHeading3, cellFormatting);
+		streamingWorkbook.setValue(row, 4, subHeading4, cellFormatting);
+	}
+	
+	@Override
+	public void addTestLogTableHeadings() {
+		addTableHeadings(testLog, TEST_LOG, TEST_LOG_COLUMNS);
+	}
+	
+	private void addTableHeadings(StreamingWorkbook streamingWorkbook,
+									String sheetName, String[] columnHeaders) {
+		cellFormatting.setFontName(FONT_NAME);
+		cellFormatting.setFontSize((short) 10);
+		cellFormatting.setBold(true);
+		cellFormatting.setCentered(true);
+		cellFormatting.setBackColorIndex((short) 0x8);
+		cellFormatting.setForeColorIndex((short) 0x9);
+		
+		Row row = streamingWorkbook.addRow(sheetName, 0);
+		for (int columnNum = 0; columnNum < columnHeaders.length; columnNum++) {
+			streamingWorkbook.setValue(row, columnNum, columnHeaders[columnNum], cellFormatting);
+		}
+	}
+	
+	@Override
+	public void addTestLogSection(String section) {
+		cellFormatting.setFontName(FONT_NAME);
+		cellFormatting.setFontSize((short) 10);
+		cellFormatting.setBold(true);
+		cellFormatting.setCentered(false);
+		cellFormatting.setBackColorIndex((short) 0xA);
+		cellFormatting.setForeColorIndex((short) 0xB);
+		
+		Row row = testLog.addRow(TEST_LOG, 0);	// Sections are never grouped within other rows
+		testLog.setMergedValue(row, 0, TEST_LOG_COLUMNS.length - 1, section, cellFormatting);
+		
+		isWithinSection = true;
+		currentOutlineLevel = 1;
+	}
+	
+	@Override
+	public void addTestLogSubSection(String subSection) {
+		cellFormatting.setFontName(FONT_NAME);
+		cellFormatting.setFontSize((short) 10);
+		cellFormatting.setBold(true);
+		cellFormatting.setCentered(false);
+		cellFormatting.setBackColorIndex((short) 0x9);
+		cellFormatting.setForeColorIndex((short) 0x8);
+		
+		int subSectionOutlineLevel = isWithinSection? 1 : 0;
+		Row row = testLog.addRow(TEST_LOG, subSectionOutlineLevel);
+		testLog.setMergedValue(row, 0, TEST_LOG_COLUMNS.length - 1, " " + subSection, cellFormatting);
+		
+		currentOutlineLevel = subSectionOutlineLevel + 1;
+	}
+	
+	@Override
+	public void updateTestLog(String stepNumber, String stepName,
+								String stepDescription, Status stepStatus,
+								Boolean shouldTakeScreenshot, String screenShotName) {
+		updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+						shouldTakeScreenshot, screenShotName, -1, -1);
+	}
+	
+	@Override
+	public void updateTestLog(String stepNumber, String stepName,
+								String stepDescription, Status stepStatus,
+								Boolean shouldTakeScreenshot, String screenShotName,
+								long stepDuration, long elapsedTime) {
+		updateTestLog(stepNumber, stepName, stepDescription, stepStatus,
+						shouldTakeScreenshot, screenShotName, stepDuration, elapsedTime,
+						Util.getClock().millis());
+	}
+	
+	@Override
+	public void updateTestLog(String stepNumber, String stepName,
+								String stepDescription, Status stepStatus,
+								Boolean shouldTakeScreenshot, String screenShotName,
+								long stepDuration, long elapsedTime, long stepTime) {
+		Row row = testLog.addRow(TEST_LOG, currentOutlineLevel);
+		
+		cellFormatting.setFontName(FONT_NAME);
+		cellFormatting.setFontSize((short) 10);
+		cellFormatting.setBackColorIndex((short) 0xC);
+		
+		processStatusColumn(stepStatus);
+		
+		cellFormatting.setCentered(true);
+		cellFormatting.setBold(true);
+		Cell statusCell = testLog.setValue(row, STATUS, stepStatus.toString(), cellFormatting);
+		
+		cellFormatting.setForeColorIndex((short) 0xD);
+		cellFormatting.setBold(false);
+		testLog.setValue(row, STEP_NO, stepNumber, cellFormatting);
+		testLog.setValue(row, STEP_TIME, Util.getFormattedTime(new Date(stepTime), reportSettings.getDateFormatString()), cellFormatting);
+		testLog.setDuration(row, STEP_DURATION, stepDuration, cellFormatting);
+		testLog.setDuration(row, ELAPSED_TIME, elapsedTime, cellFormatting);
+		
+		cellFormatting.setCentered(false);
+		testLog.setValue(row, STEP_NAME, stepName, cellFormatting);
+		
+		if (shouldTakeScreenshot) {
+			if (reportSettings.shouldLinkScreenshotsToTestLog()) {
+				testLog.setHyperlink(statusCell, getRelativeLinkAddress("../Screenshots/" + screenShotName));
+				
+				testLog.setValue(row, STEP_DESCRIPTION, stepDescription, cellFormatting);
+			} else {
+				testLog.setValue(row, STEP_DESCRIPTION,
+									stepDescription + " (Refer screenshot @ " + screenShotName + ")",
+									cellFormatting);
+			}
+		} else {
+			testLog.setValue(row, STEP_DESCRIPTION, stepDescription, cellFormatting);
+		}
+	}
+	
+	private void processStatusColumn(Status stepStatus) {
+		
+		switch (stepStatus) {
+		case PASS:
+			cellFormatting.setForeColorIndex((short) 0xE);
+			break;
+		
+		case FAIL:
+			cellFormatting.setForeColorIndex((short) 0xF);
+			break;
+		
+		case WARNING:
+			cellFormatting.setForeColorIndex((short) 0x10);
+			break;
+		
+		case DONE:
+			cellFormatting.setForeColorIndex((short) 0x11);
+			break;
+		
+		default:
+			throw new AutopiaException("Invalid step status!");
+		}
+	}
+	
+	@Override
+	public void addTestLogFooter(String executionTime, int nStepsPassed, int nStepsFailed) {
+		cellFormatting.setFontName(FONT_NAME);
+		cellFormatting.setFontSize((short) 10);
+		cellFormatting.setBold(true);
+		cellFormatting.setCentered(true);
+		cellFormatting.setBackColorIndex((short) 0x8);
+		cellFormatting.setForeColorIndex((short) 0x9);
+		
+		Row row = testLog.addRow(TEST_LOG, 0);
+		testLog.setMergedValue(row, 0, TEST_LOG_COLUMNS.length - 1,
+								"Execution Duration: " + executionTime, cellFormatting);
+		
+		row = testLog.addRow(TEST_LOG, 0);
+		cellFormatting.setCentered(false);
+		cellFormatting.setBackColorIndex((short) 0x9);
+		
+		cellFormatting.setForeColorIndex((short) 0xE);
+		testLog.setValue(row, STEP_NO, "Steps passed", cellFormatting);
+		testLog.setValue(row, STEP_NAME, ": " + nStepsPassed, cellFormatting);
+		cellFormatting.setForeColorIndex((short) 0x8);
+		testLog.setValue(row, STEP_DESCRIPTION, "", cellFormatting);
+		cellFormatting.setForeColorIndex((short) 0xF);
+		testLog.setValue(row, STATUS, "Steps failed", cellFormatting);
+		testLog.setValue(row, STEP_TIME, ": " + nStepsFailed, cellFormatting);
+		cellFormatting.setForeColorIndex((short) 0x8);
+		testLog.setValue(row, STEP_DURATION, "", cellFormatting);
+		testLog.setValue(row, ELAPSED_TIME, "", cellFormatting);
+		
+		testLog.write();
+		testLog = null;
+		
+		isWithinSection = false;
+		currentOutlineLevel = 0;
+	}
+	
+	
+	/* RESULT SUMMARY FUNCTIONS */
+	
+	@Override
+	public void initializeResultSummary() {
+		resultSummary = new StreamingWorkbook(excelResultsPath + Util.getFileSeparator() + "Summary.xlsx");
+		resultSummary.createSheet(COVER_PAGE, COVER_PAGE_LAST_COLUMN);
+		resultSummary.createSheet(RESULT_SUMMARY, RESULT_SUMMARY_COLUMNS.length - 1);
+		
+		initializeColorPalette(resultSummary);
+	}
+	
+	@Override
+	public void addResultSummaryHeading(String heading) {
+		setHeadingFormatting();
+		
+		Row row = resultSummary.addRow(COVER_PAGE, 0);
+		resultSummary.setMergedValue(row, 0, COVER_PAGE_LAST_COLUMN, heading, cellFormatting);
+	}
+	
+	@Override
+	public void addResultSummarySubHeading(String subHeading1, String subHeading2,
+											String subHeading3, String subHeading4) {
+		addSubHeading(resultSummary, subHeading1, subHeading2, subHeading3, subHeading4);
+	}
+	
+	@Override
+	public void addResultSummaryTableHeadings() {
+		addTableHeadings(resultSummary, RESULT_SUMMARY, RESULT_SUMMARY_COLUMNS);
+	}
+	
+	@Override
+	public void updateResultSummary(TestParameters testParameters, String testReportName,
+												String executionTime, String testStatus) {
+		updateResultSummary(testParameters, testReportName, executionTime, testStatus, -1);
+	}
+	
+	@Override
+	public void updateResultSummary(TestParameters testParameters, String testReportName,
+												String executionTime, String testStatus,
+												long testDuration) {
+		Row row = resultSummary.addRow(RESULT_SUMMARY, 0);
+		
+		cellFormatting.setFontName(FONT_NAME);
+		cellFormatting.setFontSize((short) 10);
+		cellFormatting.setBackColorIndex((short) 0xC);
+		cellFormatting.setForeColorIndex((short) 0xD);
+		
+		cellFormatting.setCentered(false);
+		cellFormatting.setBold(false);
+		resultSummary.setValue(row, MODULE, testParameters.getCurrentModule(), cellFormatting);
+		resultSummary.setValue(row, TEST_CASE, testParameters.getCurrentTestcase(), cellFormatting);
+		
+		Cell testInstanceCell = resultSummary.setValue(row, TEST_INSTANCE,
+												testParameters.getCurrentTestInstance(), cellFormatting);
+		if (reportSettings.shouldLinkTestLogsToSummary()) {
+			resultSummary.setHyperlink(testInstanceCell, getRelativeLinkAddress(testReportName + ".xlsx"));
+		}
+		
+		resultSummary.setValue(row, TEST_DESCRIPTION,
+								testParameters.getCurrentTestDescription(), cellFormatting);
+		resultSummary.setValue(row, ADDITIONAL_DETAILS,
+								testParameters.getAdditionalDetails(), cellFormatting);
+		
+		cellFormatting.setCentered(true);
+		resultSummary.setValue(row, EXECUTION_TIME, executionTime, cellFormatting);
+		
+		cellFormatting.setBold(true);
+		if ("Passed".equalsIgnoreCase(testStatus)) {
+			cellFormatting.setForeColorIndex((short) 0xE);
+		}
+		if ("Failed".equalsIgnoreCase(testStatus)) {
+			cellFormatting.setForeColorIndex((short) 0xF);
+		}
+		resultSummary.setValue(row, TEST_STATUS, testStatus, cellFormatting);
+		
+		cellFormatting.setBold(false);
+		cellFormatting.setForeColorIndex((short) 0xD);
+		resultSummary.setDuration(row, TEST_DURATION, testDuration, cellFormatting);
+	}
+	
+	@Override
+	public void addResultSummaryFooter(String totalExecutionTime, int nTestsPassed, int nTestsFailed) {
+		cellFormatting.setFontName(FONT_NAME);
+		cellFormatting.setFontSize((short) 10);
+		cellFormatting.setBold(true);
+		cellFormatting.setCentered(true);
+		cellFormatting.setBackColorIndex((short) 0x8);
+		cellFormatting.setForeColorIndex((short) 0x9);
+		
+		Row row = resultSummary.addRow(RESULT_SUMMARY, 0);
+		resultSummary.setMergedValue(row, 0, RESULT_SUMMARY_COLUMNS.length - 1,
+										"Total Duration: " + totalExecutionTime, cellFormatting);
+		
+		row = resultSummary.addRow(RESULT_SUMMARY, 0);
+		cellFormatting.setCentered(false);
+		cellFormatting.setBackColorIndex((short) 0x9);
+		
+		cellFormatting.setForeColorIndex((short) 0xE);
+		resultSummary.setValue(row, MODULE, "Tests passed", cellFormatting);
+		resultSummary.setValue(row, TEST_CASE, ": " + nTestsPassed, cellFormatting);
+		cellFormatting.setForeColorIndex((short) 0x8);
+		resultSummary.setValue(row, TEST_INSTANCE, "", cellFormatting);
+		resultSummary.setValue(row, TEST_DESCRIPTION, "", cellFormatting);
+		resultSummary.setValue(row, ADDITIONAL_DETAILS, "", cellFormatting);
+		cellFormatting.setForeColorIndex((short) 0xF);
+		resultSummary.setValue(row, EXECUTION_TIME, "Tests failed", cellFormatting);
+		resultSummary.setValue(row, TEST_STATUS, ": " + nTestsFailed, cellFormatting);
+		cellFormatting.setForeColorIndex((short) 0x8);
+		resultSummary.setValue(row, TEST_DURATION, "", cellFormatting);
+		
+		resultSummary.write();
+		resultSummary = null;
+	}
+	
+	
+	/**
+	 * Class to encapsulate a {@link SXSSFWorkbook} being streamed into a .xlsx file,
+	 * along with its color palette and the cell styles created within it
+	 */
+	private static final class StreamingWorkbook {
+		private final Logger logger = LoggerFactory.getLogger(StreamingWorkbook.class);
+		private final String filePath;
+		private final SXSSFWorkbook workbook;
+		private final Map<Short, XSSFColor> palette = new HashMap<>();
+		private final Map<StyleKey, CellStyle> cellStyles = new HashMap<>();
+		private final Map<Short, StyleKey> styleKeys = new HashMap<>();
+		private final Map<String, Integer> rowCounts = new HashMap<>();
+		private final Map<String, ExcelColumnWidthTracker> columnWidths = new HashMap<>();
+		private final Map<String, Integer> lastColumnNums = new HashMap<>();
+		
+		private StreamingWorkbook(String filePath) {
+			this.filePath = filePath;
+			
+			workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+			workbook.setCompressTempFiles(true);
+		}
+		
+		/**
+		 * Function to create a new sheet within the workbook
+		 * @param sheetName The name of the sheet
+		 * @param lastColumnNum The last column of the sheet (which is bordered on the right)
+		 * @return The newly created sheet
+		 */
+		private SXSSFSheet createSheet(String sheetName, int lastColumnNum) {
+			rowCounts.put(sheetName, 0);
+			lastColumnNums.put(sheetName, lastColumnNum);
+			columnWidths.put(sheetName, new ExcelColumnWidthTracker());
+			return workbook.createSheet(sheetName);
+		}
+		
+		private void setPaletteColor(short index, String hexColor) {
+			palette.put(index, new XSSFColor(Color.decode(hexColor)));
+		}
+		
+		private XSSFColor getColor(short index) {
+			XSSFColor color = palette.get(index);
+			if (color == null) {
+				color = new XSSFColor();
+				color.setIndexed(index);	// Fall back to the default palette
+			}
+			return color;
+		}
+		
+		/**
+		 * Function to add a new row at the end of the specified sheet
+		 * @param sheetName The name of the sheet
+		 * @param outlineLevel The number of outline groups within which the row should be grouped
+		 * (rows can be grouped only while they are within the row access window, hence immediately)
+		 * @return The newly added row
+		 */
+		private Row addRow(String sheetName, int outlineLevel) {
+			SXSSFSheet sheet = workbook.getSheet(sheetName);
+			int rowNum = rowCounts.get(sheetName);
+			rowCounts.put(sheetName, rowNum + 1);
+			
+			Row row = sheet.createRow(rowNum);
+			for (int level = 0; level < outlineLevel; level++) {
+				sheet.groupRow(rowNum, rowNum);
+			}
+			return row;
+		}
+		
+		private Cell setValue(Row row, int columnNum, String value,
+								ExcelCellFormatting cellFormatting) {
+			columnWidths.get(row.getSheet().getSheetName()).trackValue(columnNum, value, cellFormatting);
+			return createCell(row, columnNum, value, cellFormatting);
+		}
+		
+		/**
+		 * Function to set the specified duration into the cell as a number of seconds
+		 * (the cell is left blank if the duration is not known)
+		 * @param row The row
+		 * @param columnNum The column of the cell
+		 * @param duration The duration in nanoseconds (negative if not known)
+		 * @param cellFormatting The {@link ExcelCellFormatting} to be applied to the cell
+		 */
+		private void setDuration(Row row, int columnNum, long duration,
+									ExcelCellFormatting cellFormatting) {
+			if (duration < 0) {
+				setValue(row, columnNum, "", cellFormatting);
+				return;
+			}
+			
+			double durationInSeconds = Util.getDurationInSeconds(duration);
+			columnWidths.get(row.getSheet().getSheetName()).trackValue(columnNum,
+											Double.toString(durationInSeconds), cellFormatting);
+			Cell cell = row.createCell(columnNum);
+			cell.setCellValue(durationInSeconds);
+			setCellStyle(cell, columnNum, cellFormatting);
+		}
+		
+		private Cell createCell(Row row, int columnNum, String value,
+								ExcelCellFormatting cellFormatting) {
+			Cell cell = row.createCell(columnNum);
+			cell.setCellValue(value);
+			setCellStyle(cell, columnNum, cellFormatting);
+			return cell;
+		}
+		
+		private void setCellStyle(Cell cell, int columnNum, ExcelCellFormatting cellFormatting) {
+			int lastColumnNum = lastColumnNums.get(cell.getSheet().getSheetName());
+			cell.setCellStyle(getCellStyle(new StyleKey(cellFormatting, false,
+											columnNum == lastColumnNum, false)));
+		}
+		
+		/**
+		 * Function to set the specified value into a range of merged cells within the row
+		 * (the value is not considered while fitting the column widths to their contents)
+		 * @param row The row
+		 * @param firstCol The first column of the merged range
+		 * @param lastCol The last column of the merged range
+		 * @param value The value to be set
+		 * @param cellFormatting The {@link ExcelCellFormatting} to be applied to the merged cells
+		 */
+		private void setMergedValue(Row row, int firstCol, int lastCol, String value,
+										ExcelCellFormatting cellFormatting) {
+			createCell(row, firstCol, value, cellFormatting);
+			
+			// Create the other merged cells as well, so that the borders of the merged region can be styled
+			for (int columnNum = firstCol + 1; columnNum <= lastCol; columnNum++) {
+				createCell(row, columnNum, "", cellFormatting);
+			}
+			
+			row.getSheet().addMergedRegion(new CellRangeAddress(row.getRowNum(), row.getRowNum(),
+																firstCol, lastCol));
+		}
+		
+		private void setHyperlink(Cell cell, String linkAddress) {
+			Hyperlink hyperlink = workbook.getCreationHelper().createHyperlink(Hyperlink.LINK_FILE);
+			hyperlink.setAddress(linkAddress);
+			cell.setHyperlink(hyperlink);
+			
+			StyleKey styleKey = styleKeys.get(cell.getCellStyle().getIndex());
+			cell.setCellStyle(getCellStyle(new StyleKey(styleKey.cellFormatting, true,
+											styleKey.rightBorder, styleKey.bottomBorder)));
+		}
+		
+		private CellStyle getCellStyle(StyleKey styleKey) {
+			CellStyle cellStyle = cellStyles.get(styleKey);
+			if (cellStyle == null) {
+				cellStyle = createCellStyle(styleKey);
+				cellStyles.put(styleKey, cellStyle);
+				styleKeys.put(cellStyle.getIndex(), styleKey);
+			}
+			return cellStyle;
+		}
+		
+		private CellStyle createCellStyle(StyleKey styleKey) {
+			ExcelCellFormatting cellFormatting = styleKey.cellFormatting;
+			
+			XSSFCellStyle cellStyle = (XSSFCellStyle) workbook.createCellStyle();
+			if (cellFormatting.isCentered()) {
+				cellStyle.setAlignment(CellStyle.ALIGN_CENTER);
+			}
+			cellStyle.setFillForegroundColor(getColor(cellFormatting.getBackColorIndex()));
+			cellStyle.setFillPattern(CellStyle.SOLID_FOREGROUND);
+			if (styleKey.rightBorder) {
+				cellStyle.setBorderRight(CellStyle.BORDER_THIN);
+			}
+			if (styleKey.bottomBorder) {
+				cellStyle.setBorderBottom(CellStyle.BORDER_THIN);
+			}
+			
+			XSSFFont font = (XSSFFont) workbook.createFont();
+			font.setFontName(cellFormatting.getFontName());
+			font.setFontHeightInPoints(cellFormatting.getFontSize());
+			font.setBold(cellFormatting.isBold());
+			font.setItalic(cellFormatting.isItalics());
+			font.setColor(getColor(cellFormatting.getForeColorIndex()));
+			if (styleKey.underlined) {
+				font.setUnderline(Font.U_SINGLE);
+			}
+			cellStyle.setFont(font);
+			
+			return cellStyle;
+		}
+		
+		/**
+		 * Function to write the workbook into the file, and release the temporary files used for streaming
+		 */
+		private void write() {
+			for (String sheetName : rowCounts.keySet()) {
+				SXSSFSheet sheet = workbook.getSheet(sheetName);
+				addBottomBorder(sheet, rowCounts.get(sheetName) - 1);
+				
+				ExcelColumnWidthTracker columnWidthTracker = columnWidths.get(sheetName);
+				for (int columnNum = 0; columnNum <= columnWidthTracker.getLastColumnNum(); columnNum++) {
+					int columnWidth = columnWidthTracker.getColumnWidth(columnNum);
+					if (columnWidth > 0) {
+						sheet.setColumnWidth(columnNum, columnWidth);
+					}
+				}
+			}
+			
+			try (FileOutputStream fileOutputStream = new FileOutputStream(filePath)) {
+				workbook.write(fileOutputStream);
+			} catch (IOException e) {
+				String errorDescription = "Error while writing into the specified Excel workbook \"" + filePath + "\"";
+				logger.error(errorDescription, e);
+				throw new AutopiaException(errorDescription);
+			} finally {
+				workbook.dispose();
+			}
+		}
+		
+		private void addBottomBorder(SXSSFSheet sheet, int lastRowNum) {
+			Row row = (lastRowNum < 0)? null : sheet.getRow(lastRowNum);
+			if (row == null) {
+				return;	// The sheet is empty
+			}
+			
+			for (Cell cell : row) {
+				StyleKey styleKey = styleKeys.get(cell.getCellStyle().getIndex());
+				if (styleKey != null) {
+					cell.setCellStyle(getCellStyle(new StyleKey(styleKey.cellFormatting,
+													styleKey.underlined, styleKey.rightBorder, true)));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Class to identify the cell styles created within a {@link StreamingWorkbook}
+	 */
+	private static final class StyleKey {
+		private final ExcelCellFormatting cellFormatting;
+		private final boolean underlined;
+		private final boolean rightBorder;
+		private final boolean bottomBorder;
+		
+		private StyleKey(ExcelCellFormatting cellFormatting, boolean underlined,
+							boolean rightBorder, boolean bottomBorder) {
+			this.cellFormatting = new ExcelCellFormatting(cellFormatting);	// The report keeps modifying its own copy
+			this.underlined = underlined;
+			this.rightBorder = rightBorder;
+			this.bottomBorder = bottomBorder;
+		}
+		
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof StyleKey)) {
+				return false;
+			}
+			
+			StyleKey otherStyleKey = (StyleKey) other;
+			return cellFormatting.equals(otherStyleKey.cellFormatting) &&
+					underlined == otherStyleKey.underlined &&
+					rightBorder == otherStyleKey.rightBorder &&
+					bottomBorder == otherStyleKey.bottomBorder;
+		}
+		
+		@Override
+		public int hashCode() {
+			int hashCode = cellFormatting.hashCode();
+			hashCode = 31 * hashCode + (underlined? 1 : 0);
+			hashCode = 31 * hashCode + (rightBorder? 1 : 0);
+			hashCode = 31 * hashCode + (bottomBorder? 1 : 0);
+			return hashCode;
+		}
+	}
+}
\ No newline at end of file
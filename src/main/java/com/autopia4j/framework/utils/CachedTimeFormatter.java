@@ -0,0 +1,96 @@
+package com.autopia4j.framework.utils;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+
+/**
+ * Class to format times as per a given {@link SimpleDateFormat} pattern, caching the text rendered for the latest second<br>
+ * Times within the same second (as is typical for the steps of a test) are served from the cache,
+ * unless the date format string contains milliseconds. The rendering itself uses a {@link SimpleDateFormat}
+ * per thread, so that the pattern letters retain their {@link SimpleDateFormat} meaning. This class is thread-safe
+ * @author vj
+ */
+final class CachedTimeFormatter {
+	private final ThreadLocal<DateFormat> dateFormat;
+	private final boolean isSubSecondPattern;
+	private volatile RenderedTime lastRenderedTime;
+	
+	
+	/**
+	 * Constructor to initialize the formatter
+	 * @param dateFormatString The date format string to be applied
+	 * @throws IllegalArgumentException If the date format string is invalid
+	 */
+	CachedTimeFormatter(final String dateFormatString) {
+		new SimpleDateFormat(dateFormatString);	// Validate the date format string upfront
+		dateFormat = new ThreadLocal<DateFormat>() {
+			@Override
+			protected DateFormat initialValue() {
+				return new SimpleDateFormat(dateFormatString);
+			}
+		};
+		isSubSecondPattern = containsSubSecondField(dateFormatString);
+	}
+	
+	private static boolean containsSubSecondField(String dateFormatString) {
+		boolean isWithinQuotes = false;
+		for (char patternCharacter : dateFormatString.toCharArray()) {
+			if (patternCharacter == '\'') {
+				isWithinQuotes = !isWithinQuotes;
+			} else if (!isWithinQuotes && patternCharacter == 'S') {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Function to format the specified time
+	 * @param time The time to be formatted, in milliseconds since the epoch
+	 * @param timeZone The {@link TimeZone} in which the time is to be formatted
+	 * @return The formatted time
+	 */
+	String format(long time, TimeZone timeZone) {
+		if (isSubSecondPattern) {
+			return render(time, timeZone);
+		}
+		
+		long epochSecond = Math.floorDiv(time, 1000);
+		RenderedTime renderedTime = lastRenderedTime;
+		if (renderedTime == null || renderedTime.epochSecond != epochSecond ||
+				!renderedTime.timeZone.equals(timeZone)) {
+			renderedTime = new RenderedTime(epochSecond, timeZone, render(time, timeZone));
+			lastRenderedTime = renderedTime;
+		}
+		
+		return renderedTime.text;
+	}
+	
+	private String render(long time, TimeZone timeZone) {
+		DateFormat currentDateFormat = dateFormat.get();
+		if (!currentDateFormat.getTimeZone().equals(timeZone)) {
+			currentDateFormat.setTimeZone(timeZone);
+		}
+		return currentDateFormat.format(new Date(time));
+	}
+	
+	
+	/**
+	 * Class to hold the text rendered for a given second (immutable, so that it can be shared across threads)
+	 */
+	private static final class RenderedTime {
+		private final long epochSecond;
+		private final TimeZone timeZone;
+		private final String text;
+		
+		private RenderedTime(long epochSecond, TimeZone timeZone, String text) {
+			this.epochSecond = epochSecond;
+			this.timeZone = timeZone;
+			this.text = text;
+		}
+	}
+}
\ No newline at end of file
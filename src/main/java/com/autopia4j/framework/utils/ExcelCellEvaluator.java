@@ -0,0 +1,156 @@
+package com.autopia4j.framework.utils;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.poi.hssf.usermodel.HSSFCell;
+import org.apache.poi.hssf.usermodel.HSSFCellStyle;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+
+
+/**
+ * Class to format the values of the cells within a workbook, memoizing the results of formula cells<br>
+ * A single instance is shared by all users of a cached workbook, so that the {@link FormulaEvaluator}
+ * (and its cache of intermediate results) is created only once per workbook.
+ * The memoized values must be discarded using {@link #invalidate()} whenever the workbook is modified
+ * @author vj
+ */
+final class ExcelCellEvaluator {
+	private static final ThreadLocal<DataFormatter> dataFormatter =
+			new ThreadLocal<DataFormatter>() {
+				@Override
+				protected DataFormatter initialValue() {
+					return new DataFormatter();	// DataFormatter is not thread-safe
+				}
+			};
+	
+	private final Logger logger = LoggerFactory.getLogger(ExcelCellEvaluator.class);
+	private final FormulaEvaluator formulaEvaluator;
+	private final Map<HSSFCell, String> formulaValues = new IdentityHashMap<>();
+	
+	
+	/**
+	 * Constructor to initialize the {@link ExcelCellEvaluator} object
+	 * @param workbook The {@link HSSFWorkbook} whose cells are to be evaluated
+	 */
+	ExcelCellEvaluator(HSSFWorkbook workbook) {
+		formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+	}
+	
+	/**
+	 * Function to get the formatted value of the specified cell
+	 * (formulas are evaluated only once, until the evaluator is invalidated)
+	 * @param cell The {@link HSSFCell} (may be null)
+	 * @return The formatted value of the cell (an empty string for blank or missing cells)
+	 * @throws AutopiaException If the cell contains an error
+	 */
+	String getCellValueAsString(HSSFCell cell) {
+		String cellValue = getCellValueOrNull(cell);
+		if (cellValue == null) {
+			String errorDescription = getErrorDescription(cell);
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		return cellValue;
+	}
+	
+	/**
+	 * Function to get the formatted value of the specified cell, without failing if the cell contains an error
+	 * (formulas are evaluated only once, until the evaluator is invalidated)
+	 * @param cell The {@link HSSFCell} (may be null)
+	 * @return The formatted value of the cell (an empty string for blank or missing cells,
+	 * and null if the cell contains an error, in which case {@link #getErrorDescription(HSSFCell)} describes it)
+	 */
+	String getCellValueOrNull(HSSFCell cell) {
+		if (cell == null) {
+			return "";
+		}
+		
+		switch (cell.getCellType()) {
+		case HSSFCell.CELL_TYPE_BLANK:
+			return "";
+		
+		case HSSFCell.CELL_TYPE_STRING:
+			return cell.getStringCellValue();
+		
+		case HSSFCell.CELL_TYPE_BOOLEAN:
+			return formatBoolean(cell.getBooleanCellValue());
+		
+		case HSSFCell.CELL_TYPE_ERROR:
+			return null;
+		
+		case HSSFCell.CELL_TYPE_FORMULA:
+			return getFormulaValueAsString(cell);
+		
+		default:
+			return dataFormatter.get().formatCellValue(cell);
+		}
+	}
+	
+	private synchronized String getFormulaValueAsString(HSSFCell cell) {
+		String formulaValue = formulaValues.get(cell);
+		if (formulaValue == null) {
+			// Do not evaluateInCell, since the cached workbook would lose its formulas
+			int resultType = formulaEvaluator.evaluateFormulaCell(cell);
+			if (resultType == HSSFCell.CELL_TYPE_ERROR) {
+				return null;
+			}
+			
+			// Format the result cached within the cell, since formatting with the evaluator would evaluate it again
+			formulaValue = formatFormulaResult(cell, resultType);
+			formulaValues.put(cell, formulaValue);
+		}
+		
+		return formulaValue;
+	}
+	
+	private String formatFormulaResult(HSSFCell cell, int resultType) {
+		switch (resultType) {
+		case HSSFCell.CELL_TYPE_NUMERIC:
+			HSSFCellStyle cellStyle = cell.getCellStyle();
+			return dataFormatter.get().formatRawCellContents(cell.getNumericCellValue(),
+											cellStyle.getDataFormat(), cellStyle.getDataFormatString(),
+											cell.getSheet().getWorkbook().getInternalWorkbook().isUsing1904DateWindowing());
+		
+		case HSSFCell.CELL_TYPE_STRING:
+			return cell.getRichStringCellValue().getString();
+		
+		case HSSFCell.CELL_TYPE_BOOLEAN:
+			return formatBoolean(cell.getBooleanCellValue());
+		
+		default:
+			return "";
+		}
+	}
+	
+	private static String formatBoolean(boolean value) {
+		// As displayed by Excel, and as reported by the event-based readers of .xls and .xlsx files
+		return value? "TRUE" : "FALSE";
+	}
+	
+	/**
+	 * Function to get the description of the error within the specified cell
+	 * (to be called only after {@link #getCellValueOrNull(HSSFCell)} has returned null for the cell)
+	 * @param cell The {@link HSSFCell}
+	 * @return The error description
+	 */
+	String getErrorDescription(HSSFCell cell) {
+		return "Error in formula within this cell! " +
+				"Error code: " + cell.getErrorCellValue();
+	}
+	
+	/**
+	 * Function to discard all the memoized values (to be called whenever the workbook is modified)
+	 */
+	synchronized void invalidate() {
+		formulaValues.clear();
+		formulaEvaluator.clearAllCachedResultValues();
+	}
+}
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.autopia4j.framework.utils;
 
+import java.util.Objects;
+
 import com.autopia4j.framework.core.AutopiaException;
 
 /**
- * Class to encapsulate the cell formatting settings for the Excel spreadsheet
+ * Class to encapsulate the cell formatting settings for the Excel spreadsheet<br>
+ * Two {@link ExcelCellFormatting} objects with the same settings are equal, so that the cell styles
+ * created for them can be shared within a workbook
  * @author vj
  */
 public class ExcelCellFormatting {
@@ -16,6 +20,27 @@ public class ExcelCellFormatting {
     private boolean centered = false;
 	
 	
+	/**
+	 * Constructor to initialize the {@link ExcelCellFormatting} object with the default settings
+	 */
+	public ExcelCellFormatting() {
+		// Default settings
+	}
+	
+	/**
+	 * Constructor to initialize the {@link ExcelCellFormatting} object as a copy of another object
+	 * @param cellFormatting The {@link ExcelCellFormatting} object to be copied
+	 */
+	public ExcelCellFormatting(ExcelCellFormatting cellFormatting) {
+		this.fontName = cellFormatting.fontName;
+		this.fontSize = cellFormatting.fontSize;
+		this.backColorIndex = cellFormatting.backColorIndex;
+		this.foreColorIndex = cellFormatting.foreColorIndex;
+		this.bold = cellFormatting.bold;
+		this.italics = cellFormatting.italics;
+		this.centered = cellFormatting.centered;
+	}
+	
 	/**
 	 * Function to get the name of the font to be used in the cell
 	 * @return The font name
@@ -135,4 +160,28 @@ public class ExcelCellFormatting {
 	public void setCentered(boolean centered) {
 		this.centered = centered;
 	}
+	
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof ExcelCellFormatting)) {
+			return false;
+		}
+		
+		ExcelCellFormatting otherFormatting = (ExcelCellFormatting) other;
+		return Objects.equals(fontName, otherFormatting.fontName) &&
+				fontSize == otherFormatting.fontSize &&
+				backColorIndex == otherFormatting.backColorIndex &&
+				foreColorIndex == otherFormatting.foreColorIndex &&
+				bold == otherFormatting.bold &&
+				italics == otherFormatting.italics &&
+				centered == otherFormatting.centered;
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(fontName, fontSize, backColorIndex, foreColorIndex, bold, italics, centered);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.autopia4j.framework.utils;
+
+import java.util.Arrays;
+
+
+/**
+ * Class to track the widths required by the contents of the columns within an Excel sheet,
+ * as the values are written into the sheet<br>
+ * The widths are estimated from the number of characters and the {@link ExcelCellFormatting} used,
+ * without measuring the rendered text (which requires the AWT font metrics), so that they can be
+ * applied in a single pass once the sheet is complete. Values of merged cells must not be tracked.
+ * This class is not thread-safe
+ * @author vj
+ */
+public final class ExcelColumnWidthTracker {
+	private static final int DEFAULT_FONT_SIZE = 10;
+	private static final double BOLD_WIDTH_FACTOR = 1.15;
+	private static final double REGULAR_WIDTH_FACTOR = 1.05;
+	private static final int PADDING = 2;	// In characters, to account for the cell margins
+	private static final int MAX_COLUMN_WIDTH = 255 * 256;	// Maximum width allowed by Excel
+	
+	private int[] columnWidths = new int[0];
+	
+	
+	/**
+	 * Function to track the specified value written into the specified column
+	 * @param columnNum The column number (0-based)
+	 * @param value The value written into the cell
+	 * @param cellFormatting The {@link ExcelCellFormatting} used for the cell
+	 */
+	public void trackValue(int columnNum, String value, ExcelCellFormatting cellFormatting) {
+		if (value == null || value.isEmpty()) {
+			return;
+		}
+		
+		if (columnNum >= columnWidths.length) {
+			columnWidths = Arrays.copyOf(columnWidths, columnNum + 1);
+		}
+		
+		int columnWidth = estimateColumnWidth(value, cellFormatting);
+		if (columnWidth > columnWidths[columnNum]) {
+			columnWidths[columnNum] = columnWidth;
+		}
+	}
+	
+	private static int estimateColumnWidth(String value, ExcelCellFormatting cellFormatting) {
+		int nCharacters = 0;
+		for (String line : value.split("\n")) {
+			nCharacters = Math.max(nCharacters, line.length());
+		}
+		
+		double fontSizeFactor = 1;
+		if (cellFormatting != null && cellFormatting.getFontSize() > 0) {
+			fontSizeFactor = (double) cellFormatting.getFontSize() / DEFAULT_FONT_SIZE;
+		}
+		double fontWeightFactor = (cellFormatting != null && cellFormatting.isBold())?
+											BOLD_WIDTH_FACTOR : REGULAR_WIDTH_FACTOR;
+		
+		// Column widths are specified in 1/256 of the width of a character
+		double columnWidth = (nCharacters * fontSizeFactor * fontWeightFactor + PADDING) * 256;
+		return (int) Math.min(Math.ceil(columnWidth), MAX_COLUMN_WIDTH);
+	}
+	
+	/**
+	 * Function to get the number of the last column for which any value has been tracked
+	 * @return The last column number (0-based), or -1 if no value has been tracked
+	 */
+	public int getLastColumnNum() {
+		return columnWidths.length - 1;
+	}
+	
+	/**
+	 * Function to get the width required by the contents of the specified column
+	 * @param columnNum The column number (0-based)
+	 * @return The column width (in 1/256 of the width of a character), or 0 if no value has been tracked
+	 */
+	public int getColumnWidth(int columnNum) {
+		if (columnNum < 0 || columnNum >= columnWidths.length) {
+			return 0;
+		}
+		
+		return columnWidths[columnNum];
+	}
+}
\ No newline at end of file
@@ -1,24 +1,30 @@
 package com.autopia4j.framework.utils;
 
 import java.awt.Color;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.poi.hssf.usermodel.HSSFCell;
 import org.apache.poi.hssf.usermodel.HSSFCellStyle;
-import org.apache.poi.hssf.usermodel.HSSFFont;
 import org.apache.poi.hssf.usermodel.HSSFPalette;
 import org.apache.poi.hssf.usermodel.HSSFRow;
 import org.apache.poi.hssf.usermodel.HSSFSheet;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.hssf.util.HSSFRegionUtil;
-import org.apache.poi.ss.usermodel.DataFormatter;
-import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.Hyperlink;	// not available under hssf
 import org.apache.poi.ss.usermodel.CreationHelper;	// not available under hssf
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
 //import org.apache.poi.hssf.util.CellRangeAddress;	not used because this is deprecated
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +33,13 @@ import com.autopia4j.framework.core.AutopiaException;
 
 
 /**
- * Class to encapsulate the excel data access layer of the framework
+ * Class to encapsulate the excel data access layer of the framework<br>
+ * Workbooks are shared through the {@link ExcelWorkbookCache}, so that each file is parsed only once.
+ * Concurrent access is coordinated through read/write locks striped by workbook and sheet,
+ * so that readers and sheet-level writers do not block on unrelated workbooks or sheets.
+ * Read-only .xlsx workbooks are streamed using the XSSF event model, and .xls workbooks opened
+ * in read-only mode are read from the HSSF record stream. A sequence of modifications can be written
+ * into the file at once, using {@link #beginBatch()}
  * @author vj
  */
 public class ExcelDataAccess {
@@ -35,13 +47,18 @@ public class ExcelDataAccess {
 	private final String filePath;
 	private final String fileName;
 	private String datasheetName;
+	private boolean readOnly = false;
+	private Batch batch;
+	private ExcelSheetReader sheetReader;
+	private boolean isSheetReaderResolved = false;
 	
 	
 	/**
 	 * Constructor to initialize the excel data filepath and filename
 	 * @param filePath The absolute path where the excel data file is stored
 	 * @param fileName The name of the excel data file (without the extension).
-	 * Note that .xlsx files are not supported, only .xls files are supported
+	 * Note that .xlsx files are supported only for reading (in the absence of a corresponding .xls file),
+	 * and are streamed row by row (retaining only the cell values) instead of being loaded into the object model
 	 */
 	public ExcelDataAccess(String filePath, String fileName) {
 		this.filePath = filePath;
@@ -64,6 +81,51 @@ public class ExcelDataAccess {
 		this.datasheetName = datasheetName;
 	}
 	
+	/**
+	 * Function to check whether the Excel workbook is being accessed in read-only mode
+	 * @return Boolean value indicating whether the read-only mode is enabled
+	 * @see #setReadOnly(boolean)
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+	
+	/**
+	 * Function to enable or disable the read-only mode<br>
+	 * In read-only mode, .xls workbooks are read from the HSSF record stream instead of being loaded
+	 * into the workbook object model: only the cell values of the required sheet are extracted
+	 * (styles, palettes and the other sheets are skipped), and formula cells return the results
+	 * cached within the file. Write operations are not allowed in read-only mode
+	 * @param readOnly Boolean value indicating whether the read-only mode should be enabled
+	 */
+	public void setReadOnly(boolean readOnly) {
+		this.readOnly = readOnly;
+		isSheetReaderResolved = false;	// The sheet reader depends on the read-only mode
+	}
+	
+	/**
+	 * Function to begin a batch of modifications to the Excel workbook<br>
+	 * Within a batch, all the modifications made through this object are applied to a single in-memory workbook,
+	 * which is written into the file only once, when the batch is committed (typically by closing the batch
+	 * at the end of a try-with-resources statement). Batches may be nested, in which case only the commit of
+	 * the outermost batch writes into the file.<br>
+	 * From its first modification until it is committed, the batch is the single owner of the workbook:
+	 * other threads wait for the commit before reading or modifying the workbook (so that they never see
+	 * uncommitted modifications), and other {@link ExcelDataAccess} objects used by the same thread
+	 * are not allowed to access the workbook. The batch must therefore be used (and committed)
+	 * only by the thread which began it, and must always be committed
+	 * @return The {@link Batch} which was begun
+	 */
+	public Batch beginBatch() {
+		if (batch != null) {
+			batch.nestingLevel++;	// Join the batch already in progress
+		} else {
+			batch = new Batch();
+		}
+		
+		return batch;
+	}
+	
 	/**
 	 * Function to search for a specified key within a column, and return the corresponding row number
 	 * @param key The value being searched for
@@ -74,25 +136,36 @@ public class ExcelDataAccess {
 	public int getRowNum(String key, int columnNum, int startRowNum) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator =
-							workbook.getCreationHelper().createFormulaEvaluator();
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			return sheetReader.getRowNum(datasheetName, key, columnNum, startRowNum);
+		}
 		
-		String currentValue;
-		for (int currentRowNum = startRowNum;
-				currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
+		lockWorkbook(false);
+		lockSheet(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFSheet worksheet = getWorkSheet(workbook);
+			ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
 			
-			HSSFRow row = worksheet.getRow(currentRowNum);
-			HSSFCell cell = row.getCell(columnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
+			String currentValue;
+			for (int currentRowNum = startRowNum;
+					currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
+			
+				HSSFRow row = worksheet.getRow(currentRowNum);
+				HSSFCell cell = row.getCell(columnNum);
+				currentValue = cellEvaluator.getCellValueAsString(cell);
 			
-			if (currentValue.equals(key)) {
-				return currentRowNum;
+				if (currentValue.equals(key)) {
+					return currentRowNum;
+				}
 			}
+			
+			return -1;
+		} finally {
+			unlockSheet();
+			unlockWorkbook();
 		}
-		
-		return -1;
 	}
 	
 	private void checkPreRequisites() {
@@ -103,11 +176,127 @@ public class ExcelDataAccess {
 		}
 	}
 	
+	private String getAbsoluteFilePath() {
+		return filePath + Util.getFileSeparator() + fileName + ".xls";
+	}
+	
+	private String getXlsxFilePath() {
+		return filePath + Util.getFileSeparator() + fileName + ".xlsx";
+	}
+	
+	private ExcelSheetReader getSheetReader() {
+		// The sheet reader is resolved once per object, so that its sheet lookups do not have to check the files again
+		if (isSheetReaderResolved) {
+			return sheetReader;
+		}
+		
+		String absoluteFilePath = getAbsoluteFilePath();
+		if (new File(absoluteFilePath).isFile()) {
+			sheetReader = readOnly? new HssfEventSheetReader(absoluteFilePath) : null;
+			isSheetReaderResolved = true;
+		} else {
+			String xlsxFilePath = getXlsxFilePath();
+			sheetReader = new File(xlsxFilePath).isFile()? new XlsxSheetReader(xlsxFilePath) : null;
+			isSheetReaderResolved = (sheetReader != null);	// Resolve again once either of the files is created
+		}
+		
+		return sheetReader;
+	}
+	
+	private void lockWorkbook(boolean exclusive) {
+		ReentrantReadWriteLock workbookLock = ExcelLockManager.getWorkbookLock(getAbsoluteFilePath());
+		if (exclusive) {
+			workbookLock.writeLock().lock();
+		} else {
+			workbookLock.readLock().lock();
+		}
+	}
+	
+	/**
+	 * Function to lock the workbook for modifying it<br>
+	 * Within a batch, the first modification also makes the batch the owner of the workbook (by acquiring the
+	 * workbook write lock until the batch is committed), so that other threads neither see nor interleave with
+	 * the modifications made within the batch before they are written into the file
+	 * @param exclusive Boolean value indicating whether the workbook write lock is required for the modification itself
+	 */
+	private void lockWorkbookForModification(boolean exclusive) {
+		if (batch != null && !batch.ownsWorkbook) {
+			lockWorkbook(true);
+			batch.ownsWorkbook = true;
+		}
+		
+		lockWorkbook(exclusive);
+	}
+	
+	private void unlockWorkbook() {
+		ReentrantReadWriteLock workbookLock = ExcelLockManager.getWorkbookLock(getAbsoluteFilePath());
+		if (workbookLock.getReadHoldCount() > 0) {
+			// The read lock may also be the write lock downgraded while writing the file.
+			// The write lock may still be held by a batch which owns the workbook
+			workbookLock.readLock().unlock();
+		} else {
+			workbookLock.writeLock().unlock();
+		}
+	}
+	
+	private void lockSheet(boolean exclusive) {
+		ReentrantReadWriteLock sheetLock =
+				ExcelLockManager.getSheetLock(getAbsoluteFilePath(), datasheetName);
+		if (exclusive) {
+			sheetLock.writeLock().lock();
+		} else {
+			sheetLock.readLock().lock();
+		}
+	}
+	
+	private void unlockSheet() {
+		ReentrantReadWriteLock sheetLock =
+				ExcelLockManager.getSheetLock(getAbsoluteFilePath(), datasheetName);
+		if (sheetLock.isWriteLockedByCurrentThread()) {
+			sheetLock.writeLock().unlock();
+		} else {
+			sheetLock.readLock().unlock();
+		}
+	}
+	
 	private HSSFWorkbook openFileForReading() {
-		String absoluteFilePath = filePath + Util.getFileSeparator() +
-															fileName + ".xls";
+		String absoluteFilePath = getAbsoluteFilePath();
 		
-		HSSFWorkbook workbook;
+		if (readOnly) {
+			String errorDescription = "The specified Excel workbook \"" + absoluteFilePath + "\"" +
+										" has been opened in read-only mode!";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		if (batch != null && batch.workbook != null) {
+			return batch.workbook;	// Keep working on the workbook modified within the batch
+		}
+		
+		if (ExcelLockManager.getWorkbookLock(absoluteFilePath).isWriteLockedByCurrentThread() &&
+				ExcelWorkbookCache.isPinned(absoluteFilePath)) {
+			// The workbook is owned by a batch begun by the current thread on another object
+			// (other threads get here only once the batch is being committed)
+			String errorDescription = "The specified Excel workbook \"" + absoluteFilePath + "\"" +
+										" is being modified within a batch of another ExcelDataAccess object," +
+										" which must be committed first!";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		HSSFWorkbook workbook = ExcelWorkbookCache.getWorkbook(absoluteFilePath);
+		if (workbook != null) {
+			return workbook;
+		}
+		
+		if (getSheetReader() != null) {
+			String errorDescription = "The specified Excel workbook \"" + getXlsxFilePath() + "\"" +
+										" can only be read, since .xlsx files are not supported for writing!";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		ExcelWorkbookCache.FileStamp fileStamp = ExcelWorkbookCache.FileStamp.of(absoluteFilePath);
 		try	{
 			FileInputStream fileInputStream = new FileInputStream(absoluteFilePath);
 			workbook = new HSSFWorkbook(fileInputStream);
@@ -122,7 +311,7 @@ public class ExcelDataAccess {
 			throw new AutopiaException(errorDescription);
 		}
 		
-		return workbook;
+		return ExcelWorkbookCache.putWorkbook(absoluteFilePath, workbook, fileStamp);
 	}
 	
 	private HSSFSheet getWorkSheet(HSSFWorkbook workbook) {
@@ -137,22 +326,6 @@ public class ExcelDataAccess {
 		return worksheet;
 	}
 	
-	private String getCellValueAsString(HSSFCell cell, FormulaEvaluator formulaEvaluator) {
-		if (cell == null || cell.getCellType() == HSSFCell.CELL_TYPE_BLANK) {
-			return "";
-		} else {
-			if (formulaEvaluator.evaluate(cell).getCellType() == HSSFCell.CELL_TYPE_ERROR) {
-				String errorDescription = "Error in formula within this cell! " +
-											"Error code: " + cell.getErrorCellValue();
-				logger.error(errorDescription);
-				throw new AutopiaException(errorDescription);
-			}
-			
-			DataFormatter dataFormatter = new DataFormatter();
-			return dataFormatter.formatCellValue(formulaEvaluator.evaluateInCell(cell));
-		}
-	}
-	
 	/**
 	 * Function to search for a specified key within a column, and return the corresponding row number
 	 * @param key The value being searched for
@@ -163,6 +336,125 @@ public class ExcelDataAccess {
 		return getRowNum(key, columnNum, 0);
 	}
 	
+	/**
+	 * Function to search for a specified composite key within the leading columns of the worksheet,
+	 * and return the corresponding row number<br>
+	 * The key values are matched against consecutive columns, starting from the first column.
+	 * The search is served from an index which is built on first access to the worksheet,
+	 * and is shared by all users of the workbook until the key columns are modified
+	 * @param keys The key values being searched for
+	 * @param startRowNum The row number from which the search should start
+	 * @return The row number in which the specified key is found (-1 if the key is not found)
+	 */
+	public int getRowNum(String[] keys, int startRowNum) {
+		checkPreRequisites();
+		
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			return sheetReader.getRowNum(datasheetName, keys, startRowNum);
+		}
+		
+		lockWorkbook(false);
+		lockSheet(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFSheet worksheet = getWorkSheet(workbook);
+			ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
+			ExcelSheetIndex sheetIndex = getSheetIndex(workbook);
+			
+			Map<String, Integer> rowIndex = sheetIndex.getRowIndex(keys.length);
+			if (rowIndex == null) {
+				rowIndex = buildRowIndex(worksheet, keys.length, cellEvaluator);
+				sheetIndex.putRowIndex(keys.length, rowIndex);
+			}
+			
+			Integer rowNum = rowIndex.get(ExcelSheetIndex.getCompositeKey(keys));
+			if (rowNum == null) {
+				return -1;
+			}
+			if (rowNum >= startRowNum) {
+				return rowNum;
+			}
+			
+			// The first occurrence of the key precedes the start row, so fall back to a linear search
+			for (int currentRowNum = startRowNum;
+					currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
+			
+				HSSFRow row = worksheet.getRow(currentRowNum);
+				if (Arrays.equals(keys, getKeyValues(row, keys.length, cellEvaluator))) {
+					return currentRowNum;
+				}
+			}
+			
+			return -1;
+		} finally {
+			unlockSheet();
+			unlockWorkbook();
+		}
+	}
+	
+	private ExcelSheetIndex getSheetIndex(HSSFWorkbook workbook) {
+		return ExcelWorkbookCache.getSheetIndex(getAbsoluteFilePath(), workbook, datasheetName);
+	}
+	
+	private ExcelCellEvaluator getCellEvaluator(HSSFWorkbook workbook) {
+		return ExcelWorkbookCache.getCellEvaluator(getAbsoluteFilePath(), workbook);
+	}
+	
+	private Map<String, Integer> buildRowIndex(HSSFSheet worksheet, int keyColumnCount,
+												ExcelCellEvaluator cellEvaluator) {
+		Map<String, Integer> rowIndex = new HashMap<>();
+		for (int currentRowNum = 0;
+				currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
+			
+			HSSFRow row = worksheet.getRow(currentRowNum);
+			String compositeKey =
+					ExcelSheetIndex.getCompositeKey(getKeyValues(row, keyColumnCount, cellEvaluator));
+			
+			if (!rowIndex.containsKey(compositeKey)) {
+				rowIndex.put(compositeKey, currentRowNum);
+			}
+		}
+		
+		return rowIndex;
+	}
+	
+	private String[] getKeyValues(HSSFRow row, int keyColumnCount,
+												ExcelCellEvaluator cellEvaluator) {
+		String[] keyValues = new String[keyColumnCount];
+		for (int currentColumnNum = 0; currentColumnNum < keyColumnCount; currentColumnNum++) {
+			HSSFCell cell = (row == null)? null : row.getCell(currentColumnNum);
+			keyValues[currentColumnNum] = cellEvaluator.getCellValueAsString(cell);
+		}
+		
+		return keyValues;
+	}
+	
+	private int getHeaderColumnNum(HSSFWorkbook workbook, HSSFSheet worksheet,
+									String columnHeader, ExcelCellEvaluator cellEvaluator) {
+		ExcelSheetIndex sheetIndex = getSheetIndex(workbook);
+		
+		Map<String, Integer> headerIndex = sheetIndex.getHeaderIndex();
+		if (headerIndex == null) {
+			headerIndex = new HashMap<>();
+			HSSFRow row = worksheet.getRow(0);	//0 because header is always in the first row
+			for (int currentColumnNum = 0;
+					currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
+				
+				HSSFCell cell = row.getCell(currentColumnNum);
+				String currentValue = cellEvaluator.getCellValueAsString(cell);
+				
+				if (!headerIndex.containsKey(currentValue)) {
+					headerIndex.put(currentValue, currentColumnNum);
+				}
+			}
+			sheetIndex.putHeaderIndex(headerIndex);
+		}
+		
+		Integer columnNum = headerIndex.get(columnHeader);
+		return (columnNum == null)? -1 : columnNum;
+	}
+	
 	/**
 	 * Function to get the last row number within the worksheet
 	 * @return The last row number within the worksheet
@@ -170,10 +462,22 @@ public class ExcelDataAccess {
 	public int getLastRowNum() {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			return sheetReader.getLastRowNum(datasheetName);
+		}
 		
-		return worksheet.getLastRowNum();
+		lockWorkbook(false);
+		lockSheet(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFSheet worksheet = getWorkSheet(workbook);
+			
+			return worksheet.getLastRowNum();
+		} finally {
+			unlockSheet();
+			unlockWorkbook();
+		}
 	}
 	
 	/**
@@ -186,33 +490,44 @@ public class ExcelDataAccess {
 	public int getRowCount(String key, int columnNum, int startRowNum) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator =
-							workbook.getCreationHelper().createFormulaEvaluator();
-		
-		int rowCount = 0;
-		boolean keyFound = false;
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			return sheetReader.getRowCount(datasheetName, key, columnNum, startRowNum);
+		}
 		
-		String currentValue;
-		for (int currentRowNum = startRowNum;
-				currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
+		lockWorkbook(false);
+		lockSheet(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFSheet worksheet = getWorkSheet(workbook);
+			ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
 			
-			HSSFRow row = worksheet.getRow(currentRowNum);
-			HSSFCell cell = row.getCell(columnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
+			int rowCount = 0;
+			boolean keyFound = false;
 			
-			if (currentValue.equals(key)) {
-				rowCount++;
-				keyFound = true;
-			} else {
-				if (keyFound) {
-					break;	// Assumption: Keys always appear contiguously
+			String currentValue;
+			for (int currentRowNum = startRowNum;
+					currentRowNum <= worksheet.getLastRowNum(); currentRowNum++) {
+			
+				HSSFRow row = worksheet.getRow(currentRowNum);
+				HSSFCell cell = row.getCell(columnNum);
+				currentValue = cellEvaluator.getCellValueAsString(cell);
+			
+				if (currentValue.equals(key)) {
+					rowCount++;
+					keyFound = true;
+				} else {
+					if (keyFound) {
+						break;	// Assumption: Keys always appear contiguously
+					}
 				}
 			}
+			
+			return rowCount;
+		} finally {
+			unlockSheet();
+			unlockWorkbook();
 		}
-		
-		return rowCount;
 	}
 	
 	/**
@@ -234,25 +549,40 @@ public class ExcelDataAccess {
 	public int getColumnNum(String key, int rowNum) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator =
-							workbook.getCreationHelper().createFormulaEvaluator();
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			return sheetReader.getColumnNum(datasheetName, key, rowNum);
+		}
 		
-		HSSFRow row = worksheet.getRow(rowNum);
-		String currentValue;
-		for (int currentColumnNum = 0;
-				currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
+		lockWorkbook(false);
+		lockSheet(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFSheet worksheet = getWorkSheet(workbook);
+			ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
+			
+			if (rowNum == 0) {	// Header row lookups are served from the header index
+				return getHeaderColumnNum(workbook, worksheet, key, cellEvaluator);
+			}
 			
-			HSSFCell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
+			HSSFRow row = worksheet.getRow(rowNum);
+			String currentValue;
+			for (int currentColumnNum = 0;
+					currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
 			
-			if (currentValue.equals(key)) {
-				return currentColumnNum;
+				HSSFCell cell = row.getCell(currentColumnNum);
+				currentValue = cellEvaluator.getCellValueAsString(cell);
+			
+				if (currentValue.equals(key)) {
+					return currentColumnNum;
+				}
 			}
+			
+			return -1;
+		} finally {
+			unlockSheet();
+			unlockWorkbook();
 		}
-		
-		return -1;
 	}
 	
 	/**
@@ -264,14 +594,25 @@ public class ExcelDataAccess {
 	public String getValue(int rowNum, int columnNum) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator =
-							workbook.getCreationHelper().createFormulaEvaluator();
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			return sheetReader.getValue(datasheetName, rowNum, columnNum);
+		}
 		
-		HSSFRow row = worksheet.getRow(rowNum);
-		HSSFCell cell = row.getCell(columnNum);
-		return getCellValueAsString(cell, formulaEvaluator);
+		lockWorkbook(false);
+		lockSheet(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFSheet worksheet = getWorkSheet(workbook);
+			ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
+			
+			HSSFRow row = worksheet.getRow(rowNum);
+			HSSFCell cell = row.getCell(columnNum);
+			return cellEvaluator.getCellValueAsString(cell);
+		} finally {
+			unlockSheet();
+			unlockWorkbook();
+		}
 	}
 	
 	/**
@@ -283,57 +624,220 @@ public class ExcelDataAccess {
 	public String getValue(int rowNum, String columnHeader) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator =
-							workbook.getCreationHelper().createFormulaEvaluator();
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			int columnNum = sheetReader.getColumnNum(datasheetName, columnHeader, 0);	//0 because header is always in the first row
+			if (columnNum == -1) {
+				String errorDescription = "The specified column header \"" + columnHeader + "\"" +
+											" is not found in the sheet \"" + datasheetName + "\"!";
+				logger.error(errorDescription);
+				throw new AutopiaException(errorDescription);
+			}
+			return sheetReader.getValue(datasheetName, rowNum, columnNum);
+		}
 		
-		HSSFRow row = worksheet.getRow(0);	//0 because header is always in the first row
-		int columnNum = -1;
-		String currentValue;
-		for (int currentColumnNum = 0;
-				currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
+		lockWorkbook(false);
+		lockSheet(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFSheet worksheet = getWorkSheet(workbook);
+			ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
 			
-			HSSFCell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
+			int columnNum = getHeaderColumnNum(workbook, worksheet, columnHeader, cellEvaluator);
 			
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
+			if (columnNum == -1) {
+				String errorDescription = "The specified column header \"" + columnHeader + "\"" +
+											" is not found in the sheet \"" + datasheetName + "\"!";
+				logger.error(errorDescription);
+				throw new AutopiaException(errorDescription);
+			} else {
+				HSSFRow row = worksheet.getRow(rowNum);
+				HSSFCell cell = row.getCell(columnNum);
+				return cellEvaluator.getCellValueAsString(cell);
 			}
+		} finally {
+			unlockSheet();
+			unlockWorkbook();
 		}
+	}
+	
+	/**
+	 * Function to get the values of all the cells within the specified row, in a single pass<br>
+	 * The number of values returned matches the number of columns in the header row,
+	 * so that the values can be paired with the column headers (i.e., the values of row 0)
+	 * @param rowNum The row number
+	 * @return The values present in the cells of the row
+	 */
+	public String[] getRowValues(int rowNum) {
+		return getRowValues(rowNum, null);
+	}
+	
+	/**
+	 * Function to get the values of all the cells within the specified row, in a single pass,
+	 * without failing on the cells which contain errors<br>
+	 * The number of values returned matches the number of columns in the header row,
+	 * so that the values can be paired with the column headers (i.e., the values of row 0)
+	 * @param rowNum The row number
+	 * @param cellErrors The map into which the descriptions of the errors within the cells are put,
+	 * keyed by cell reference (as returned by {@link #getCellReference(int, int)}), while the values
+	 * of such cells are returned as null. If null, the first cell containing an error causes an {@link AutopiaException}
+	 * @return The values present in the cells of the row
+	 */
+	public String[] getRowValues(int rowNum, Map<String, String> cellErrors) {
+		checkPreRequisites();
 		
-		if (columnNum == -1) {
-			String errorDescription = "The specified column header \"" + columnHeader + "\"" +
-										" is not found in the sheet \"" + datasheetName + "\"!";
-			logger.error(errorDescription);
-			throw new AutopiaException(errorDescription);
-		} else {
-			row = worksheet.getRow(rowNum);
-			HSSFCell cell = row.getCell(columnNum);
-			return getCellValueAsString(cell, formulaEvaluator);
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			return sheetReader.getRowValues(datasheetName, rowNum, true, cellErrors);
+		}
+		
+		lockWorkbook(false);
+		lockSheet(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFSheet worksheet = getWorkSheet(workbook);
+			ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
+			
+			int columnCount = Math.max(worksheet.getRow(0).getLastCellNum(), 0);	//0 because header is always in the first row
+			String[] rowValues = new String[columnCount];
+			
+			HSSFRow row = worksheet.getRow(rowNum);
+			for (int currentColumnNum = 0; currentColumnNum < columnCount; currentColumnNum++) {
+				HSSFCell cell = (row == null)? null : row.getCell(currentColumnNum);
+				if (cellErrors == null) {
+					rowValues[currentColumnNum] = cellEvaluator.getCellValueAsString(cell);
+					continue;
+				}
+				
+				rowValues[currentColumnNum] = cellEvaluator.getCellValueOrNull(cell);
+				if (rowValues[currentColumnNum] == null) {
+					cellErrors.put(getCellReference(rowNum, currentColumnNum),
+										cellEvaluator.getErrorDescription(cell));
+				}
+			}
+			
+			return rowValues;
+		} finally {
+			unlockSheet();
+			unlockWorkbook();
 		}
 	}
 	
-	private HSSFCellStyle applyCellStyle(HSSFWorkbook workbook,
-											ExcelCellFormatting cellFormatting) {
-		HSSFCellStyle cellStyle = workbook.createCellStyle();
-		if (cellFormatting.isCentered()) {
-			cellStyle.setAlignment(HSSFCellStyle.ALIGN_CENTER);
+	/**
+	 * Function to get the values of all the cells within the worksheet, in a single pass<br>
+	 * Each row contains as many values as there are columns in the header row (i.e., row 0)
+	 * @return The values present in the cells of the worksheet, indexed by row number and column number
+	 */
+	public String[][] getSheetValues() {
+		return getSheetValues(null);
+	}
+	
+	/**
+	 * Function to get the values of all the cells within the worksheet, in a single pass,
+	 * without failing on the cells which contain errors<br>
+	 * Each row contains as many values as there are columns in the header row (i.e., row 0)
+	 * @param cellErrors The map into which the descriptions of the errors within the cells are put,
+	 * keyed by cell reference (as returned by {@link #getCellReference(int, int)}), while the values
+	 * of such cells are returned as null. If null, the first cell containing an error causes an {@link AutopiaException}
+	 * @return The values present in the cells of the worksheet, indexed by row number and column number
+	 */
+	public String[][] getSheetValues(Map<String, String> cellErrors) {
+		checkPreRequisites();
+		
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			return sheetReader.getSheetValues(datasheetName, cellErrors);
 		}
-		cellStyle.setFillForegroundColor(cellFormatting.getBackColorIndex());
-		cellStyle.setFillPattern(HSSFCellStyle.SOLID_FOREGROUND);
 		
-		HSSFFont font = workbook.createFont();
-		font.setFontName(cellFormatting.getFontName());
-		font.setFontHeightInPoints(cellFormatting.getFontSize());
-		if (cellFormatting.isBold()) {
-			font.setBoldweight(HSSFFont.BOLDWEIGHT_BOLD);
+		lockWorkbook(false);
+		lockSheet(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFSheet worksheet = getWorkSheet(workbook);
+			ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
+			
+			HSSFRow headerRow = worksheet.getRow(0);	//0 because header is always in the first row
+			int columnCount = (headerRow == null)? 0 : Math.max(headerRow.getLastCellNum(), 0);
+			String[][] sheetValues = new String[worksheet.getLastRowNum() + 1][columnCount];
+			
+			for (int currentRowNum = 0; currentRowNum < sheetValues.length; currentRowNum++) {
+				HSSFRow row = worksheet.getRow(currentRowNum);
+				for (int currentColumnNum = 0; currentColumnNum < columnCount; currentColumnNum++) {
+					HSSFCell cell = (row == null)? null : row.getCell(currentColumnNum);
+					if (cellErrors == null) {
+						sheetValues[currentRowNum][currentColumnNum] =
+											cellEvaluator.getCellValueAsString(cell);
+						continue;
+					}
+					
+					sheetValues[currentRowNum][currentColumnNum] = cellEvaluator.getCellValueOrNull(cell);
+					if (sheetValues[currentRowNum][currentColumnNum] == null) {
+						cellErrors.put(getCellReference(currentRowNum, currentColumnNum),
+											cellEvaluator.getErrorDescription(cell));
+					}
+				}
+			}
+			
+			return sheetValues;
+		} finally {
+			unlockSheet();
+			unlockWorkbook();
+		}
+	}
+	
+	/**
+	 * Function to get the reference of the cell identified by the specified row and column numbers
+	 * @param rowNum The row number of the cell
+	 * @param columnNum The column number of the cell
+	 * @return The cell reference (e.g., "B7" for row number 6 and column number 1)
+	 */
+	public static String getCellReference(int rowNum, int columnNum) {
+		return new CellReference(rowNum, columnNum).formatAsString();
+	}
+	
+	/**
+	 * Function to get the names of all the sheets within the Excel workbook
+	 * @return The list of sheet names, in the order in which they appear within the workbook
+	 */
+	public List<String> getSheetNames() {
+		ExcelSheetReader sheetReader = getSheetReader();
+		if (sheetReader != null) {
+			return sheetReader.getSheetNames();
+		}
+		
+		lockWorkbook(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			return getSheetNames(workbook);
+		} finally {
+			unlockWorkbook();
+		}
+	}
+	
+	private List<String> getSheetNames(HSSFWorkbook workbook) {
+		List<String> sheetNames = new ArrayList<>();
+		for (int sheetIndex = 0; sheetIndex < workbook.getNumberOfSheets(); sheetIndex++) {
+			sheetNames.add(workbook.getSheetName(sheetIndex));
 		}
-		font.setColor(cellFormatting.getForeColorIndex());
-		cellStyle.setFont(font);
 		
-		return cellStyle;
+		return sheetNames;
+	}
+	
+	/**
+	 * Function to check whether the Excel workbook exists
+	 * @return Boolean value indicating whether the Excel workbook exists
+	 */
+	public boolean exists() {
+		return new File(getAbsoluteFilePath()).isFile() || new File(getXlsxFilePath()).isFile();
+	}
+	
+	private HSSFCellStyle applyCellStyle(HSSFWorkbook workbook,
+											ExcelCellFormatting cellFormatting) {
+		return getStylePool(workbook).getCellStyle(cellFormatting);
+	}
+	
+	private ExcelStylePool getStylePool(HSSFWorkbook workbook) {
+		return ExcelWorkbookCache.getStylePool(getAbsoluteFilePath(), workbook);
 	}
 	
 	/**
@@ -357,38 +861,107 @@ public class ExcelDataAccess {
 											ExcelCellFormatting cellFormatting) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		
-		HSSFRow row = worksheet.getRow(rowNum);
-		HSSFCell cell = row.createCell(columnNum);
-		cell.setCellType(HSSFCell.CELL_TYPE_STRING);
-		cell.setCellValue(value);
+		lockWorkbookForCellFormatting(cellFormatting);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				
+				HSSFRow row = worksheet.getRow(rowNum);
+				HSSFCell cell = row.createCell(columnNum);
+				cell.setCellType(HSSFCell.CELL_TYPE_STRING);
+				cell.setCellValue(value);
+				getSheetIndex(workbook).invalidateCell(rowNum, columnNum);
+				
+				if (cellFormatting != null) {
+					HSSFCellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
+					cell.setCellStyle(cellStyle);
+				}
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
+		}
+	}
+	
+	/**
+	 * Function to lock the workbook for modifying the cells of the current sheet, applying the specified formatting<br>
+	 * The workbook read lock suffices (along with the sheet write lock), unless a new style (and font)
+	 * has to be created within the workbook for the formatting, which requires the workbook write lock
+	 * @param cellFormatting The {@link ExcelCellFormatting} to be applied (null if none)
+	 */
+	private void lockWorkbookForCellFormatting(ExcelCellFormatting cellFormatting) {
+		lockWorkbookForModification(false);
+		if (cellFormatting == null) {
+			return;
+		}
 		
-		if (cellFormatting != null) {
-			HSSFCellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
-			cell.setCellStyle(cellStyle);
+		boolean isCellStylePooled = false;
+		try {
+			isCellStylePooled = getStylePool(openFileForReading()).containsCellStyle(cellFormatting);
+		} finally {
+			if (!isCellStylePooled) {
+				unlockWorkbook();
+			}
 		}
 		
-		writeIntoFile(workbook);
+		if (!isCellStylePooled) {
+			lockWorkbook(true);
+		}
 	}
 	
 	private void writeIntoFile(HSSFWorkbook workbook) {
-		String absoluteFilePath = filePath + Util.getFileSeparator() +
-															fileName + ".xls";
+		String absoluteFilePath = getAbsoluteFilePath();
+		
+		// Formula results may depend on the cells just modified
+		getCellEvaluator(workbook).invalidate();
+		
+		if (batch != null) {
+			if (batch.workbook != workbook) {
+				// Keep the workbook (along with its indexes and style pool) cached until the batch is committed
+				ExcelWorkbookCache.pinWorkbook(absoluteFilePath, workbook);
+				batch.workbook = workbook;	// The workbook will be written when the batch is committed
+			}
+			return;
+		}
+		
+		ReentrantReadWriteLock workbookLock = ExcelLockManager.getWorkbookLock(absoluteFilePath);
+		if (workbookLock.isWriteLockedByCurrentThread()) {
+			// Downgrade to the read lock, so that readers are not blocked while the file is being written
+			workbookLock.readLock().lock();
+			workbookLock.writeLock().unlock();
+		}
 		
+		// Writing the file reads every sheet, so wait for any sheet-level writers to finish
+		ReentrantLock fileLock = ExcelLockManager.getFileLock(absoluteFilePath);
+		fileLock.lock();
+		List<Lock> sheetLocks =
+				ExcelLockManager.lockSheetsForReading(absoluteFilePath, getSheetNames(workbook));
+		ExcelWorkbookCache.beginWrite(absoluteFilePath, workbook);
 		try	{
 			FileOutputStream fileOutputStream = new FileOutputStream(absoluteFilePath);
 			workbook.write(fileOutputStream);
 			fileOutputStream.close();
+			
+			ExcelWorkbookCache.updateWorkbook(absoluteFilePath, workbook);
 		} catch (FileNotFoundException e) {
+			ExcelWorkbookCache.invalidate(absoluteFilePath);
 			String errorDescription = "The specified file \"" + absoluteFilePath + "\" does not exist!";
 			logger.error(errorDescription, e);
 			throw new AutopiaException(errorDescription);
 		} catch (IOException e) {
+			ExcelWorkbookCache.invalidate(absoluteFilePath);
 			String errorDescription = "Error while writing into the specified Excel workbook \"" + absoluteFilePath + "\"";
 			logger.error(errorDescription, e);
 			throw new AutopiaException(errorDescription);
+		} finally {
+			ExcelLockManager.unlock(sheetLocks);
+			fileLock.unlock();
 		}
 	}
 	
@@ -413,43 +986,145 @@ public class ExcelDataAccess {
 												ExcelCellFormatting cellFormatting) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator =
-							workbook.getCreationHelper().createFormulaEvaluator();
-		
-		HSSFRow row = worksheet.getRow(0);	//0 because header is always in the first row
-		int columnNum = -1;
-		String currentValue;
-		for (int currentColumnNum = 0;
-				currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
+		lockWorkbookForCellFormatting(cellFormatting);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
+				
+				int columnNum = getHeaderColumnNum(workbook, worksheet, columnHeader, cellEvaluator);
+				
+				if (columnNum == -1) {
+					String errorDescription = "The specified column header \"" + columnHeader + "\"" +
+												" is not found in the sheet \"" + datasheetName + "\"!";
+					logger.error(errorDescription);
+					throw new AutopiaException(errorDescription);
+				}
+				
+				HSSFRow row = worksheet.getRow(rowNum);
+				HSSFCell cell = row.createCell(columnNum);
+				cell.setCellType(HSSFCell.CELL_TYPE_STRING);
+				cell.setCellValue(value);
+				getSheetIndex(workbook).invalidateCell(rowNum, columnNum);
+				
+				if (cellFormatting != null) {
+					HSSFCellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
+					cell.setCellStyle(cellStyle);
+				}
+			} finally {
+				unlockSheet();
+			}
 			
-			HSSFCell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
+		}
+	}
+	
+	/**
+	 * Function to set the specified numeric value in the cell identified by the specified row number and column header
+	 * @param rowNum The row number of the cell
+	 * @param columnHeader The column header of the cell
+	 * @param value The numeric value to be set in the cell
+	 * @param cellFormatting The {@link ExcelCellFormatting} to be applied to the cell
+	 */
+	public void setValue(int rowNum, String columnHeader, double value,
+												ExcelCellFormatting cellFormatting) {
+		checkPreRequisites();
+		
+		lockWorkbookForCellFormatting(cellFormatting);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
 			
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
+				
+				int columnNum = getHeaderColumnNum(workbook, worksheet, columnHeader, cellEvaluator);
+				
+				if (columnNum == -1) {
+					String errorDescription = "The specified column header \"" + columnHeader + "\"" +
+												" is not found in the sheet \"" + datasheetName + "\"!";
+					logger.error(errorDescription);
+					throw new AutopiaException(errorDescription);
+				}
+				
+				HSSFRow row = worksheet.getRow(rowNum);
+				HSSFCell cell = row.createCell(columnNum);
+				cell.setCellType(HSSFCell.CELL_TYPE_NUMERIC);
+				cell.setCellValue(value);
+				getSheetIndex(workbook).invalidateCell(rowNum, columnNum);
+				
+				if (cellFormatting != null) {
+					HSSFCellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
+					cell.setCellStyle(cellStyle);
+				}
+			} finally {
+				unlockSheet();
 			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
 		}
+	}
+	
+	/**
+	 * Function to set the specified values in the cells identified by the specified row numbers and column headers,
+	 * writing the workbook only once for all the values
+	 * @param rowNums The row numbers of the cells
+	 * @param columnHeaders The column headers of the cells
+	 * @param values The values to be set in the cells
+	 */
+	public void setValues(int[] rowNums, String[] columnHeaders, String[] values) {
+		checkPreRequisites();
 		
-		if (columnNum == -1) {
-			String errorDescription = "The specified column header \"" + columnHeader + "\"" +
-										" is not found in the sheet \"" + datasheetName + "\"!";
+		if (rowNums.length != columnHeaders.length || rowNums.length != values.length) {
+			String errorDescription = "The number of row numbers, column headers and values must be the same!";
 			logger.error(errorDescription);
 			throw new AutopiaException(errorDescription);
-		} else {
-			row = worksheet.getRow(rowNum);
-			HSSFCell cell = row.createCell(columnNum);
-			cell.setCellType(HSSFCell.CELL_TYPE_STRING);
-			cell.setCellValue(value);
+		}
+		
+		lockWorkbookForModification(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
 			
-			if (cellFormatting != null) {
-				HSSFCellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
-				cell.setCellStyle(cellStyle);
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				ExcelCellEvaluator cellEvaluator = getCellEvaluator(workbook);
+				
+				// Resolve all the column headers upfront, so that the workbook is not left partially updated
+				int[] columnNums = new int[columnHeaders.length];
+				for (int i = 0; i < columnHeaders.length; i++) {
+					columnNums[i] = getHeaderColumnNum(workbook, worksheet, columnHeaders[i], cellEvaluator);
+				
+					if (columnNums[i] == -1) {
+						String errorDescription = "The specified column header \"" + columnHeaders[i] + "\"" +
+													" is not found in the sheet \"" + datasheetName + "\"!";
+						logger.error(errorDescription);
+						throw new AutopiaException(errorDescription);
+					}
+				}
+				
+				for (int i = 0; i < values.length; i++) {
+					HSSFRow row = worksheet.getRow(rowNums[i]);
+					HSSFCell cell = row.createCell(columnNums[i]);
+					cell.setCellType(HSSFCell.CELL_TYPE_STRING);
+					cell.setCellValue(values[i]);
+					getSheetIndex(workbook).invalidateCell(rowNums[i], columnNums[i]);
+				}
+			} finally {
+				unlockSheet();
 			}
 			
 			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
 		}
 	}
 	
@@ -462,28 +1137,68 @@ public class ExcelDataAccess {
 	public void setHyperlink(int rowNum, int columnNum, String linkAddress) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		
-		HSSFRow row = worksheet.getRow(rowNum);
-		HSSFCell cell = row.getCell(columnNum);
-		if (cell == null) {
-			String errorDescription = "Specified cell is empty! " +
-										"Please set a value before including a hyperlink...";
-			logger.error(errorDescription);
-			throw new AutopiaException(errorDescription);
+		lockForHyperlink(rowNum, columnNum);
+		try {
+			HSSFWorkbook workbook;
+			try {
+				workbook = openFileForReading();
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				
+				HSSFRow row = worksheet.getRow(rowNum);
+				HSSFCell cell = row.getCell(columnNum);
+				if (cell == null) {
+					String errorDescription = "Specified cell is empty! " +
+												"Please set a value before including a hyperlink...";
+					logger.error(errorDescription);
+					throw new AutopiaException(errorDescription);
+				}
+				
+				setCellHyperlink(workbook, cell, linkAddress);
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
+		}
+	}
+	
+	/**
+	 * Function to lock the workbook and the current sheet for setting a hyperlink in the specified cell<br>
+	 * The workbook read lock suffices (along with the sheet write lock, which is held from the check onwards,
+	 * so that the cell style cannot change in the meantime), unless the underlined variant of the cell style
+	 * has to be created within the workbook, which requires the workbook write lock
+	 * @param rowNum The row number of the cell
+	 * @param columnNum The column number of the cell
+	 */
+	private void lockForHyperlink(int rowNum, int columnNum) {
+		lockWorkbookForModification(false);
+		lockSheet(true);
+		
+		boolean isUnderlinedCellStylePooled = false;
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			HSSFRow row = getWorkSheet(workbook).getRow(rowNum);
+			HSSFCell cell = (row == null)? null : row.getCell(columnNum);
+			isUnderlinedCellStylePooled = (cell == null) ||	// An empty cell is reported by the caller
+					getStylePool(workbook).containsUnderlinedCellStyle(cell.getCellStyle());
+		} finally {
+			if (!isUnderlinedCellStylePooled) {
+				unlockSheet();
+				unlockWorkbook();
+			}
 		}
 		
-		setCellHyperlink(workbook, cell, linkAddress);
-		
-		writeIntoFile(workbook);
+		if (!isUnderlinedCellStylePooled) {
+			lockWorkbook(true);
+			lockSheet(true);
+		}
 	}
 	
 	private void setCellHyperlink(HSSFWorkbook workbook, HSSFCell cell, String linkAddress) {
-		HSSFCellStyle cellStyle = cell.getCellStyle();
-		HSSFFont font = cellStyle.getFont(workbook);
-		font.setUnderline(HSSFFont.U_SINGLE);
-		cellStyle.setFont(font);
+		// The cell style may be shared with other cells, so it must not be modified
+		HSSFCellStyle cellStyle = getStylePool(workbook).getUnderlinedCellStyle(cell.getCellStyle());
 		
 		CreationHelper creationHelper = workbook.getCreationHelper();
 		Hyperlink hyperlink = creationHelper.createHyperlink(Hyperlink.LINK_URL);
@@ -502,54 +1217,30 @@ public class ExcelDataAccess {
 	public void setHyperlink(int rowNum, String columnHeader, String linkAddress) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		FormulaEvaluator formulaEvaluator =
-							workbook.getCreationHelper().createFormulaEvaluator();
-		
-		HSSFRow row = worksheet.getRow(0);	//0 because header is always in the first row
-		int columnNum = -1;
-		String currentValue;
-		for (int currentColumnNum = 0;
-				currentColumnNum < row.getLastCellNum(); currentColumnNum++) {
-			
-			HSSFCell cell = row.getCell(currentColumnNum);
-			currentValue = getCellValueAsString(cell, formulaEvaluator);
-			
-			if (currentValue.equals(columnHeader)) {
-				columnNum = currentColumnNum;
-				break;
-			}
-		}
-		
+		int columnNum = getColumnNum(columnHeader, 0);	//0 because header is always in the first row
 		if (columnNum == -1) {
 			String errorDescription = "The specified column header \"" + columnHeader + "\"" +
 										" is not found in the sheet \"" + datasheetName + "\"!";
 			logger.error(errorDescription);
 			throw new AutopiaException(errorDescription);
-		} else {
-			row = worksheet.getRow(rowNum);
-			HSSFCell cell = row.getCell(columnNum);
-			if (cell == null) {
-				String errorDescription = "Specified cell is empty! " +
-											"Please set a value before including a hyperlink...";
-				logger.error(errorDescription);
-				throw new AutopiaException(errorDescription);
-			}
-			
-			setCellHyperlink(workbook, cell, linkAddress);
-			
-			writeIntoFile(workbook);
 		}
+		
+		setHyperlink(rowNum, columnNum, linkAddress);
 	}
 	
 	/**
 	 * Function to create a new Excel workbook
 	 */
 	public void createWorkbook() {
-		HSSFWorkbook workbook = new HSSFWorkbook();
-		
-		writeIntoFile(workbook);
+		lockWorkbookForModification(true);
+		try {
+			HSSFWorkbook workbook = new HSSFWorkbook();
+			
+			writeIntoFile(workbook);
+			isSheetReaderResolved = false;	// The new .xls file takes precedence over any .xlsx file
+		} finally {
+			unlockWorkbook();
+		}
 	}
 	
 	/**
@@ -557,14 +1248,19 @@ public class ExcelDataAccess {
 	 * @param sheetName The sheet name to be added
 	 */
 	public void addSheet(String sheetName) {
-		HSSFWorkbook workbook = openFileForReading();
-		
-		HSSFSheet worksheet = workbook.createSheet(sheetName);
-		worksheet.createRow(0);	//include a blank row in the sheet created
-		
-		writeIntoFile(workbook);
-		
-		this.datasheetName = sheetName;
+		lockWorkbookForModification(true);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			HSSFSheet worksheet = workbook.createSheet(sheetName);
+			worksheet.createRow(0);	//include a blank row in the sheet created
+			
+			writeIntoFile(workbook);
+			
+			this.datasheetName = sheetName;
+		} finally {
+			unlockWorkbook();
+		}
 	}
 	
 	/**
@@ -574,15 +1270,28 @@ public class ExcelDataAccess {
 	public int addRow() {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		
-		int newRowNum = worksheet.getLastRowNum() + 1;
-		worksheet.createRow(newRowNum);
-		
-		writeIntoFile(workbook);
-		
-		return newRowNum;
+		lockWorkbookForModification(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			int newRowNum;
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				
+				newRowNum = worksheet.getLastRowNum() + 1;
+				worksheet.createRow(newRowNum);
+				getSheetIndex(workbook).invalidateRowIndexes();
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+			
+			return newRowNum;
+		} finally {
+			unlockWorkbook();
+		}
 	}
 	
 	/**
@@ -601,25 +1310,37 @@ public class ExcelDataAccess {
 	public void addColumn(String columnHeader, ExcelCellFormatting cellFormatting) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		
-		HSSFRow row = worksheet.getRow(0);	//0 because header is always in the first row
-		int lastCellNum = row.getLastCellNum();
-		if (lastCellNum == -1) {
-			lastCellNum = 0;
-		}
-		
-		HSSFCell cell = row.createCell(lastCellNum);
-		cell.setCellType(HSSFCell.CELL_TYPE_STRING);
-		cell.setCellValue(columnHeader);
-		
-		if (cellFormatting != null) {
-			HSSFCellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
-			cell.setCellStyle(cellStyle);
+		lockWorkbookForCellFormatting(cellFormatting);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				
+				HSSFRow row = worksheet.getRow(0);	//0 because header is always in the first row
+				int lastCellNum = row.getLastCellNum();
+				if (lastCellNum == -1) {
+					lastCellNum = 0;
+				}
+				
+				HSSFCell cell = row.createCell(lastCellNum);
+				cell.setCellType(HSSFCell.CELL_TYPE_STRING);
+				cell.setCellValue(columnHeader);
+				getSheetIndex(workbook).invalidateHeaderIndex();
+				
+				if (cellFormatting != null) {
+					HSSFCellStyle cellStyle = applyCellStyle(workbook, cellFormatting);
+					cell.setCellStyle(cellStyle);
+				}
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
 		}
-		
-		writeIntoFile(workbook);
 	}
 	
 	/**
@@ -628,20 +1349,26 @@ public class ExcelDataAccess {
 	 * @param hexColor The hex value of the color to be set within the palette
 	 */
 	public void setCustomPaletteColor(short index, String hexColor) {
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFPalette palette = workbook.getCustomPalette();
-		
-		if(index < 0x8 || index > 0x40) {
-			String errorDescription = "Valid indexes for the Excel custom palette are from 0x8 to 0x40 (inclusive)!";
-			logger.error(errorDescription);
-			throw new AutopiaException(errorDescription);
+		lockWorkbookForModification(true);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			HSSFPalette palette = workbook.getCustomPalette();
+			
+			if(index < 0x8 || index > 0x40) {
+				String errorDescription = "Valid indexes for the Excel custom palette are from 0x8 to 0x40 (inclusive)!";
+				logger.error(errorDescription);
+				throw new AutopiaException(errorDescription);
+			}
+			
+			Color color = Color.decode(hexColor);
+			palette.setColorAtIndex(index, (byte) color.getRed(),
+										(byte) color.getGreen(), (byte) color.getBlue());
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
 		}
-		
-		Color color = Color.decode(hexColor);
-		palette.setColorAtIndex(index, (byte) color.getRed(),
-									(byte) color.getGreen(), (byte) color.getBlue());
-		
-		writeIntoFile(workbook);
 	}
 	
 	/**
@@ -655,14 +1382,25 @@ public class ExcelDataAccess {
 	public void mergeCells(int firstRow, int lastRow, int firstCol, int lastCol) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		
-		CellRangeAddress cellRangeAddress = new CellRangeAddress(firstRow, lastRow,
-																	firstCol, lastCol);
-		worksheet.addMergedRegion(cellRangeAddress);
-		
-		writeIntoFile(workbook);
+		lockWorkbookForModification(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				
+				CellRangeAddress cellRangeAddress = new CellRangeAddress(firstRow, lastRow,
+																			firstCol, lastCol);
+				worksheet.addMergedRegion(cellRangeAddress);
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
+		}
 	}
 	
 	/**
@@ -674,12 +1412,23 @@ public class ExcelDataAccess {
 	public void setRowSumsBelow(boolean rowSumsBelow) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		
-		worksheet.setRowSumsBelow(rowSumsBelow);
-		
-		writeIntoFile(workbook);
+		lockWorkbookForModification(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				
+				worksheet.setRowSumsBelow(rowSumsBelow);
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
+		}
 	}
 	
 	/**
@@ -690,12 +1439,23 @@ public class ExcelDataAccess {
 	public void groupRows(int firstRow, int lastRow) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		
-		worksheet.groupRow(firstRow, lastRow);
-		
-		writeIntoFile(workbook);
+		lockWorkbookForModification(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				
+				worksheet.groupRow(firstRow, lastRow);
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
+		}
 	}
 	
 	/**
@@ -713,19 +1473,62 @@ public class ExcelDataAccess {
 			throw new AutopiaException(errorDescription);
 		}
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		
-		int currentColumn = firstCol;
-		if (currentColumn < 0) {
-			currentColumn = 0;
+		lockWorkbookForModification(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				
+				int currentColumn = firstCol;
+				if (currentColumn < 0) {
+					currentColumn = 0;
+				}
+				
+				for (;currentColumn <= lastCol; currentColumn++) {
+					worksheet.autoSizeColumn(currentColumn);
+				}
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
 		}
+	}
+	
+	/**
+	 * Function to set the widths of the columns to those tracked by the specified {@link ExcelColumnWidthTracker}
+	 * (this is much faster than {@link #autoFitContents(int, int)}, which measures every cell using the AWT font metrics)
+	 * @param columnWidthTracker The {@link ExcelColumnWidthTracker} which tracked the values written into the sheet
+	 */
+	public void setColumnWidths(ExcelColumnWidthTracker columnWidthTracker) {
+		checkPreRequisites();
 		
-		for (;currentColumn <= lastCol; currentColumn++) {
-			worksheet.autoSizeColumn(currentColumn);
+		lockWorkbookForModification(false);
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			
+			lockSheet(true);
+			try {
+				HSSFSheet worksheet = getWorkSheet(workbook);
+				
+				for (int columnNum = 0; columnNum <= columnWidthTracker.getLastColumnNum(); columnNum++) {
+					int columnWidth = columnWidthTracker.getColumnWidth(columnNum);
+					if (columnWidth > 0) {
+						worksheet.setColumnWidth(columnNum, columnWidth);
+					}
+				}
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
 		}
-		
-		writeIntoFile(workbook);
 	}
 	
 	/**
@@ -735,17 +1538,7 @@ public class ExcelDataAccess {
 	 * @param lastCol The last column
 	 */
 	public void addOuterBorder(int firstCol, int lastCol) {
-		checkPreRequisites();
-		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
-		
-		CellRangeAddress cellRangeAddress = new CellRangeAddress(0, worksheet.getLastRowNum(),
-																	firstCol, lastCol);
-		HSSFRegionUtil.setBorderBottom(HSSFCellStyle.BORDER_THIN, cellRangeAddress, worksheet, workbook);
-		HSSFRegionUtil.setBorderRight(HSSFCellStyle.BORDER_THIN, cellRangeAddress, worksheet, workbook);
-		
-		writeIntoFile(workbook);
+		addOuterBorder(0, -1, firstCol, lastCol, false);
 	}
 	
 	/**
@@ -757,18 +1550,178 @@ public class ExcelDataAccess {
 	 * @param lastCol The last column
 	 */
 	public void addOuterBorder(int firstRow, int lastRow, int firstCol, int lastCol) {
+		addOuterBorder(firstRow, lastRow, firstCol, lastCol, true);
+	}
+	
+	private void addOuterBorder(int firstRow, int lastRow, int firstCol, int lastCol,
+														boolean isTopLeftBordered) {
 		checkPreRequisites();
 		
-		HSSFWorkbook workbook = openFileForReading();
-		HSSFSheet worksheet = getWorkSheet(workbook);
+		lockForOuterBorder(firstRow, lastRow, firstCol, lastCol, isTopLeftBordered);
+		try {
+			HSSFWorkbook workbook;
+			try {
+				workbook = openFileForReading();
+				applyOuterBorder(workbook, getWorkSheet(workbook),
+									firstRow, lastRow, firstCol, lastCol, isTopLeftBordered, false);
+			} finally {
+				unlockSheet();
+			}
+			
+			writeIntoFile(workbook);
+		} finally {
+			unlockWorkbook();
+		}
+	}
+	
+	/**
+	 * Function to lock the workbook and the current sheet for adding an outer border<br>
+	 * The workbook read lock suffices (along with the sheet write lock, which is held from the check onwards,
+	 * so that the cell styles cannot change in the meantime), unless the bordered variants of the cell styles
+	 * have to be created within the workbook, which requires the workbook write lock
+	 */
+	private void lockForOuterBorder(int firstRow, int lastRow, int firstCol, int lastCol,
+														boolean isTopLeftBordered) {
+		lockWorkbookForModification(false);
+		lockSheet(true);
+		
+		boolean areBorderedCellStylesPooled = false;
+		try {
+			HSSFWorkbook workbook = openFileForReading();
+			areBorderedCellStylesPooled = applyOuterBorder(workbook, getWorkSheet(workbook),
+									firstRow, lastRow, firstCol, lastCol, isTopLeftBordered, true);
+		} finally {
+			if (!areBorderedCellStylesPooled) {
+				unlockSheet();
+				unlockWorkbook();
+			}
+		}
 		
-		CellRangeAddress cellRangeAddress = new CellRangeAddress(firstRow, lastRow,
-																	firstCol, lastCol);
-		HSSFRegionUtil.setBorderBottom(HSSFCellStyle.BORDER_THIN, cellRangeAddress, worksheet, workbook);
-		HSSFRegionUtil.setBorderTop(HSSFCellStyle.BORDER_THIN, cellRangeAddress, worksheet, workbook);
-		HSSFRegionUtil.setBorderRight(HSSFCellStyle.BORDER_THIN, cellRangeAddress, worksheet, workbook);
-		HSSFRegionUtil.setBorderLeft(HSSFCellStyle.BORDER_THIN, cellRangeAddress, worksheet, workbook);
+		if (!areBorderedCellStylesPooled) {
+			lockWorkbook(true);
+			lockSheet(true);
+		}
+	}
+	
+	/**
+	 * Function to apply thin borders to the outer edges of the specified range of cells (creating any missing cells),
+	 * or only to check whether all the bordered cell styles required are already pooled
+	 * @param lastRow The last row (-1 for the last row of the worksheet)
+	 * @param isTopLeftBordered Boolean value indicating whether the top and left edges are to be bordered,
+	 * in addition to the bottom and right edges
+	 * @param isCheckOnly Boolean value indicating whether the worksheet is to be left unmodified
+	 * @return Boolean value indicating whether all the bordered cell styles required are pooled
+	 * (always true if the borders have been applied)
+	 */
+	private boolean applyOuterBorder(HSSFWorkbook workbook, HSSFSheet worksheet,
+										int firstRow, int lastRow, int firstCol, int lastCol,
+										boolean isTopLeftBordered, boolean isCheckOnly) {
+		ExcelStylePool stylePool = getStylePool(workbook);
+		if (lastRow == -1) {
+			lastRow = worksheet.getLastRowNum();
+		}
 		
-		writeIntoFile(workbook);
+		for (int rowNum = firstRow; rowNum <= lastRow; rowNum++) {
+			HSSFRow row = worksheet.getRow(rowNum);
+			if (row == null) {
+				if (isCheckOnly) {
+					return false;
+				}
+				row = worksheet.createRow(rowNum);
+			}
+			
+			for (int columnNum = firstCol; columnNum <= lastCol; columnNum++) {
+				int borderEdges = 0;
+				if (isTopLeftBordered && rowNum == firstRow) {
+					borderEdges |= ExcelStylePool.BORDER_TOP;
+				}
+				if (rowNum == lastRow) {
+					borderEdges |= ExcelStylePool.BORDER_BOTTOM;
+				}
+				if (isTopLeftBordered && columnNum == firstCol) {
+					borderEdges |= ExcelStylePool.BORDER_LEFT;
+				}
+				if (columnNum == lastCol) {
+					borderEdges |= ExcelStylePool.BORDER_RIGHT;
+				}
+				if (borderEdges == 0) {
+					continue;	// Interior cells are left as they are
+				}
+				
+				HSSFCell cell = row.getCell(columnNum);
+				if (isCheckOnly) {
+					if (cell == null || !stylePool.containsBorderedCellStyle(cell.getCellStyle(), borderEdges)) {
+						return false;
+					}
+				} else {
+					if (cell == null) {
+						cell = row.createCell(columnNum);
+					}
+					cell.setCellStyle(stylePool.getBorderedCellStyle(cell.getCellStyle(), borderEdges));
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	
+	/**
+	 * Class to represent a batch of modifications to the Excel workbook, which are written into the file
+	 * only once, when the batch is committed or closed<br>
+	 * The modifications are applied to the shared in-memory workbook (owned by the batch until it is committed)
+	 * as they are made, so they cannot be rolled back: closing the batch after a failure writes the modifications
+	 * made up to that point
+	 * @author vj
+	 */
+	public final class Batch implements AutoCloseable {
+		private HSSFWorkbook workbook;	// The workbook modified within the batch (null if nothing was modified)
+		private boolean ownsWorkbook = false;	// Whether the batch holds the workbook write lock
+		private int nestingLevel = 0;
+		
+		private Batch() {
+			// Batches are created only through beginBatch()
+		}
+		
+		/**
+		 * Function to write all the modifications made within the batch into the file, and end the batch
+		 * (subsequent modifications are written into the file immediately, unless a new batch is begun).
+		 * Committing a nested batch only ends the nested batch
+		 */
+		public void commit() {
+			if (batch != this) {
+				return;	// The batch has already been committed
+			}
+			
+			if (nestingLevel > 0) {
+				nestingLevel--;
+				return;
+			}
+			
+			batch = null;
+			if (!ownsWorkbook) {
+				return;	// Nothing was modified within the batch
+			}
+			
+			try {
+				if (workbook != null) {
+					writeIntoFile(workbook);	// Downgrades the workbook write lock while writing the file
+				}
+			} finally {
+				if (workbook != null) {
+					ExcelWorkbookCache.unpinWorkbook(getAbsoluteFilePath(), workbook);
+				}
+				unlockWorkbook();	// Ends the ownership of the workbook
+			}
+		}
+		
+		/**
+		 * Function to commit the batch, if it has not already been committed
+		 * @see #commit()
+		 */
+		@Override
+		public void close() {
+			commit();
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.autopia4j.framework.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * Class to manage the locks which coordinate concurrent access to Excel workbooks<br>
+ * Locks are striped by workbook path, and by (workbook path, sheet name), so that threads working
+ * on unrelated workbooks or sheets do not contend with each other. To avoid deadlocks,
+ * the locks must always be acquired in the following order: workbook lock, file lock, sheet locks
+ * (with sheet locks being acquired in ascending stripe order, and no other lock being acquired
+ * while holding a sheet write lock)
+ * @author vj
+ */
+final class ExcelLockManager {
+	private static final int STRIPE_COUNT = 64;	// Must be a power of 2
+	
+	private static final ReentrantReadWriteLock[] workbookLocks = new ReentrantReadWriteLock[STRIPE_COUNT];
+	private static final ReentrantReadWriteLock[] sheetLocks = new ReentrantReadWriteLock[STRIPE_COUNT];
+	private static final ReentrantLock[] fileLocks = new ReentrantLock[STRIPE_COUNT];
+	
+	static {
+		for (int i = 0; i < STRIPE_COUNT; i++) {
+			workbookLocks[i] = new ReentrantReadWriteLock();
+			sheetLocks[i] = new ReentrantReadWriteLock();
+			fileLocks[i] = new ReentrantLock();
+		}
+	}
+	
+	
+	private ExcelLockManager() {
+		// To prevent external instantiation of this class
+	}
+	
+	private static int getStripe(int hashCode) {
+		int spreadHashCode = hashCode ^ (hashCode >>> 16);
+		return spreadHashCode & (STRIPE_COUNT - 1);
+	}
+	
+	private static int getSheetStripe(String absoluteFilePath, String sheetName) {
+		return getStripe(31 * absoluteFilePath.hashCode() + sheetName.hashCode());
+	}
+	
+	/**
+	 * Function to get the lock which guards the workbook-level structures of the specified workbook
+	 * (the read lock must be held for any sheet-level operation, and the write lock for any operation
+	 * which modifies the sheets, styles, fonts, palette or shared strings of the workbook)
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @return The workbook lock
+	 */
+	static ReentrantReadWriteLock getWorkbookLock(String absoluteFilePath) {
+		return workbookLocks[getStripe(absoluteFilePath.hashCode())];
+	}
+	
+	/**
+	 * Function to get the lock which guards the contents of the specified sheet
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param sheetName The name of the sheet
+	 * @return The sheet lock
+	 */
+	static ReentrantReadWriteLock getSheetLock(String absoluteFilePath, String sheetName) {
+		return sheetLocks[getSheetStripe(absoluteFilePath, sheetName)];
+	}
+	
+	/**
+	 * Function to get the lock which serializes the writes into the specified workbook file
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @return The file lock
+	 */
+	static ReentrantLock getFileLock(String absoluteFilePath) {
+		return fileLocks[getStripe(absoluteFilePath.hashCode())];
+	}
+	
+	/**
+	 * Function to acquire the read locks of all the specified sheets, in ascending stripe order
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param sheetNames The names of the sheets
+	 * @return The locks acquired, to be released using {@link #unlock(List)}
+	 */
+	static List<Lock> lockSheetsForReading(String absoluteFilePath, List<String> sheetNames) {
+		SortedSet<Integer> stripes = new TreeSet<>();
+		for (String sheetName : sheetNames) {
+			stripes.add(getSheetStripe(absoluteFilePath, sheetName));
+		}
+		
+		List<Lock> locks = new ArrayList<>(stripes.size());
+		for (int stripe : stripes) {
+			Lock lock = sheetLocks[stripe].readLock();
+			lock.lock();
+			locks.add(lock);
+		}
+		
+		return locks;
+	}
+	
+	/**
+	 * Function to release the specified locks, in the reverse order of acquisition
+	 * @param locks The locks to be released
+	 */
+	static void unlock(List<Lock> locks) {
+		for (int i = locks.size() - 1; i >= 0; i--) {
+			locks.get(i).unlock();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.autopia4j.framework.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+
+
+/**
+ * Class to hold the formatted cell values of a worksheet read by an {@link ExcelSheetReader},
+ * with one array per row, sized to the width of that row<br>
+ * Instances are immutable once built (except for the {@link ExcelSheetIndex}, which is built lazily),
+ * and are shared by all the readers of the same version of the workbook file. Cells containing errors
+ * are recorded individually, so that only the lookups which require their values fail
+ * @author vj
+ */
+final class ExcelSheetData {
+	private static final String[] EMPTY_ROW = new String[0];
+	
+	private final Logger logger = LoggerFactory.getLogger(ExcelSheetData.class);
+	private final ExcelWorkbookCache.FileStamp fileStamp;
+	private final String[][] rows;
+	private final int lastRowNum;
+	private final Map<Long, String> cellErrors;
+	private final long estimatedSize;
+	private final ExcelSheetIndex sheetIndex = new ExcelSheetIndex();
+	
+	
+	private ExcelSheetData(ExcelWorkbookCache.FileStamp fileStamp, String[][] rows, int lastRowNum,
+							Map<Long, String> cellErrors, long estimatedSize) {
+		this.fileStamp = fileStamp;
+		this.rows = rows;
+		this.lastRowNum = lastRowNum;
+		this.cellErrors = cellErrors;
+		this.estimatedSize = estimatedSize;
+	}
+	
+	private static long getCellKey(int rowNum, int columnNum) {
+		return ((long) rowNum << 32) | columnNum;
+	}
+	
+	/**
+	 * Function to get the {@link ExcelWorkbookCache.FileStamp} of the file from which the sheet was read
+	 * @return The {@link ExcelWorkbookCache.FileStamp}
+	 */
+	ExcelWorkbookCache.FileStamp getFileStamp() {
+		return fileStamp;
+	}
+	
+	/**
+	 * Function to get the {@link ExcelSheetIndex} built over the sheet
+	 * @return The {@link ExcelSheetIndex}
+	 */
+	ExcelSheetIndex getSheetIndex() {
+		return sheetIndex;
+	}
+	
+	/**
+	 * Function to get the approximate number of bytes occupied by the cell values of the sheet
+	 * @return The estimated size of the sheet data
+	 */
+	long getEstimatedSize() {
+		return estimatedSize;
+	}
+	
+	/**
+	 * Function to get the last row number within the worksheet
+	 * @return The last row number (-1 if the worksheet does not contain any rows)
+	 */
+	int getLastRowNum() {
+		return lastRowNum;
+	}
+	
+	/**
+	 * Function to check whether the specified row exists within the worksheet
+	 * @param rowNum The row number
+	 * @return Boolean value indicating whether the row exists
+	 */
+	boolean rowExists(int rowNum) {
+		return rowNum >= 0 && rowNum <= lastRowNum && rows[rowNum] != null;
+	}
+	
+	/**
+	 * Function to get the number of cells within the specified row (including any blank cells in between)
+	 * @param rowNum The row number
+	 * @return The width of the row
+	 */
+	int getRowWidth(int rowNum) {
+		return rowExists(rowNum)? rows[rowNum].length : 0;
+	}
+	
+	/**
+	 * Function to get the value in the cell identified by the specified row and column numbers
+	 * @param rowNum The row number of the cell
+	 * @param columnNum The column number of the cell
+	 * @return The value present in the cell (an empty string for missing cells)
+	 * @throws AutopiaException If the cell contains an error
+	 */
+	String getValue(int rowNum, int columnNum) {
+		if (columnNum < 0 || columnNum >= getRowWidth(rowNum)) {
+			return "";
+		}
+		String cellValue = rows[rowNum][columnNum];
+		if (cellValue == null) {
+			String errorDescription = getErrorDescription(rowNum, columnNum);
+			if (errorDescription != null) {
+				logger.error(errorDescription);
+				throw new AutopiaException(errorDescription);
+			}
+			return "";
+		}
+		return cellValue;
+	}
+	
+	/**
+	 * Function to get the description of the error within the specified cell
+	 * @param rowNum The row number of the cell
+	 * @param columnNum The column number of the cell
+	 * @return The error description (null if the cell does not contain an error)
+	 */
+	String getErrorDescription(int rowNum, int columnNum) {
+		if (cellErrors.isEmpty()) {
+			return null;
+		}
+		return cellErrors.get(getCellKey(rowNum, columnNum));
+	}
+	
+	/**
+	 * Function to get the values of all the cells within the specified row
+	 * @param rowNum The row number
+	 * @param columnCount The number of values to be returned
+	 * @return The values present in the cells of the row (empty strings for missing cells)
+	 */
+	String[] getRowValues(int rowNum, int columnCount) {
+		String[] rowValues = new String[columnCount];
+		for (int columnNum = 0; columnNum < columnCount; columnNum++) {
+			rowValues[columnNum] = getValue(rowNum, columnNum);
+		}
+		return rowValues;
+	}
+	
+	
+	/**
+	 * Class to collect the cell values of a worksheet (in any order) into an {@link ExcelSheetData}
+	 */
+	static final class Builder {
+		// Rough per-object overheads used for the size estimate (headers and references)
+		private static final int ROW_OVERHEAD = 16;
+		private static final int CELL_OVERHEAD = 8;
+		private static final int VALUE_OVERHEAD = 40;
+		
+		private String[][] rows = new String[0][];
+		private int[] rowWidths = new int[0];
+		private int lastRowNum = -1;
+		private final Map<Long, String> cellErrors = new HashMap<>();
+		
+		/**
+		 * Function to record the existence of the specified row
+		 * @param rowNum The row number
+		 */
+		void addRow(int rowNum) {
+			if (rowNum >= rows.length) {
+				int newRowCapacity = Math.max(rowNum + 1, rows.length * 2);
+				rows = Arrays.copyOf(rows, newRowCapacity);
+				rowWidths = Arrays.copyOf(rowWidths, newRowCapacity);
+			}
+			if (rows[rowNum] == null) {
+				rows[rowNum] = EMPTY_ROW;
+			}
+			lastRowNum = Math.max(lastRowNum, rowNum);
+		}
+		
+		/**
+		 * Function to set the value of the specified cell
+		 * @param rowNum The row number of the cell
+		 * @param columnNum The column number of the cell
+		 * @param cellValue The formatted value of the cell (null for blank cells)
+		 */
+		void setCellValue(int rowNum, int columnNum, String cellValue) {
+			addRow(rowNum);
+			String[] row = rows[rowNum];
+			if (columnNum >= row.length) {
+				row = Arrays.copyOf(row, Math.max(columnNum + 1, row.length * 2));
+				rows[rowNum] = row;
+			}
+			row[columnNum] = cellValue;
+			rowWidths[rowNum] = Math.max(rowWidths[rowNum], columnNum + 1);
+		}
+		
+		/**
+		 * Function to record an error within the specified cell, to be reported when the value of the cell is read
+		 * @param rowNum The row number of the cell
+		 * @param columnNum The column number of the cell
+		 * @param errorDescription The description of the error
+		 */
+		void setCellError(int rowNum, int columnNum, String errorDescription) {
+			setCellValue(rowNum, columnNum, null);
+			cellErrors.put(getCellKey(rowNum, columnNum), errorDescription);
+		}
+		
+		/**
+		 * Function to build the {@link ExcelSheetData} from the cell values collected so far
+		 * @param fileStamp The {@link ExcelWorkbookCache.FileStamp} of the file from which the sheet was read
+		 * @return The {@link ExcelSheetData}
+		 */
+		ExcelSheetData build(ExcelWorkbookCache.FileStamp fileStamp) {
+			String[][] builtRows = Arrays.copyOf(rows, lastRowNum + 1);
+			long estimatedSize = (long) builtRows.length * CELL_OVERHEAD;
+			for (int rowNum = 0; rowNum <= lastRowNum; rowNum++) {
+				String[] row = builtRows[rowNum];
+				if (row == null) {
+					continue;
+				}
+				if (row.length != rowWidths[rowNum]) {
+					row = Arrays.copyOf(row, rowWidths[rowNum]);
+					builtRows[rowNum] = row;
+				}
+				estimatedSize += ROW_OVERHEAD + (long) row.length * CELL_OVERHEAD;
+				for (String cellValue : row) {
+					if (cellValue != null) {
+						estimatedSize += VALUE_OVERHEAD + 2L * cellValue.length();
+					}
+				}
+			}
+			estimatedSize += (long) cellErrors.size() * (VALUE_OVERHEAD * 3);
+			
+			return new ExcelSheetData(fileStamp, builtRows, lastRowNum, cellErrors, estimatedSize);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.autopia4j.framework.utils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Class to hold the row and column header indexes built over a single worksheet of a cached workbook<br>
+ * Instances may be shared by concurrent readers of the worksheet, but must only be invalidated
+ * while holding the write lock of the sheet (or of the workbook)
+ * @author vj
+ */
+final class ExcelSheetIndex {
+	private static final char KEY_SEPARATOR = '\u0000';
+	
+	private final Map<Integer, Map<String, Integer>> rowIndexes = new ConcurrentHashMap<>();
+	private volatile Map<String, Integer> headerIndex;
+	
+	
+	/**
+	 * Function to build the composite key corresponding to the specified key values
+	 * @param keys The key values
+	 * @return The composite key
+	 */
+	static String getCompositeKey(String[] keys) {
+		StringBuilder compositeKey = new StringBuilder();
+		for (int i = 0; i < keys.length; i++) {
+			if (i > 0) {
+				compositeKey.append(KEY_SEPARATOR);
+			}
+			compositeKey.append(keys[i]);
+		}
+		return compositeKey.toString();
+	}
+	
+	/**
+	 * Function to get the row index built over the specified number of leading key columns
+	 * @param keyColumnCount The number of leading key columns
+	 * @return The row index, mapping each composite key to the first row in which it appears
+	 * (null if the index has not been built yet)
+	 */
+	Map<String, Integer> getRowIndex(int keyColumnCount) {
+		return rowIndexes.get(keyColumnCount);
+	}
+	
+	/**
+	 * Function to store the row index built over the specified number of leading key columns
+	 * @param keyColumnCount The number of leading key columns
+	 * @param rowIndex The row index, mapping each composite key to the first row in which it appears
+	 */
+	void putRowIndex(int keyColumnCount, Map<String, Integer> rowIndex) {
+		rowIndexes.put(keyColumnCount, rowIndex);
+	}
+	
+	/**
+	 * Function to discard all row indexes (to be called whenever rows are added or removed)
+	 */
+	void invalidateRowIndexes() {
+		rowIndexes.clear();
+	}
+	
+	/**
+	 * Function to get the header index of the worksheet
+	 * @return The header index, mapping each column header to the first column in which it appears
+	 * (null if the index has not been built yet)
+	 */
+	Map<String, Integer> getHeaderIndex() {
+		return headerIndex;
+	}
+	
+	/**
+	 * Function to store the header index of the worksheet
+	 * @param headerIndex The header index, mapping each column header to the first column in which it appears
+	 */
+	void putHeaderIndex(Map<String, Integer> headerIndex) {
+		this.headerIndex = headerIndex;
+	}
+	
+	/**
+	 * Function to discard the header index (to be called whenever columns are added or removed)
+	 */
+	void invalidateHeaderIndex() {
+		headerIndex = null;
+	}
+	
+	/**
+	 * Function to discard the indexes which depend on the specified cell
+	 * (to be called whenever the value of the cell is modified)
+	 * @param rowNum The row number of the cell which was modified
+	 * @param columnNum The column number of the cell which was modified
+	 */
+	void invalidateCell(int rowNum, int columnNum) {
+		if (rowNum == 0) {
+			headerIndex = null;
+		}
+		
+		Iterator<Integer> iterator = rowIndexes.keySet().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next() > columnNum) {
+				iterator.remove();
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,298 @@
+package com.autopia4j.framework.utils;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+
+
+/**
+ * Abstract base class for the read-only sheet readers used by {@link ExcelDataAccess},
+ * which extract the cell values of a worksheet instead of materializing the workbook object model<br>
+ * The cell values of the most recently read sheets are cached (as {@link ExcelSheetData}) until the file
+ * is modified, so that each version of a sheet is parsed only once. The cache is bounded by the estimated
+ * size of the cached sheets rather than their count, although the most recently read sheet is always retained. All the lookups are served from
+ * the cached cell values, and the row and column header lookups from the indexes built over them
+ * @author vj
+ */
+abstract class ExcelSheetReader {
+	private static final long MAX_CACHED_SHEETS_SIZE = 64L * 1024 * 1024;
+	private static final Map<String, ExcelSheetData> cachedSheets =
+											new LinkedHashMap<>(16, 0.75f, true);
+	private static long cachedSheetsSize = 0;
+	
+	private final Logger logger = LoggerFactory.getLogger(ExcelSheetReader.class);
+	protected final String absoluteFilePath;
+	
+	
+	/**
+	 * Constructor to initialize the {@link ExcelSheetReader} object
+	 * @param absoluteFilePath The absolute path of the workbook
+	 */
+	ExcelSheetReader(String absoluteFilePath) {
+		this.absoluteFilePath = absoluteFilePath;
+	}
+	
+	/**
+	 * Function to get the names of all the sheets within the workbook
+	 * @return The list of sheet names, in the order in which they appear within the workbook
+	 */
+	abstract List<String> getSheetNames();
+	
+	/**
+	 * Function to read the cell values of the specified sheet from the workbook file
+	 * @param sheetName The name of the sheet
+	 * @param fileStamp The {@link ExcelWorkbookCache.FileStamp} of the file, captured before it is read
+	 * @return The {@link ExcelSheetData} read from the file
+	 */
+	abstract ExcelSheetData readSheetData(String sheetName, ExcelWorkbookCache.FileStamp fileStamp);
+	
+	protected AutopiaException getSheetNotFoundException(String sheetName) {
+		String errorDescription = "The specified sheet \"" + sheetName + "\"" +
+									" does not exist within the workbook \"" +
+									new File(absoluteFilePath).getName() + "\"";
+		logger.error(errorDescription);
+		return new AutopiaException(errorDescription);
+	}
+	
+	private ExcelSheetData getSheetData(String sheetName) {
+		String cacheKey = absoluteFilePath + '\u0000' + sheetName;
+		ExcelWorkbookCache.FileStamp fileStamp = ExcelWorkbookCache.FileStamp.of(absoluteFilePath);
+		
+		synchronized (cachedSheets) {
+			ExcelSheetData sheetData = cachedSheets.get(cacheKey);
+			if (sheetData != null && sheetData.getFileStamp().isSameAs(fileStamp)) {
+				return sheetData;
+			}
+		}
+		
+		ExcelSheetData sheetData = readSheetData(sheetName, fileStamp);
+		synchronized (cachedSheets) {
+			ExcelSheetData replacedSheetData = cachedSheets.put(cacheKey, sheetData);
+			if (replacedSheetData != null) {
+				cachedSheetsSize -= replacedSheetData.getEstimatedSize();
+			}
+			cachedSheetsSize += sheetData.getEstimatedSize();
+			
+			// Evict the least recently used sheets, retaining the one just read
+			Iterator<ExcelSheetData> iterator = cachedSheets.values().iterator();
+			while (cachedSheetsSize > MAX_CACHED_SHEETS_SIZE && cachedSheets.size() > 1) {
+				cachedSheetsSize -= iterator.next().getEstimatedSize();
+				iterator.remove();
+			}
+		}
+		return sheetData;
+	}
+	
+	/**
+	 * Function to search for a specified key within a column, and return the corresponding row number
+	 * @param sheetName The name of the sheet
+	 * @param key The value being searched for
+	 * @param columnNum The column number in which the key should be searched
+	 * @param startRowNum The row number from which the search should start
+	 * @return The row number in which the specified key is found (-1 if the key is not found)
+	 */
+	int getRowNum(String sheetName, String key, int columnNum, int startRowNum) {
+		ExcelSheetData sheetData = getSheetData(sheetName);
+		for (int rowNum = Math.max(startRowNum, 0); rowNum <= sheetData.getLastRowNum(); rowNum++) {
+			if (sheetData.rowExists(rowNum) && sheetData.getValue(rowNum, columnNum).equals(key)) {
+				return rowNum;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Function to search for a specified composite key within the leading columns of the worksheet,
+	 * and return the corresponding row number
+	 * (the search is served from a row index, which is built on first access to the sheet)
+	 * @param sheetName The name of the sheet
+	 * @param keys The key values being searched for
+	 * @param startRowNum The row number from which the search should start
+	 * @return The row number in which the specified key is found (-1 if the key is not found)
+	 */
+	int getRowNum(String sheetName, String[] keys, int startRowNum) {
+		ExcelSheetData sheetData = getSheetData(sheetName);
+		ExcelSheetIndex sheetIndex = sheetData.getSheetIndex();
+		
+		Map<String, Integer> rowIndex = sheetIndex.getRowIndex(keys.length);
+		if (rowIndex == null) {
+			rowIndex = new HashMap<>();
+			for (int rowNum = 0; rowNum <= sheetData.getLastRowNum(); rowNum++) {
+				if (sheetData.rowExists(rowNum)) {
+					String compositeKey =
+							ExcelSheetIndex.getCompositeKey(sheetData.getRowValues(rowNum, keys.length));
+					if (!rowIndex.containsKey(compositeKey)) {
+						rowIndex.put(compositeKey, rowNum);
+					}
+				}
+			}
+			sheetIndex.putRowIndex(keys.length, rowIndex);
+		}
+		
+		Integer rowNum = rowIndex.get(ExcelSheetIndex.getCompositeKey(keys));
+		if (rowNum == null) {
+			return -1;
+		}
+		if (rowNum >= startRowNum) {
+			return rowNum;
+		}
+		
+		// The first occurrence of the key precedes the start row, so fall back to a linear search
+		for (int currentRowNum = startRowNum; currentRowNum <= sheetData.getLastRowNum(); currentRowNum++) {
+			if (sheetData.rowExists(currentRowNum) &&
+					Arrays.equals(keys, sheetData.getRowValues(currentRowNum, keys.length))) {
+				return currentRowNum;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Function to get the last row number within the worksheet
+	 * @param sheetName The name of the sheet
+	 * @return The last row number within the worksheet
+	 */
+	int getLastRowNum(String sheetName) {
+		return Math.max(getSheetData(sheetName).getLastRowNum(), 0);
+	}
+	
+	/**
+	 * Function to search for a specified key within a column, and return the corresponding occurence count
+	 * (the key is assumed to appear contiguously)
+	 * @param sheetName The name of the sheet
+	 * @param key The value being searched for
+	 * @param columnNum The column number in which the key should be searched
+	 * @param startRowNum The row number from which the search should start
+	 * @return The occurence count of the specified key
+	 */
+	int getRowCount(String sheetName, String key, int columnNum, int startRowNum) {
+		ExcelSheetData sheetData = getSheetData(sheetName);
+		int rowCount = 0;
+		for (int rowNum = Math.max(startRowNum, 0); rowNum <= sheetData.getLastRowNum(); rowNum++) {
+			if (!sheetData.rowExists(rowNum)) {
+				continue;
+			}
+			if (sheetData.getValue(rowNum, columnNum).equals(key)) {
+				rowCount++;
+			} else if (rowCount > 0) {
+				break;	// Assumption: Keys always appear contiguously
+			}
+		}
+		return rowCount;
+	}
+	
+	/**
+	 * Function to search for a specified key within a row, and return the corresponding column number
+	 * (header row lookups are served from a header index, which is built on first access to the sheet)
+	 * @param sheetName The name of the sheet
+	 * @param key The value being searched for
+	 * @param rowNum The row number in which the key should be searched
+	 * @return The column number in which the specified key is found (-1 if the key is not found)
+	 */
+	int getColumnNum(String sheetName, String key, int rowNum) {
+		ExcelSheetData sheetData = getSheetData(sheetName);
+		
+		if (rowNum == 0) {	//0 because header is always in the first row
+			ExcelSheetIndex sheetIndex = sheetData.getSheetIndex();
+			Map<String, Integer> headerIndex = sheetIndex.getHeaderIndex();
+			if (headerIndex == null) {
+				headerIndex = new HashMap<>();
+				for (int columnNum = 0; columnNum < sheetData.getRowWidth(0); columnNum++) {
+					String columnHeader = sheetData.getValue(0, columnNum);
+					if (!headerIndex.containsKey(columnHeader)) {
+						headerIndex.put(columnHeader, columnNum);
+					}
+				}
+				sheetIndex.putHeaderIndex(headerIndex);
+			}
+			
+			Integer columnNum = headerIndex.get(key);
+			return (columnNum == null)? -1 : columnNum;
+		}
+		
+		for (int columnNum = 0; columnNum < sheetData.getRowWidth(rowNum); columnNum++) {
+			if (sheetData.getValue(rowNum, columnNum).equals(key)) {
+				return columnNum;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Function to get the value in the cell identified by the specified row and column numbers
+	 * @param sheetName The name of the sheet
+	 * @param rowNum The row number of the cell
+	 * @param columnNum The column number of the cell
+	 * @return The value present in the cell
+	 */
+	String getValue(String sheetName, int rowNum, int columnNum) {
+		return getSheetData(sheetName).getValue(rowNum, columnNum);
+	}
+	
+	/**
+	 * Function to get the values of all the cells within the specified row
+	 * @param sheetName The name of the sheet
+	 * @param rowNum The row number
+	 * @param padToHeader Boolean value indicating whether the number of values returned
+	 * should match the number of columns in the header row (i.e., row 0)
+	 * @param cellErrors The map into which the descriptions of the errors within the cells are put,
+	 * keyed by cell reference (the values of such cells are returned as null).
+	 * If null, the first cell containing an error causes an {@link AutopiaException}
+	 * @return The values present in the cells of the row
+	 */
+	String[] getRowValues(String sheetName, int rowNum, boolean padToHeader, Map<String, String> cellErrors) {
+		ExcelSheetData sheetData = getSheetData(sheetName);
+		int columnCount = padToHeader? sheetData.getRowWidth(0) : sheetData.getRowWidth(rowNum);	//0 because header is always in the first row
+		if (cellErrors == null) {
+			return sheetData.getRowValues(rowNum, columnCount);
+		}
+		
+		String[] rowValues = new String[columnCount];
+		for (int columnNum = 0; columnNum < columnCount; columnNum++) {
+			String errorDescription = sheetData.getErrorDescription(rowNum, columnNum);
+			if (errorDescription != null) {
+				cellErrors.put(ExcelDataAccess.getCellReference(rowNum, columnNum), errorDescription);
+			} else {
+				rowValues[columnNum] = sheetData.getValue(rowNum, columnNum);
+			}
+		}
+		return rowValues;
+	}
+	
+	/**
+	 * Function to get the values of all the cells within the worksheet<br>
+	 * Each row contains as many values as there are columns in the header row (i.e., row 0)
+	 * @param sheetName The name of the sheet
+	 * @param cellErrors The map into which the descriptions of the errors within the cells are put,
+	 * keyed by cell reference (the values of such cells are returned as null).
+	 * If null, the first cell containing an error causes an {@link AutopiaException}
+	 * @return The values present in the cells of the worksheet, indexed by row number and column number
+	 */
+	String[][] getSheetValues(String sheetName, Map<String, String> cellErrors) {
+		ExcelSheetData sheetData = getSheetData(sheetName);
+		int columnCount = sheetData.getRowWidth(0);	//0 because header is always in the first row
+		
+		String[][] sheetValues = new String[sheetData.getLastRowNum() + 1][columnCount];
+		for (int rowNum = 0; rowNum < sheetValues.length; rowNum++) {
+			for (int columnNum = 0; columnNum < columnCount; columnNum++) {
+				String errorDescription = (cellErrors == null)?
+											null : sheetData.getErrorDescription(rowNum, columnNum);
+				if (errorDescription != null) {
+					cellErrors.put(ExcelDataAccess.getCellReference(rowNum, columnNum), errorDescription);
+				} else {
+					sheetValues[rowNum][columnNum] = sheetData.getValue(rowNum, columnNum);
+				}
+			}
+		}
+		return sheetValues;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+package com.autopia4j.framework.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.hssf.usermodel.HSSFCellStyle;
+import org.apache.poi.hssf.usermodel.HSSFFont;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+
+
+/**
+ * Class to pool the cell styles and fonts created within a workbook, so that cells with the same
+ * {@link ExcelCellFormatting} share a single style (HSSF workbooks are limited to about 4000 styles)<br>
+ * Compatible styles already present in the workbook are reused as well, so that a workbook which is
+ * read again from its file does not accumulate duplicate styles. Pooled styles are shared,
+ * and must never be modified: variants (such as the underlined variant used for hyperlinks,
+ * and the bordered variants used for outer borders) are pooled separately.
+ * Lookups may be made concurrently, but styles (and fonts) must only be created while holding the workbook write lock,
+ * which is why the presence of a style can be checked upfront
+ * @author vj
+ */
+final class ExcelStylePool {
+	static final int BORDER_TOP = 1;
+	static final int BORDER_BOTTOM = 2;
+	static final int BORDER_LEFT = 4;
+	static final int BORDER_RIGHT = 8;
+	
+	private final HSSFWorkbook workbook;
+	private final Map<ExcelCellFormatting, HSSFCellStyle> cellStyles = new HashMap<>();
+	private final Map<Short, HSSFCellStyle> underlinedCellStyles = new HashMap<>();
+	private final Map<Integer, HSSFCellStyle> borderedCellStyles = new HashMap<>();
+	
+	
+	/**
+	 * Constructor to initialize the {@link ExcelStylePool} object with the compatible styles present in the workbook
+	 * @param workbook The {@link HSSFWorkbook} whose styles are to be pooled
+	 */
+	ExcelStylePool(HSSFWorkbook workbook) {
+		this.workbook = workbook;
+		
+		Map<ExcelCellFormatting, HSSFCellStyle> existingUnderlinedStyles = new HashMap<>();
+		for (int styleIndex = 0; styleIndex < workbook.getNumCellStyles(); styleIndex++) {
+			HSSFCellStyle cellStyle = workbook.getCellStyleAt(styleIndex);
+			ExcelCellFormatting cellFormatting = getCellFormatting(cellStyle);
+			if (cellFormatting == null) {
+				continue;
+			}
+			
+			if (cellStyle.getFont(workbook).getUnderline() == HSSFFont.U_NONE) {
+				if (!cellStyles.containsKey(cellFormatting)) {
+					cellStyles.put(cellFormatting, cellStyle);
+				}
+			} else if (!existingUnderlinedStyles.containsKey(cellFormatting)) {
+				existingUnderlinedStyles.put(cellFormatting, cellStyle);
+			}
+		}
+		
+		for (Map.Entry<ExcelCellFormatting, HSSFCellStyle> entry : existingUnderlinedStyles.entrySet()) {
+			HSSFCellStyle cellStyle = cellStyles.get(entry.getKey());
+			if (cellStyle != null) {
+				underlinedCellStyles.put(cellStyle.getIndex(), entry.getValue());
+			}
+		}
+	}
+	
+	/**
+	 * Function to derive the {@link ExcelCellFormatting} corresponding to an existing cell style
+	 * @param cellStyle The {@link HSSFCellStyle}
+	 * @return The corresponding {@link ExcelCellFormatting}, or null if the style has any settings
+	 * which cannot be expressed using an {@link ExcelCellFormatting} (such as borders)
+	 */
+	private ExcelCellFormatting getCellFormatting(HSSFCellStyle cellStyle) {
+		if (cellStyle.getFillPattern() != HSSFCellStyle.SOLID_FOREGROUND ||
+				cellStyle.getBorderTop() != HSSFCellStyle.BORDER_NONE ||
+				cellStyle.getBorderBottom() != HSSFCellStyle.BORDER_NONE ||
+				cellStyle.getBorderLeft() != HSSFCellStyle.BORDER_NONE ||
+				cellStyle.getBorderRight() != HSSFCellStyle.BORDER_NONE ||
+				cellStyle.getDataFormat() != 0 || cellStyle.getWrapText()) {
+			return null;
+		}
+		
+		short alignment = cellStyle.getAlignment();
+		if (alignment != HSSFCellStyle.ALIGN_GENERAL && alignment != HSSFCellStyle.ALIGN_CENTER) {
+			return null;
+		}
+		
+		HSSFFont font = cellStyle.getFont(workbook);
+		if (!isCustomPaletteIndex(cellStyle.getFillForegroundColor()) ||
+				!isCustomPaletteIndex(font.getColor()) ||
+				font.getStrikeout() || font.getTypeOffset() != HSSFFont.SS_NONE) {
+			return null;
+		}
+		
+		ExcelCellFormatting cellFormatting = new ExcelCellFormatting();
+		cellFormatting.setFontName(font.getFontName());
+		cellFormatting.setFontSize(font.getFontHeightInPoints());
+		cellFormatting.setBold(font.getBoldweight() == HSSFFont.BOLDWEIGHT_BOLD);
+		cellFormatting.setItalics(font.getItalic());
+		cellFormatting.setCentered(alignment == HSSFCellStyle.ALIGN_CENTER);
+		cellFormatting.setBackColorIndex(cellStyle.getFillForegroundColor());
+		cellFormatting.setForeColorIndex(font.getColor());
+		return cellFormatting;
+	}
+	
+	private static boolean isCustomPaletteIndex(short colorIndex) {
+		return colorIndex >= 0x8 && colorIndex <= 0x40;
+	}
+	
+	/**
+	 * Function to check whether the cell style corresponding to the specified {@link ExcelCellFormatting} is pooled
+	 * @param cellFormatting The {@link ExcelCellFormatting}
+	 * @return Boolean value indicating whether the style is pooled (i.e., can be obtained without creating a style)
+	 */
+	synchronized boolean containsCellStyle(ExcelCellFormatting cellFormatting) {
+		return cellStyles.containsKey(cellFormatting);
+	}
+	
+	/**
+	 * Function to get the cell style corresponding to the specified {@link ExcelCellFormatting},
+	 * creating it only if no such style has been created so far
+	 * @param cellFormatting The {@link ExcelCellFormatting}
+	 * @return The shared {@link HSSFCellStyle} (which must not be modified)
+	 */
+	synchronized HSSFCellStyle getCellStyle(ExcelCellFormatting cellFormatting) {
+		HSSFCellStyle cellStyle = cellStyles.get(cellFormatting);
+		if (cellStyle == null) {
+			cellStyle = workbook.createCellStyle();
+			if (cellFormatting.isCentered()) {
+				cellStyle.setAlignment(HSSFCellStyle.ALIGN_CENTER);
+			}
+			cellStyle.setFillForegroundColor(cellFormatting.getBackColorIndex());
+			cellStyle.setFillPattern(HSSFCellStyle.SOLID_FOREGROUND);
+			
+			short boldWeight = cellFormatting.isBold()? HSSFFont.BOLDWEIGHT_BOLD : HSSFFont.BOLDWEIGHT_NORMAL;
+			cellStyle.setFont(getFont(cellFormatting.getFontName(), cellFormatting.getFontSize(),
+										boldWeight, cellFormatting.isItalics(),
+										cellFormatting.getForeColorIndex(), HSSFFont.U_NONE));
+			
+			// The caller may continue to modify its own formatting object
+			cellStyles.put(new ExcelCellFormatting(cellFormatting), cellStyle);
+		}
+		
+		return cellStyle;
+	}
+	
+	/**
+	 * Function to check whether the underlined variant of the specified cell style is pooled
+	 * @param cellStyle The {@link HSSFCellStyle} of the cell
+	 * @return Boolean value indicating whether the variant is pooled (i.e., can be obtained without creating a style)
+	 */
+	synchronized boolean containsUnderlinedCellStyle(HSSFCellStyle cellStyle) {
+		return cellStyle.getFont(workbook).getUnderline() == HSSFFont.U_SINGLE ||
+				underlinedCellStyles.containsKey(cellStyle.getIndex());
+	}
+	
+	/**
+	 * Function to get the underlined variant of the specified cell style, creating it if required
+	 * @param cellStyle The {@link HSSFCellStyle} of the cell
+	 * @return The shared underlined {@link HSSFCellStyle} (which must not be modified)
+	 */
+	synchronized HSSFCellStyle getUnderlinedCellStyle(HSSFCellStyle cellStyle) {
+		HSSFFont font = cellStyle.getFont(workbook);
+		if (font.getUnderline() == HSSFFont.U_SINGLE) {
+			return cellStyle;
+		}
+		
+		HSSFCellStyle underlinedCellStyle = underlinedCellStyles.get(cellStyle.getIndex());
+		if (underlinedCellStyle == null) {
+			underlinedCellStyle = workbook.createCellStyle();
+			underlinedCellStyle.cloneStyleFrom(cellStyle);
+			underlinedCellStyle.setFont(getFont(font.getFontName(), font.getFontHeightInPoints(),
+												font.getBoldweight(), font.getItalic(),
+												font.getColor(), HSSFFont.U_SINGLE));
+			underlinedCellStyles.put(cellStyle.getIndex(), underlinedCellStyle);
+		}
+		
+		return underlinedCellStyle;
+	}
+	
+	/**
+	 * Function to check whether the variant of the specified cell style with thin borders on the specified edges is pooled
+	 * @param cellStyle The {@link HSSFCellStyle} of the cell
+	 * @param borderEdges The edges to be bordered (a combination of {@link #BORDER_TOP}, {@link #BORDER_BOTTOM},
+	 * {@link #BORDER_LEFT} and {@link #BORDER_RIGHT})
+	 * @return Boolean value indicating whether the variant is pooled (i.e., can be obtained without creating a style)
+	 */
+	synchronized boolean containsBorderedCellStyle(HSSFCellStyle cellStyle, int borderEdges) {
+		return hasBorders(cellStyle, borderEdges) ||
+				borderedCellStyles.containsKey(getBorderedCellStyleKey(cellStyle, borderEdges));
+	}
+	
+	/**
+	 * Function to get the variant of the specified cell style with thin borders on the specified edges,
+	 * creating it if required
+	 * @param cellStyle The {@link HSSFCellStyle} of the cell
+	 * @param borderEdges The edges to be bordered (a combination of {@link #BORDER_TOP}, {@link #BORDER_BOTTOM},
+	 * {@link #BORDER_LEFT} and {@link #BORDER_RIGHT})
+	 * @return The shared bordered {@link HSSFCellStyle} (which must not be modified)
+	 */
+	synchronized HSSFCellStyle getBorderedCellStyle(HSSFCellStyle cellStyle, int borderEdges) {
+		if (hasBorders(cellStyle, borderEdges)) {
+			return cellStyle;
+		}
+		
+		int borderedCellStyleKey = getBorderedCellStyleKey(cellStyle, borderEdges);
+		HSSFCellStyle borderedCellStyle = borderedCellStyles.get(borderedCellStyleKey);
+		if (borderedCellStyle == null) {
+			borderedCellStyle = workbook.createCellStyle();
+			borderedCellStyle.cloneStyleFrom(cellStyle);
+			if ((borderEdges & BORDER_TOP) != 0) {
+				borderedCellStyle.setBorderTop(HSSFCellStyle.BORDER_THIN);
+			}
+			if ((borderEdges & BORDER_BOTTOM) != 0) {
+				borderedCellStyle.setBorderBottom(HSSFCellStyle.BORDER_THIN);
+			}
+			if ((borderEdges & BORDER_LEFT) != 0) {
+				borderedCellStyle.setBorderLeft(HSSFCellStyle.BORDER_THIN);
+			}
+			if ((borderEdges & BORDER_RIGHT) != 0) {
+				borderedCellStyle.setBorderRight(HSSFCellStyle.BORDER_THIN);
+			}
+			borderedCellStyles.put(borderedCellStyleKey, borderedCellStyle);
+		}
+		
+		return borderedCellStyle;
+	}
+	
+	private static int getBorderedCellStyleKey(HSSFCellStyle cellStyle, int borderEdges) {
+		return (cellStyle.getIndex() << 4) | borderEdges;
+	}
+	
+	private static boolean hasBorders(HSSFCellStyle cellStyle, int borderEdges) {
+		return ((borderEdges & BORDER_TOP) == 0 || cellStyle.getBorderTop() == HSSFCellStyle.BORDER_THIN) &&
+				((borderEdges & BORDER_BOTTOM) == 0 || cellStyle.getBorderBottom() == HSSFCellStyle.BORDER_THIN) &&
+				((borderEdges & BORDER_LEFT) == 0 || cellStyle.getBorderLeft() == HSSFCellStyle.BORDER_THIN) &&
+				((borderEdges & BORDER_RIGHT) == 0 || cellStyle.getBorderRight() == HSSFCellStyle.BORDER_THIN);
+	}
+	
+	private HSSFFont getFont(String fontName, short fontSize, short boldWeight,
+								boolean italic, short color, byte underline) {
+		short fontHeight = (short) (fontSize * 20);	// Font heights are specified in twips (1/20 of a point)
+		HSSFFont font = workbook.findFont(boldWeight, color, fontHeight, fontName,
+											italic, false, HSSFFont.SS_NONE, underline);
+		if (font == null) {
+			font = workbook.createFont();
+			font.setFontName(fontName);
+			font.setFontHeight(fontHeight);
+			font.setBoldweight(boldWeight);
+			font.setItalic(italic);
+			font.setColor(color);
+			font.setUnderline(underline);
+		}
+		
+		return font;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,356 @@
+package com.autopia4j.framework.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Class to cache the Excel workbooks opened by the framework, so that each workbook is parsed only once
+ * (as long as the underlying file is not modified outside the framework).<br>
+ * The cache is shared across all threads, and is keyed by the absolute path of the workbook.
+ * Entries are invalidated when the modification time or size of the file changes,
+ * and the least recently used entries are evicted once the configured cache size is exceeded.
+ * Workbooks being modified within a batch are pinned in the cache until the batch is committed,
+ * so that they (along with the indexes, evaluator and style pool built over them) are neither evicted nor invalidated.
+ * @author vj
+ */
+public class ExcelWorkbookCache {
+	private static final Logger logger = LoggerFactory.getLogger(ExcelWorkbookCache.class);
+	private static final long DEFAULT_MAX_CACHE_SIZE = 32L * 1024 * 1024;
+	
+	private static final Map<String, CachedWorkbook> cachedWorkbooks =
+											new LinkedHashMap<>(16, 0.75f, true);
+	private static long maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+	private static long currentCacheSize = 0;
+	
+	private ExcelWorkbookCache() {
+		// To prevent external instantiation of this class
+	}
+	
+	/**
+	 * Function to get the maximum size of the workbook cache
+	 * @return The maximum cache size (in bytes, as measured by the size of the workbook files on disk)
+	 */
+	public static synchronized long getMaxCacheSize() {
+		return maxCacheSize;
+	}
+	
+	/**
+	 * Function to set the maximum size of the workbook cache.
+	 * Setting the maximum size to 0 effectively disables the cache (except for pinned workbooks)
+	 * @param maxCacheSize The maximum cache size (in bytes, as measured by the size of the workbook files on disk)
+	 */
+	public static synchronized void setMaxCacheSize(long maxCacheSize) {
+		ExcelWorkbookCache.maxCacheSize = Math.max(0, maxCacheSize);
+		evictIfRequired();
+	}
+	
+	/**
+	 * Function to remove the specified workbook from the cache
+	 * @param absoluteFilePath The absolute path of the workbook
+	 */
+	public static synchronized void invalidate(String absoluteFilePath) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.remove(absoluteFilePath);
+		if (cachedWorkbook != null) {
+			currentCacheSize -= cachedWorkbook.fileStamp.fileSize;
+		}
+	}
+	
+	/**
+	 * Function to remove all workbooks from the cache
+	 */
+	public static synchronized void clear() {
+		cachedWorkbooks.clear();
+		currentCacheSize = 0;
+	}
+	
+	/**
+	 * Function to get the cached copy of the specified workbook
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @return The cached {@link HSSFWorkbook}, or null if the workbook is not cached
+	 * or the file has been modified since it was cached
+	 */
+	static synchronized HSSFWorkbook getWorkbook(String absoluteFilePath) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		if (cachedWorkbook == null) {
+			return null;
+		}
+		
+		// The file is expected to change while the cached workbook itself is being written into it,
+		// and a pinned workbook holds modifications which are yet to be written into the file
+		if (!cachedWorkbook.writeInProgress && !cachedWorkbook.pinned) {
+			FileStamp fileStamp = FileStamp.of(absoluteFilePath);
+			if (!cachedWorkbook.isCurrent(fileStamp)) {
+				logger.debug("Workbook {} was modified on disk, invalidating cache entry", absoluteFilePath);
+				invalidate(absoluteFilePath);
+				return null;
+			}
+		}
+		
+		return cachedWorkbook.workbook;
+	}
+	
+	/**
+	 * Function to add the specified workbook to the cache.
+	 * If another thread has cached the same (unmodified) file in the meantime,
+	 * the previously cached workbook is retained, so that all threads share a single copy
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param workbook The {@link HSSFWorkbook} read from the file
+	 * @param fileStamp The {@link FileStamp} of the file, captured before the workbook was read
+	 * @return The {@link HSSFWorkbook} to be used by the caller
+	 */
+	static synchronized HSSFWorkbook putWorkbook(String absoluteFilePath,
+												HSSFWorkbook workbook, FileStamp fileStamp) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		if (cachedWorkbook != null && (cachedWorkbook.pinned || cachedWorkbook.isCurrent(fileStamp))) {
+			return cachedWorkbook.workbook;
+		}
+		
+		invalidate(absoluteFilePath);
+		if (fileStamp.fileSize > maxCacheSize) {
+			logger.debug("Workbook {} exceeds the maximum cache size, not caching", absoluteFilePath);
+			return workbook;
+		}
+		
+		cachedWorkbooks.put(absoluteFilePath, new CachedWorkbook(workbook, fileStamp));
+		currentCacheSize += fileStamp.fileSize;
+		evictIfRequired();
+		
+		return workbook;
+	}
+	
+	/**
+	 * Function to pin the specified workbook in the cache (replacing any other workbook cached for the same file),
+	 * so that it is neither evicted nor invalidated until {@link #unpinWorkbook(String, HSSFWorkbook)} is called.
+	 * This ensures that a workbook modified within a batch keeps sharing its indexes, evaluator and style pool
+	 * until the batch is committed, regardless of the cache size
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param workbook The {@link HSSFWorkbook} being modified within a batch
+	 */
+	static synchronized void pinWorkbook(String absoluteFilePath, HSSFWorkbook workbook) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		if (cachedWorkbook == null || cachedWorkbook.workbook != workbook) {
+			invalidate(absoluteFilePath);
+			
+			FileStamp fileStamp = FileStamp.of(absoluteFilePath);
+			cachedWorkbook = new CachedWorkbook(workbook, fileStamp);
+			cachedWorkbooks.put(absoluteFilePath, cachedWorkbook);
+			currentCacheSize += fileStamp.fileSize;
+		}
+		
+		cachedWorkbook.pinned = true;
+	}
+	
+	/**
+	 * Function to check whether the workbook cached for the specified file is pinned
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @return Boolean value indicating whether the workbook is pinned (i.e., being modified within a batch)
+	 */
+	static synchronized boolean isPinned(String absoluteFilePath) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		return cachedWorkbook != null && cachedWorkbook.pinned;
+	}
+	
+	/**
+	 * Function to unpin the specified workbook, once the batch within which it was modified has been committed
+	 * (the workbook remains cached, subject to the cache size)
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param workbook The {@link HSSFWorkbook} which was modified within the batch
+	 */
+	static synchronized void unpinWorkbook(String absoluteFilePath, HSSFWorkbook workbook) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		if (cachedWorkbook != null && cachedWorkbook.workbook == workbook) {
+			cachedWorkbook.pinned = false;
+			evictIfRequired();
+		}
+	}
+	
+	/**
+	 * Function to notify the cache that the specified workbook is about to be written into the file,
+	 * so that concurrent readers keep using the cached workbook (instead of reading a partially written file)
+	 * until {@link #updateWorkbook(String, HSSFWorkbook)} or {@link #invalidate(String)} is called
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param workbook The {@link HSSFWorkbook} which is about to be written into the file
+	 */
+	static synchronized void beginWrite(String absoluteFilePath, HSSFWorkbook workbook) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		if (cachedWorkbook != null && cachedWorkbook.workbook == workbook) {
+			cachedWorkbook.writeInProgress = true;
+		}
+	}
+	
+	/**
+	 * Function to update the cache after the specified workbook has been written into the file
+	 * (any indexes built over the cached workbook are retained)
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param workbook The {@link HSSFWorkbook} which was written into the file
+	 */
+	static synchronized void updateWorkbook(String absoluteFilePath, HSSFWorkbook workbook) {
+		FileStamp fileStamp = FileStamp.of(absoluteFilePath);
+		
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		if (cachedWorkbook == null || cachedWorkbook.workbook != workbook) {
+			invalidate(absoluteFilePath);
+			putWorkbook(absoluteFilePath, workbook, fileStamp);
+			return;
+		}
+		
+		currentCacheSize += fileStamp.fileSize - cachedWorkbook.fileStamp.fileSize;
+		cachedWorkbook.fileStamp = fileStamp;
+		cachedWorkbook.writeInProgress = false;
+		evictIfRequired();
+	}
+	
+	/**
+	 * Function to get the {@link ExcelSheetIndex} for the specified sheet of a cached workbook.
+	 * The index is shared by all users of the cached workbook, and must only be accessed
+	 * while holding the appropriate {@link ExcelLockManager} locks
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param workbook The {@link HSSFWorkbook} obtained from the cache
+	 * @param sheetName The name of the sheet
+	 * @return The {@link ExcelSheetIndex} for the specified sheet
+	 * (a new, unshared index if the workbook is not cached, which cannot be the case within a batch, since the
+	 * workbook modified within a batch is pinned)
+	 */
+	static synchronized ExcelSheetIndex getSheetIndex(String absoluteFilePath,
+												HSSFWorkbook workbook, String sheetName) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		if (cachedWorkbook == null || cachedWorkbook.workbook != workbook) {
+			return new ExcelSheetIndex();
+		}
+		
+		ExcelSheetIndex sheetIndex = cachedWorkbook.sheetIndexes.get(sheetName);
+		if (sheetIndex == null) {
+			sheetIndex = new ExcelSheetIndex();
+			cachedWorkbook.sheetIndexes.put(sheetName, sheetIndex);
+		}
+		
+		return sheetIndex;
+	}
+	
+	/**
+	 * Function to get the {@link ExcelCellEvaluator} for a cached workbook.
+	 * The evaluator is shared by all users of the cached workbook, so that formula results
+	 * are evaluated only once (until the workbook is modified)
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param workbook The {@link HSSFWorkbook} obtained from the cache
+	 * @return The {@link ExcelCellEvaluator} for the workbook
+	 * (a new, unshared evaluator if the workbook is not cached, which cannot be the case within a batch)
+	 */
+	static synchronized ExcelCellEvaluator getCellEvaluator(String absoluteFilePath, HSSFWorkbook workbook) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		if (cachedWorkbook == null || cachedWorkbook.workbook != workbook) {
+			return new ExcelCellEvaluator(workbook);
+		}
+		
+		if (cachedWorkbook.cellEvaluator == null) {
+			cachedWorkbook.cellEvaluator = new ExcelCellEvaluator(workbook);
+		}
+		
+		return cachedWorkbook.cellEvaluator;
+	}
+	
+	/**
+	 * Function to get the {@link ExcelStylePool} for a cached workbook.
+	 * The pool is shared by all users of the cached workbook. Its lookups may be made while holding
+	 * the workbook read lock, but styles and fonts must only be created while holding the workbook write lock
+	 * @param absoluteFilePath The absolute path of the workbook
+	 * @param workbook The {@link HSSFWorkbook} obtained from the cache
+	 * @return The {@link ExcelStylePool} for the workbook
+	 * (a new, unshared pool if the workbook is not cached, which cannot be the case within a batch;
+	 * the new pool still reuses the compatible styles present in the workbook)
+	 */
+	static synchronized ExcelStylePool getStylePool(String absoluteFilePath, HSSFWorkbook workbook) {
+		CachedWorkbook cachedWorkbook = cachedWorkbooks.get(absoluteFilePath);
+		if (cachedWorkbook == null || cachedWorkbook.workbook != workbook) {
+			return new ExcelStylePool(workbook);
+		}
+		
+		if (cachedWorkbook.stylePool == null) {
+			cachedWorkbook.stylePool = new ExcelStylePool(workbook);
+		}
+		
+		return cachedWorkbook.stylePool;
+	}
+	
+	private static void evictIfRequired() {
+		Iterator<Map.Entry<String, CachedWorkbook>> iterator =
+											cachedWorkbooks.entrySet().iterator();
+		while (currentCacheSize > maxCacheSize && iterator.hasNext()) {
+			Map.Entry<String, CachedWorkbook> eldestEntry = iterator.next();
+			if (eldestEntry.getValue().pinned) {
+				continue;
+			}
+			logger.debug("Evicting workbook {} from the cache", eldestEntry.getKey());
+			currentCacheSize -= eldestEntry.getValue().fileStamp.fileSize;
+			iterator.remove();
+		}
+	}
+	
+	
+	/**
+	 * Class to capture the modification time and size of a workbook file
+	 * @author vj
+	 */
+	static final class FileStamp {
+		private final long lastModified;
+		private final long fileSize;
+		
+		private FileStamp(long lastModified, long fileSize) {
+			this.lastModified = lastModified;
+			this.fileSize = fileSize;
+		}
+		
+		static FileStamp of(String absoluteFilePath) {
+			Path path = Paths.get(absoluteFilePath);
+			try {
+				BasicFileAttributes attributes =
+						Files.readAttributes(path, BasicFileAttributes.class);
+				return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+			} catch (IOException e) {
+				// The file does not exist (yet), or cannot be accessed
+				return new FileStamp(-1, 0);
+			}
+		}
+		
+		/**
+		 * Function to check whether this stamp refers to the same (unmodified) version of the file
+		 * @param other The {@link FileStamp} to be compared with
+		 * @return Boolean value indicating whether both stamps refer to the same version of the file
+		 */
+		boolean isSameAs(FileStamp other) {
+			return lastModified != -1 &&
+					lastModified == other.lastModified && fileSize == other.fileSize;
+		}
+	}
+	
+	private static final class CachedWorkbook {
+		private final HSSFWorkbook workbook;
+		private final Map<String, ExcelSheetIndex> sheetIndexes = new HashMap<>();
+		private ExcelCellEvaluator cellEvaluator;
+		private ExcelStylePool stylePool;
+		private FileStamp fileStamp;
+		private boolean writeInProgress;
+		private boolean pinned;
+		
+		private CachedWorkbook(HSSFWorkbook workbook, FileStamp fileStamp) {
+			this.workbook = workbook;
+			this.fileStamp = fileStamp;
+		}
+		
+		private boolean isCurrent(FileStamp currentFileStamp) {
+			return fileStamp.isSameAs(currentFileStamp);
+		}
+	}
+}
\ No newline at end of file
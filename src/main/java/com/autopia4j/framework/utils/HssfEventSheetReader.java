@@ -0,0 +1,282 @@
+package com.autopia4j.framework.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MulBlankRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RowRecord;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.autopia4j.framework.core.AutopiaException;
+
+
+/**
+ * Class to read a single worksheet of an .xls workbook from the HSSF record stream
+ * (using {@link HSSFEventFactory} and an {@link AbortableHSSFListener}), without building the
+ * {@link org.apache.poi.hssf.usermodel.HSSFWorkbook} object model<br>
+ * Only the formatted cell values of the requested sheet are retained, in an {@link ExcelSheetData}
+ * (styles, palettes, fonts and the other sheets are skipped), and the stream is aborted as soon as
+ * the requested sheet has been read. Formula cells are read from the results cached within the file
+ * @author vj
+ */
+final class HssfEventSheetReader extends ExcelSheetReader {
+	private final Logger logger = LoggerFactory.getLogger(HssfEventSheetReader.class);
+	
+	
+	/**
+	 * Constructor to initialize the {@link HssfEventSheetReader} object
+	 * @param absoluteFilePath The absolute path of the .xls workbook
+	 */
+	HssfEventSheetReader(String absoluteFilePath) {
+		super(absoluteFilePath);
+	}
+	
+	private void processRecords(AbortableHSSFListener listener) {
+		NPOIFSFileSystem fileSystem = null;
+		try {
+			fileSystem = new NPOIFSFileSystem(new File(absoluteFilePath), true);
+			
+			HSSFRequest request = new HSSFRequest();
+			request.addListenerForAllRecords(listener);
+			new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem.getRoot());
+		} catch (IOException | HSSFUserException e) {
+			String errorDescription = "Error while reading the specified Excel workbook \"" + absoluteFilePath + "\"";
+			logger.error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		} finally {
+			if (fileSystem != null) {
+				try {
+					fileSystem.close();
+				} catch (IOException e) {
+					logger.warn("Error while closing the Excel workbook \"" + absoluteFilePath + "\"", e);
+				}
+			}
+		}
+	}
+	
+	@Override
+	List<String> getSheetNames() {
+		final List<String> sheetNames = new ArrayList<>();
+		processRecords(new AbortableHSSFListener() {
+			@Override
+			public short abortableProcessRecord(Record record) {
+				if (record instanceof BoundSheetRecord) {
+					sheetNames.add(((BoundSheetRecord) record).getSheetname());
+				} else if (record instanceof EOFRecord) {
+					return 1;	// All the sheet names are available once the workbook globals are read
+				}
+				return 0;
+			}
+		});
+		return sheetNames;
+	}
+	
+	@Override
+	ExcelSheetData readSheetData(String sheetName, ExcelWorkbookCache.FileStamp fileStamp) {
+		SheetCollector sheetCollector = new SheetCollector(sheetName);
+		processRecords(sheetCollector);
+		if (!sheetCollector.sheetFound) {
+			throw getSheetNotFoundException(sheetName);
+		}
+		
+		return sheetCollector.sheetDataBuilder.build(fileStamp);
+	}
+	
+	
+	/**
+	 * {@link AbortableHSSFListener} which collects the formatted cell values of a single worksheet
+	 */
+	private static final class SheetCollector extends AbortableHSSFListener {
+		private static final short CONTINUE = 0;
+		private static final short ABORT = 1;
+		
+		private final String sheetName;
+		private final FormatTrackingHSSFListener formatListener = new FormatTrackingHSSFListener(null);
+		private final List<BoundSheetRecord> boundSheetRecords = new ArrayList<>();
+		private SSTRecord sstRecord;
+		private int targetSheetPosition = -1;
+		private int sheetPosition = -1;
+		private int depth = 0;
+		private boolean sheetFound = false;
+		
+		private FormulaRecord pendingStringFormula;	// String formula results follow in a StringRecord
+		private final ExcelSheetData.Builder sheetDataBuilder = new ExcelSheetData.Builder();
+		
+		private SheetCollector(String sheetName) {
+			this.sheetName = sheetName;
+		}
+		
+		@Override
+		public short abortableProcessRecord(Record record) {
+			formatListener.processRecordInternally(record);	// Tracks only the number formats
+			
+			switch (record.getSid()) {
+			case BOFRecord.sid:
+				if (depth == 0 && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+					sheetPosition++;
+				}
+				depth++;
+				return CONTINUE;
+			
+			case EOFRecord.sid:
+				depth--;
+				if (depth == 0) {
+					if (sheetPosition == -1) {	// End of the workbook globals
+						targetSheetPosition = getTargetSheetPosition();
+						sheetFound = (targetSheetPosition != -1);
+						return sheetFound? CONTINUE : ABORT;
+					}
+					if (sheetPosition == targetSheetPosition) {
+						return ABORT;	// The remaining sheets are not required
+					}
+				}
+				return CONTINUE;
+			
+			case BoundSheetRecord.sid:
+				boundSheetRecords.add((BoundSheetRecord) record);
+				return CONTINUE;
+			
+			case SSTRecord.sid:
+				sstRecord = (SSTRecord) record;
+				return CONTINUE;
+			
+			default:
+				if (depth == 1 && sheetPosition != -1 && sheetPosition == targetSheetPosition) {
+					processSheetRecord(record);
+				}
+				return CONTINUE;
+			}
+		}
+		
+		private int getTargetSheetPosition() {
+			BoundSheetRecord[] orderedBoundSheetRecords =
+					BoundSheetRecord.orderByBofPosition(boundSheetRecords);
+			for (int i = 0; i < orderedBoundSheetRecords.length; i++) {
+				if (orderedBoundSheetRecords[i].getSheetname().equals(sheetName)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+		
+		private void processSheetRecord(Record record) {
+			switch (record.getSid()) {
+			case RowRecord.sid:
+				sheetDataBuilder.addRow(((RowRecord) record).getRowNumber());
+				break;
+			
+			case BlankRecord.sid:	// Blank (formatted) cells count towards the width of the row
+				BlankRecord blankRecord = (BlankRecord) record;
+				setCellValue(blankRecord.getRow(), blankRecord.getColumn(), null);
+				break;
+			
+			case MulBlankRecord.sid:
+				MulBlankRecord mulBlankRecord = (MulBlankRecord) record;
+				setCellValue(mulBlankRecord.getRow(), mulBlankRecord.getLastColumn(), null);
+				break;
+			
+			case LabelSSTRecord.sid:
+				LabelSSTRecord labelSSTRecord = (LabelSSTRecord) record;
+				setCellValue(labelSSTRecord.getRow(), labelSSTRecord.getColumn(),
+								sstRecord.getString(labelSSTRecord.getSSTIndex()).getString());
+				break;
+			
+			case LabelRecord.sid:
+				LabelRecord labelRecord = (LabelRecord) record;
+				setCellValue(labelRecord.getRow(), labelRecord.getColumn(), labelRecord.getValue());
+				break;
+			
+			case NumberRecord.sid:
+				NumberRecord numberRecord = (NumberRecord) record;
+				setCellValue(numberRecord.getRow(), numberRecord.getColumn(),
+								formatListener.formatNumberDateCell(numberRecord));
+				break;
+			
+			case BoolErrRecord.sid:
+				BoolErrRecord boolErrRecord = (BoolErrRecord) record;
+				if (boolErrRecord.isError()) {
+					setCellError(boolErrRecord.getRow(), boolErrRecord.getColumn(),
+									boolErrRecord.getErrorValue());
+				} else {
+					setCellValue(boolErrRecord.getRow(), boolErrRecord.getColumn(),
+									boolErrRecord.getBooleanValue()? "TRUE" : "FALSE");
+				}
+				break;
+			
+			case FormulaRecord.sid:
+				processFormulaRecord((FormulaRecord) record);
+				break;
+			
+			case StringRecord.sid:
+				if (pendingStringFormula != null) {
+					setCellValue(pendingStringFormula.getRow(), pendingStringFormula.getColumn(),
+									((StringRecord) record).getString());
+					pendingStringFormula = null;
+				}
+				break;
+			
+			default:
+				break;	// Styles and all other records are not relevant for data access
+			}
+		}
+		
+		private void processFormulaRecord(FormulaRecord formulaRecord) {
+			switch (formulaRecord.getCachedResultType()) {
+			case Cell.CELL_TYPE_STRING:
+				if (formulaRecord.hasCachedResultString()) {
+					pendingStringFormula = formulaRecord;
+				} else {
+					setCellValue(formulaRecord.getRow(), formulaRecord.getColumn(), "");
+				}
+				break;
+			
+			case Cell.CELL_TYPE_BOOLEAN:
+				setCellValue(formulaRecord.getRow(), formulaRecord.getColumn(),
+								formulaRecord.getCachedBooleanValue()? "TRUE" : "FALSE");
+				break;
+			
+			case Cell.CELL_TYPE_ERROR:
+				setCellError(formulaRecord.getRow(), formulaRecord.getColumn(),
+								formulaRecord.getCachedErrorValue());
+				break;
+			
+			default:
+				setCellValue(formulaRecord.getRow(), formulaRecord.getColumn(),
+								formatListener.formatNumberDateCell(formulaRecord));
+				break;
+			}
+		}
+		
+		private void setCellValue(int rowNum, int columnNum, String cellValue) {
+			sheetDataBuilder.setCellValue(rowNum, columnNum, cellValue);
+		}
+		
+		private void setCellError(int rowNum, int columnNum, int errorCode) {
+			// The error is reported only if the value of the cell is read
+			sheetDataBuilder.setCellError(rowNum, columnNum,
+											"Error in formula within this cell! Error code: " + errorCode);
+		}
+	}
+}
\ No newline at end of file
@@ -2,10 +2,11 @@ package com.autopia4j.framework.utils;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.time.Clock;
 import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,9 @@ import com.autopia4j.framework.core.AutopiaException;
  */
 public class Util {
 	private static final Logger logger = LoggerFactory.getLogger(Util.class);
+	private static final ConcurrentMap<String, CachedTimeFormatter> TIME_FORMATTERS =
+																new ConcurrentHashMap<>();
+	private static volatile Clock clock;	// null: the system clock in the (current) default time zone
 	
 	private Util() {
 		// To prevent external instantiation of this class
@@ -32,27 +36,53 @@ public class Util {
 		return System.getProperty("file.separator");
 	}
 	
+	/**
+	 * Function to get the {@link Clock} which provides the current time (and the time zone) to the framework
+	 * (unless a clock has been set, this is the system clock in the default time zone as of the call)
+	 * @return The {@link Clock} in use
+	 */
+	public static Clock getClock() {
+		Clock currentClock = clock;
+		return (currentClock == null)? Clock.systemDefaultZone() : currentClock;
+	}
+	
+	/**
+	 * Function to set the {@link Clock} which provides the current time (and the time zone) to the framework
+	 * (a fixed or offset clock may be set for testing; the system clock in the default time zone is used by default)
+	 * @param clock The {@link Clock} to be used
+	 */
+	public static void setClock(Clock clock) {
+		if (clock == null) {
+			String errorDescription = "The clock cannot be null!";
+			logger.error(errorDescription);
+			throw new AutopiaException(errorDescription);
+		}
+		
+		Util.clock = clock;
+	}
+	
 	/**
 	 * Function to return the current time
 	 * @return The current time
 	 * @see #getCurrentFormattedTime(String)
 	 */
 	public static Date getCurrentTime() {
-		Calendar calendar = Calendar.getInstance();
-		return calendar.getTime();
+		Clock currentClock = clock;
+		return (currentClock == null)? new Date() : new Date(currentClock.millis());
 	}
 	
 	/**
 	 * Function to return the current time, formatted as per the DateFormatString setting
+	 * (the formatted time is cached for each date format string, and re-rendered only when the second changes)
 	 * @param dateFormatString The date format string to be applied
 	 * @return The current time, formatted as per the date format string specified
 	 * @see #getCurrentTime()
 	 * @see #getFormattedTime(Date, String)
 	 */
 	public static String getCurrentFormattedTime(String dateFormatString) {
-		DateFormat dateFormat = new SimpleDateFormat(dateFormatString);
-		Calendar calendar = Calendar.getInstance();
-		return dateFormat.format(calendar.getTime());
+		Clock currentClock = clock;
+		long currentTime = (currentClock == null)? System.currentTimeMillis() : currentClock.millis();
+		return getTimeFormatter(dateFormatString).format(currentTime, getTimeZone(currentClock));
 	}
 	
 	/**
@@ -63,8 +93,33 @@ public class Util {
 	 * @see #getCurrentFormattedTime(String)
 	 */
 	public static String getFormattedTime(Date time, String dateFormatString) {
-		DateFormat dateFormat = new SimpleDateFormat(dateFormatString);
-		return dateFormat.format(time);
+		return getTimeFormatter(dateFormatString).format(time.getTime(), getTimeZone(clock));
+	}
+	
+	private static TimeZone getTimeZone(Clock currentClock) {
+		// The default time zone is looked up on every call, so that any change to it is honoured
+		return (currentClock == null)? TimeZone.getDefault() : TimeZone.getTimeZone(currentClock.getZone());
+	}
+	
+	private static CachedTimeFormatter getTimeFormatter(String dateFormatString) {
+		CachedTimeFormatter timeFormatter = TIME_FORMATTERS.get(dateFormatString);
+		if (timeFormatter == null) {
+			try {
+				timeFormatter = new CachedTimeFormatter(dateFormatString);
+			} catch (IllegalArgumentException e) {
+				String errorDescription = "The date format string \"" + dateFormatString + "\" is invalid";
+				logger.error(errorDescription, e);
+				throw new AutopiaException(errorDescription);
+			}
+			
+			CachedTimeFormatter existingTimeFormatter =
+									TIME_FORMATTERS.putIfAbsent(dateFormatString, timeFormatter);
+			if (existingTimeFormatter != null) {
+				timeFormatter = existingTimeFormatter;
+			}
+		}
+		
+		return timeFormatter;
 	}
 	
 	/**
@@ -92,6 +147,15 @@ public class Util {
 		return timeDifferenceDetailed;
 	}
 	
+	/**
+	 * Function to convert the given duration from nanoseconds to seconds, rounded to the nearest millisecond
+	 * @param duration The duration in nanoseconds
+	 * @return The duration in seconds
+	 */
+	public static double getDurationInSeconds(long duration) {
+		return Math.round(duration / 1e6) / 1e3;
+	}
+	
 	/**
 	 * Function to convert the first character of a given string to uppercase
 	 * @param input The input string
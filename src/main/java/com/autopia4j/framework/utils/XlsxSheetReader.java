@@ -0,0 +1,175 @@
+package com.autopia4j.framework.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import com.autopia4j.framework.core.AutopiaException;
+
+
+/**
+ * Class to stream the rows of an .xlsx worksheet using the XSSF event model
+ * ({@link XSSFReader} and the read-only shared strings table)<br>
+ * Only the formatted cell values of the requested sheet are retained, in an {@link ExcelSheetData},
+ * so that very large sheets can be read without loading the workbook object model. Formula cells are read from
+ * the results cached within the file, and error cells are recorded as errors (as with the .xls reader)
+ * @author vj
+ */
+final class XlsxSheetReader extends ExcelSheetReader {
+	private final Logger logger = LoggerFactory.getLogger(XlsxSheetReader.class);
+	
+	
+	/**
+	 * Constructor to initialize the {@link XlsxSheetReader} object
+	 * @param absoluteFilePath The absolute path of the .xlsx workbook
+	 */
+	XlsxSheetReader(String absoluteFilePath) {
+		super(absoluteFilePath);
+	}
+	
+	private OPCPackage openPackage() {
+		try {
+			return OPCPackage.open(absoluteFilePath, PackageAccess.READ);
+		} catch (OpenXML4JException e) {
+			String errorDescription = "Error while opening the specified Excel workbook \"" + absoluteFilePath + "\"";
+			logger.error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		}
+	}
+	
+	@Override
+	List<String> getSheetNames() {
+		OPCPackage opcPackage = openPackage();
+		try {
+			XSSFReader.SheetIterator sheetIterator =
+					(XSSFReader.SheetIterator) new XSSFReader(opcPackage).getSheetsData();
+			
+			List<String> sheetNames = new ArrayList<>();
+			while (sheetIterator.hasNext()) {
+				InputStream sheetInputStream = sheetIterator.next();
+				sheetNames.add(sheetIterator.getSheetName());
+				sheetInputStream.close();
+			}
+			return sheetNames;
+		} catch (IOException | OpenXML4JException e) {
+			String errorDescription = "Error while reading the specified Excel workbook \"" + absoluteFilePath + "\"";
+			logger.error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		} finally {
+			opcPackage.revert();	// Close the package without saving it
+		}
+	}
+	
+	@Override
+	ExcelSheetData readSheetData(String sheetName, ExcelWorkbookCache.FileStamp fileStamp) {
+		OPCPackage opcPackage = openPackage();
+		try {
+			ReadOnlySharedStringsTable sharedStringsTable = new ReadOnlySharedStringsTable(opcPackage);
+			XSSFReader xssfReader = new XSSFReader(opcPackage);
+			StylesTable stylesTable = xssfReader.getStylesTable();
+			
+			XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+			while (sheetIterator.hasNext()) {
+				InputStream sheetInputStream = sheetIterator.next();
+				try {
+					if (sheetIterator.getSheetName().equals(sheetName)) {
+						SheetCollector sheetCollector = new SheetCollector();
+						XMLReader sheetParser = SAXHelper.newXMLReader();
+						sheetParser.setContentHandler(new XSSFSheetXMLHandler(stylesTable, sharedStringsTable,
+													sheetCollector, new DataFormatter(), false));
+						sheetParser.parse(new InputSource(sheetInputStream));
+						return sheetCollector.sheetDataBuilder.build(fileStamp);
+					}
+				} finally {
+					sheetInputStream.close();
+				}
+			}
+		} catch (IOException | SAXException | ParserConfigurationException | OpenXML4JException e) {
+			String errorDescription = "Error while reading the specified Excel workbook \"" + absoluteFilePath + "\"";
+			logger.error(errorDescription, e);
+			throw new AutopiaException(errorDescription);
+		} finally {
+			opcPackage.revert();	// Close the package without saving it
+		}
+		
+		throw getSheetNotFoundException(sheetName);
+	}
+	
+	
+	/**
+	 * {@link SheetContentsHandler} which collects the formatted cell values of the worksheet
+	 */
+	private static final class SheetCollector implements SheetContentsHandler {
+		// Prefix applied by the XSSFSheetXMLHandler to the values of error cells
+		private static final String ERROR_PREFIX = "ERROR:";
+		
+		private final ExcelSheetData.Builder sheetDataBuilder = new ExcelSheetData.Builder();
+		private int currentRowNum;
+		private int nextColumnNum;
+		
+		@Override
+		public void startRow(int rowNum) {
+			sheetDataBuilder.addRow(rowNum);
+			currentRowNum = rowNum;
+			nextColumnNum = 0;
+		}
+		
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			int columnNum = (cellReference == null)?
+								nextColumnNum : new CellReference(cellReference).getCol();
+			FormulaError formulaError = getFormulaError(formattedValue);
+			if (formulaError == null) {
+				sheetDataBuilder.setCellValue(currentRowNum, columnNum, (formattedValue == null)? "" : formattedValue);
+			} else {
+				// The error is reported only if the value of the cell is read
+				sheetDataBuilder.setCellError(currentRowNum, columnNum,
+						"Error in formula within this cell! Error code: " + formulaError.getCode());
+			}
+			nextColumnNum = columnNum + 1;
+		}
+		
+		private FormulaError getFormulaError(String formattedValue) {
+			if (formattedValue == null || !formattedValue.startsWith(ERROR_PREFIX)) {
+				return null;
+			}
+			try {
+				return FormulaError.forString(formattedValue.substring(ERROR_PREFIX.length()));
+			} catch (IllegalArgumentException e) {
+				return null;	// Not an error code, so a text value which happens to have the same prefix
+			}
+		}
+		
+		@Override
+		public void endRow(int rowNum) {
+			// The cell values have already been collected
+		}
+		
+		@Override
+		public void headerFooter(String text, boolean isHeader, String tagName) {
+			// Headers and footers are not relevant for data access
+		}
+	}
+}
\ No newline at end of file